@@ -1,5 +1,6 @@
 package com.junsang.restAPI;
 
+import com.junsang.restAPI.audit.AuditQueryRunner;
 import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -11,7 +12,11 @@ import org.springframework.context.annotation.Bean;
 //@EnableAutoConfiguration(exclude={DataSourceAutoConfiguration.class})
 public class RestApiApplication {
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws Exception {
+		if (AuditQueryRunner.isQuery(args)) {
+			AuditQueryRunner.main(args);	// 감사 로그 조회는 서버를 띄우지 않는다.
+			return;
+		}
 		SpringApplication.run(RestApiApplication.class, args);
 	}
 
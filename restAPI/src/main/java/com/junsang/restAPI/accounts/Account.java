@@ -1,6 +1,8 @@
 package com.junsang.restAPI.accounts;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Set;
@@ -8,6 +10,7 @@ import java.util.Set;
 @Entity
 @Getter @Setter @EqualsAndHashCode(of = "id")
 @Builder @NoArgsConstructor @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)    // 2차 캐시
 public class Account {
 
     @Id @GeneratedValue
@@ -17,7 +20,7 @@ public class Account {
 
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = AccountRolesConverter.class)      // 비트마스크 컬럼 하나 (AccountRoles)
+    @Column(nullable = false)
     private Set<AccountRole> roles;
 }
@@ -1,9 +1,14 @@
 package com.junsang.restAPI.accounts;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Integer> {
+
+    // 로그인 마다 호출되므로 쿼리 캐시 사용
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Account> findByEmail(String username);
-}
\ No newline at end of file
+}
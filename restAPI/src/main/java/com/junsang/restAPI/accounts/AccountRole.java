@@ -1,5 +1,8 @@
 package com.junsang.restAPI.accounts;
 
+/**
+ * 순서 (ordinal) 가 account.roles 비트 번호이므로 새 역할은 뒤에만 추가한다.
+ */
 public enum AccountRole {
     ADMIN, USER
 }
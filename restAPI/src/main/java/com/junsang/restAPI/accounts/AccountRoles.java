@@ -0,0 +1,127 @@
+package com.junsang.restAPI.accounts;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 계정 역할 집합 (int 비트마스크, bit = AccountRole.ordinal())
+ *
+ * - EnumSet 처럼 동작하지만 값 하나로 저장 / 비교하므로 account 테이블의 roles 컬럼 하나에 담는다. (AccountRolesConverter)
+ * - 비트는 ordinal 이므로 AccountRole 은 뒤에 추가만 해야 한다.
+ */
+public final class AccountRoles extends AbstractSet<AccountRole> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final AccountRole[] ROLES = AccountRole.values();
+
+    private int bits;
+
+    private AccountRoles(int bits) {
+        this.bits = bits;
+    }
+
+    public static AccountRoles of(AccountRole... roles) {
+        AccountRoles accountRoles = new AccountRoles(0);
+        for (AccountRole role : roles) {
+            accountRoles.add(role);
+        }
+        return accountRoles;
+    }
+
+    public static AccountRoles fromBits(int bits) {
+        return new AccountRoles(bits & ((1 << ROLES.length) - 1));
+    }
+
+    /**
+     * 아무 역할 컬렉션이나 비트마스크로 (null 이면 0)
+     */
+    public static int bitsOf(Collection<AccountRole> roles) {
+        if (roles instanceof AccountRoles) {
+            return ((AccountRoles) roles).bits;
+        }
+        int bits = 0;
+        if (roles != null) {
+            for (AccountRole role : roles) {
+                bits |= bit(role);
+            }
+        }
+        return bits;
+    }
+
+    public int bits() {
+        return this.bits;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof AccountRole && (this.bits & bit((AccountRole) o)) != 0;
+    }
+
+    @Override
+    public boolean add(AccountRole role) {
+        int before = this.bits;
+        this.bits |= bit(role);
+        return this.bits != before;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        this.bits &= ~bit((AccountRole) o);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        this.bits = 0;
+    }
+
+    @Override
+    public int size() {
+        return Integer.bitCount(this.bits);
+    }
+
+    @Override
+    public Iterator<AccountRole> iterator() {
+        return new Iterator<AccountRole>() {
+
+            private int remaining = bits;
+            private AccountRole last;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining != 0;
+            }
+
+            @Override
+            public AccountRole next() {
+                if (this.remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                int ordinal = Integer.numberOfTrailingZeros(this.remaining);
+                this.remaining &= this.remaining - 1;
+                this.last = ROLES[ordinal];
+                return this.last;
+            }
+
+            @Override
+            public void remove() {
+                if (this.last == null) {
+                    throw new IllegalStateException();
+                }
+                AccountRoles.this.remove(this.last);
+                this.last = null;
+            }
+        };
+    }
+
+    private static int bit(AccountRole role) {
+        return 1 << role.ordinal();
+    }
+}
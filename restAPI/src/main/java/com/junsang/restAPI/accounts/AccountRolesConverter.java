@@ -0,0 +1,22 @@
+package com.junsang.restAPI.accounts;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Set;
+
+/**
+ * Account.roles <-> account.roles (int 비트마스크)
+ */
+@Converter
+public class AccountRolesConverter implements AttributeConverter<Set<AccountRole>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<AccountRole> roles) {
+        return AccountRoles.bitsOf(roles);
+    }
+
+    @Override
+    public Set<AccountRole> convertToEntityAttribute(Integer bits) {
+        return AccountRoles.fromBits(bits == null ? 0 : bits);
+    }
+}
@@ -8,8 +8,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,6 +26,7 @@ public class AccountService implements UserDetailsService {
     AccountRepository accountRepository;
 
     @Override
+    @Transactional(readOnly = true)     // Replica 로 라우팅
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // 우리가 사용하는 Account 도메인을 Security 가 제공하는 인터페이스로 변환
         Account account = accountRepository.findByEmail(username)
@@ -34,10 +37,21 @@ public class AccountService implements UserDetailsService {
     }
 
     private Collection<? extends GrantedAuthority> authorities(Set<AccountRole> roles) {
-        // role 을 SimpleGrantedAuthority 으로 변환
-        return roles.stream().map(r -> {
-            return new SimpleGrantedAuthority("ROLE_" + r.name());
-        }).collect(Collectors.toSet());
+        // role 을 SimpleGrantedAuthority 으로 변환 (비트마스크 별로 미리 만들어 둔 집합)
+        return AUTHORITIES[AccountRoles.bitsOf(roles)];
+    }
+
+    private static final Set<GrantedAuthority>[] AUTHORITIES = authoritiesByBits();
+
+    @SuppressWarnings("unchecked")
+    private static Set<GrantedAuthority>[] authoritiesByBits() {
+        Set<GrantedAuthority>[] authorities = new Set[1 << AccountRole.values().length];
+        for (int bits = 0; bits < authorities.length; bits++) {
+            authorities[bits] = Collections.unmodifiableSet(AccountRoles.fromBits(bits).stream()
+                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                    .collect(Collectors.toSet()));
+        }
+        return authorities;
     }
 
 }
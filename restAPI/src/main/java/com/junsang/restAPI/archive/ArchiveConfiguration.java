@@ -0,0 +1,15 @@
+package com.junsang.restAPI.archive;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ArchiveConfiguration {
+
+    // 지연 초기화(fast-start 프로파일)를 쓰더라도 보관 스케줄러는 기동 시점 부터 돌아야 한다. (EventArchiver 를 쓰는 빈이 없음)
+    @Bean
+    public static LazyInitializationExcludeFilter eventArchiverEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EventArchiver.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.junsang.restAPI.archive;
+
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.sharding.EventShards;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 끝난 이벤트 보관 테이블 (event_archive)
+ *
+ * - event 와 같은 컬럼 순서로 만들어 INSERT ... SELECT * 로 옮긴다. (event 에 컬럼을 추가하면 보관 테이블에도 추가)
+ * - 보관된 이벤트는 읽기 전용이다. 2차 캐시에 넣지 않고, 읽은 Event 는 영속성 컨텍스트에서 바로 분리한다.
+ * - 샤딩 중이면 shard 마다 자기 보관 테이블을 가진다.
+ */
+@Slf4j
+@Component
+public class EventArchive {
+
+    public static final String TABLE = "event_archive";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventShards eventShards;
+
+    public EventArchive(EntityManager entityManager, JdbcTemplate jdbcTemplate, EventShards eventShards) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventShards = eventShards;
+    }
+
+    /**
+     * 보관 테이블이 없으면 event 의 컬럼으로 만든다. (러너 / 요청보다 먼저)
+     */
+    @EventListener
+    public void createTable(ApplicationStartedEvent event) {
+        for (int shard = 0; shard < this.eventShards.count(); shard++) {
+            this.eventShards.route(shard, () -> {
+                try {
+                    this.jdbcTemplate.queryForList("SELECT id FROM " + TABLE + " WHERE 1 = 0");
+                } catch (DataAccessException missing) {
+                    this.jdbcTemplate.execute("CREATE TABLE " + TABLE + " AS SELECT * FROM event WHERE 1 = 0");
+                    this.jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id SET NOT NULL");
+                    this.jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id)");
+                    log.info("Created {} table", TABLE);
+                }
+                return null;
+            });
+        }
+    }
+
+    public Optional<Event> findById(Integer id) {
+        List<Event> events = select("SELECT * FROM " + TABLE + " WHERE id = :id")
+                .setParameter("id", id)
+                .getResultList();
+        events.forEach(this.entityManager::detach);
+        return events.stream().findFirst();
+    }
+
+    public Page<Event> findAll(Pageable pageable) {
+        NativeQuery<Event> query = select("SELECT * FROM " + TABLE + orderBy(pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Event> content = query.getResultList();
+        content.forEach(this.entityManager::detach);
+
+        // 첫 페이지가 다 차지 않으면 count 쿼리를 생략한다.
+        return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) this.entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM " + TABLE)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TABLE)
+                .getSingleResult()).longValue());
+    }
+
+    /**
+     * 이벤트를 보관 테이블로 옮긴다. (트랜잭션 안에서, events 는 이 영속성 컨텍스트에서 읽은 것)
+     * - 삭제는 엔티티로 하므로 2차 캐시에서 빠지고 EventChange (DELETED) 가 발행된다.
+     */
+    public void moveToArchive(List<Event> events) {
+        List<Integer> ids = events.stream().map(Event::getId).collect(Collectors.toList());
+        this.entityManager.createNativeQuery("INSERT INTO " + TABLE + " SELECT * FROM event WHERE id IN (:ids)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TABLE)   // 다른 2차 캐시 영역은 비우지 않도록
+                .setParameter("ids", ids)
+                .executeUpdate();
+        events.forEach(this.entityManager::remove);
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Event> select(String sql) {
+        return this.entityManager.createNativeQuery(sql, Event.class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(TABLE)
+                .setCacheMode(CacheMode.IGNORE)
+                .setReadOnly(true);
+    }
+
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        AbstractEntityPersister persister = (AbstractEntityPersister) this.entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMetamodel().entityPersister(Event.class);
+        return sort.stream()
+                .map(order -> persister.getPropertyColumnNames(order.getProperty())[0] + (order.isAscending() ? " ASC" : " DESC"))
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+}
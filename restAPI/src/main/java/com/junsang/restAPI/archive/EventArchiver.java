@@ -0,0 +1,123 @@
+package com.junsang.restAPI.archive;
+
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventStatus;
+import com.junsang.restAPI.sharding.EventShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 끝난 (ENDED) 이벤트 보관 - 종료 후 retention-days 가 지난 이벤트를 event_archive 로 옮긴다.
+ *
+ * - interval-minutes 마다 batch-size 개씩 한 트랜잭션으로 옮기고, 배치 사이에 batch-pause-millis 만큼 쉰다. (쓰기 부하 조절)
+ * - 옮긴 이벤트는 event 에서 삭제되므로 통계 / 주변 검색 / 기간 검색 / 변경 스트림에는 삭제 (DELETED) 로 전달된다.
+ * - 샤딩 중이면 shard 마다 차례로 옮긴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class EventArchiver implements DisposableBean {
+
+    private final EventArchive eventArchive;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EventShards eventShards;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final Counter archived;
+    private final ScheduledExecutorService scheduler;
+
+    public EventArchiver(EventArchive eventArchive, EntityManager entityManager,
+                         PlatformTransactionManager transactionManager, EventShards eventShards,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.events.archive.retention-days:30}") int retentionDays,
+                         @Value("${app.events.archive.batch-size:500}") int batchSize,
+                         @Value("${app.events.archive.batch-pause-millis:200}") long batchPauseMillis,
+                         @Value("${app.events.archive.interval-minutes:60}") long intervalMinutes) {
+        this.eventArchive = eventArchive;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventShards = eventShards;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.archived = Counter.builder("events.archived")
+                .description("Ended events moved to the archive table")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::archiveQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 보관할 이벤트를 모두 옮긴다.
+     *
+     * @return 옮긴 이벤트 수
+     */
+    public long archive() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(this.retentionDays);
+        long total = 0;
+        for (int shard = 0; shard < this.eventShards.count(); shard++) {
+            while (true) {
+                int moved = this.eventShards.route(shard, () -> this.transactionTemplate.execute(status -> archiveBatch(cutoff)));
+                total += moved;
+                this.archived.increment(moved);
+                if (moved < this.batchSize) {
+                    break;
+                }
+                Thread.sleep(this.batchPauseMillis);
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} events ended before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Event> events = this.entityManager.createQuery("select e from Event e"
+                        + " where e.eventStatus = :status and e.endEventDateTime < :cutoff order by e.id", Event.class)
+                .setParameter("status", EventStatus.ENDED)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(this.batchSize)
+                .getResultList();
+        if (!events.isEmpty()) {
+            this.eventArchive.moveToArchive(events);
+        }
+        return events.size();
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Event archiving failed", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,44 @@
+package com.junsang.restAPI.audit;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 요청을 접근 로그 (AuditLog) 에 남긴다. (응답이 끝난 뒤 - 비동기 요청은 스트림이 끝난 뒤)
+ */
+public class AccessLogInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED = AccessLogInterceptor.class.getName() + ".STARTED";
+
+    private final AuditLog auditLog;
+
+    public AccessLogInterceptor(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long started = (Long) request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        request.removeAttribute(STARTED);
+        this.auditLog.access(request.getMethod(), request.getRequestURI(),
+                handler instanceof HandlerMethod ? ((HandlerMethod) handler).getMethod().getName() : null,
+                response.getStatus(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started),
+                request.getRemoteUser());
+    }
+}
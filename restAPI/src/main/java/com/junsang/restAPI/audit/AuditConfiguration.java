@@ -0,0 +1,42 @@
+package com.junsang.restAPI.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 접근 / 감사 로그 (app.audit.enabled=false 이면 끔)
+ */
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfiguration implements WebMvcConfigurer {
+
+    private final AuditProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AuditConfiguration(AuditProperties properties, MeterRegistry meterRegistry,
+                              @Value("${server.port:" + AuditProperties.DEFAULT_INSTANCE + "}") String port) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        if (properties.getDirectory() == null) {
+            properties.setDirectory(AuditProperties.defaultDirectory(port));
+        }
+    }
+
+    @Bean
+    public AuditLog auditLog() {
+        return new AuditLog(this.properties, this.meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AccessLogInterceptor(auditLog()))
+                .addPathPatterns("/api/**");
+    }
+}
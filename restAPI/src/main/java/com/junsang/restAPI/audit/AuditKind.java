@@ -0,0 +1,19 @@
+package com.junsang.restAPI.audit;
+
+import com.junsang.restAPI.events.EventChangeType;
+
+/**
+ * 기록 종류 (ACCESS 는 API 요청, 나머지는 커밋된 이벤트 변경)
+ */
+public enum AuditKind {
+    ACCESS, EVENT_CREATED, EVENT_UPDATED, EVENT_STATUS_CHANGED, EVENT_DELETED;
+
+    static AuditKind of(EventChangeType type) {
+        switch (type) {
+            case CREATED: return EVENT_CREATED;
+            case STATUS_CHANGED: return EVENT_STATUS_CHANGED;
+            case DELETED: return EVENT_DELETED;
+            default: return EVENT_UPDATED;
+        }
+    }
+}
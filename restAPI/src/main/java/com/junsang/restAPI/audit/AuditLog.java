@@ -0,0 +1,189 @@
+package com.junsang.restAPI.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.junsang.restAPI.events.EventChange;
+import com.junsang.restAPI.events.EventSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 접근 / 감사 로그
+ *
+ * - 요청 스레드는 미리 만들어 둔 링 버퍼 칸에 값만 채우고 돌아간다. (파일 / JSON 작업 없음, 락 없음)
+ * - 버퍼가 다 차면 기다리지 않고 버린다. (audit.dropped 메트릭)
+ * - 스레드 하나가 한 줄씩 NDJSON 으로 바꿔 세그먼트 파일 (RollingMappedFile) 에 쓴다.
+ * - 감사 기록은 커밋된 EventChange 만 남긴다. (롤백된 변경은 남지 않는다)
+ */
+@Slf4j
+public class AuditLog implements DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditRingBuffer ring;
+    private final RollingMappedFile file;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final LineBuffer line = new LineBuffer();
+    private final Counter written;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditLog(AuditProperties properties, MeterRegistry meterRegistry) {
+        this.ring = new AuditRingBuffer(properties.getRingSize());
+        try {
+            this.file = new RollingMappedFile(Paths.get(properties.getDirectory()), properties.getSegmentSize().toBytes(),
+                    properties.getMaxFiles());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open audit log in " + properties.getDirectory(), e);
+        }
+        this.written = Counter.builder("audit.written").register(meterRegistry);
+        this.dropped = Counter.builder("audit.dropped")
+                .description("Audit records dropped because the ring buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("audit.pending", this.ring, AuditRingBuffer::pending).register(meterRegistry);
+
+        this.writer = new Thread(this::writeRecords, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * API 요청 한 건
+     */
+    public void access(String method, String path, String endpoint, int status, long micros, String user) {
+        long sequence = this.ring.tryClaim();
+        if (sequence < 0) {
+            this.dropped.increment();
+            return;
+        }
+        AuditRecord record = this.ring.slot(sequence);
+        record.kind = AuditKind.ACCESS;
+        record.time = System.currentTimeMillis();
+        record.user = user;
+        record.method = method;
+        record.path = path;
+        record.endpoint = endpoint;
+        record.status = status;
+        record.micros = micros;
+        this.ring.publish(sequence);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        long sequence = this.ring.tryClaim();
+        if (sequence < 0) {
+            this.dropped.increment();
+            return;
+        }
+        EventSnapshot event = change.getAfter() != null ? change.getAfter() : change.getBefore();
+        AuditRecord record = this.ring.slot(sequence);
+        record.kind = AuditKind.of(change.getType());
+        record.time = System.currentTimeMillis();
+        record.user = currentUser();
+        record.eventId = change.getEventId();
+        record.eventStatus = event.getEventStatus() == null ? null : event.getEventStatus().name();
+        record.managerId = event.getManagerId() == null ? 0 : event.getManagerId();
+        this.ring.publish(sequence);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    private void writeRecords() {
+        while (true) {
+            int drained = this.ring.drain(this::write);
+            if (drained == 0) {
+                if (!this.running) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void write(AuditRecord record) {
+        try {
+            this.line.reset();
+            try (JsonGenerator json = this.jsonFactory.createGenerator(this.line)) {
+                json.writeStartObject();
+                json.writeStringField("time", Instant.ofEpochMilli(record.time).toString());
+                json.writeStringField("kind", record.kind.name());
+                if (record.kind == AuditKind.ACCESS) {
+                    json.writeStringField("method", record.method);
+                    json.writeStringField("path", record.path);
+                    if (record.endpoint != null) {
+                        json.writeStringField("endpoint", record.endpoint);
+                    }
+                    json.writeNumberField("status", record.status);
+                    json.writeNumberField("micros", record.micros);
+                } else {
+                    json.writeNumberField("eventId", record.eventId);
+                    if (record.eventStatus != null) {
+                        json.writeStringField("eventStatus", record.eventStatus);
+                    }
+                    if (record.managerId != 0) {
+                        json.writeNumberField("managerId", record.managerId);
+                    }
+                }
+                if (record.user != null) {
+                    json.writeStringField("user", record.user);
+                }
+                json.writeEndObject();
+            }
+            this.line.write('\n');
+            this.file.write(this.line.bytes(), this.line.size());
+            this.written.increment();
+        } catch (IOException | RuntimeException e) {
+            this.dropped.increment();
+            log.warn("Failed to write audit record", e);
+        }
+    }
+
+    /**
+     * 쌓인 기록을 모두 쓰고 디스크에 내릴 때까지 기다린다. (테스트 / 종료용)
+     */
+    public void flush(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (this.ring.pending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        this.file.force();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.running = false;
+        this.writer.join(TimeUnit.SECONDS.toMillis(5));
+        this.file.close();
+    }
+
+    /**
+     * 한 줄 버퍼 (내부 배열을 그대로 파일에 복사)
+     */
+    private static class LineBuffer extends ByteArrayOutputStream {
+
+        LineBuffer() {
+            super(512);
+        }
+
+        byte[] bytes() {
+            return this.buf;
+        }
+    }
+}
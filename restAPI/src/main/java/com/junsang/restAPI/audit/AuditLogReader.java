@@ -0,0 +1,47 @@
+package com.junsang.restAPI.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * 감사 로그 세그먼트를 기록 순서대로 읽어 조건에 맞는 기록을 넘긴다. (조회 / 재생)
+ *
+ * - 쓰는 중이거나 비정상 종료로 잘리지 않은 세그먼트는 0 바이트가 나오는 곳에서 멈춘다.
+ */
+public class AuditLogReader {
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogReader(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return 넘긴 기록 수
+     */
+    public long replay(AuditQuery query, Consumer<JsonNode> consumer) throws IOException {
+        long replayed = 0;
+        for (Path segment : RollingMappedFile.segments(this.directory)) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null && !line.isEmpty() && line.charAt(0) != '\0') {
+                    JsonNode record = this.objectMapper.readTree(line);
+                    if (query.matches(record)) {
+                        consumer.accept(record);
+                        replayed++;
+                    }
+                }
+            }
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,37 @@
+package com.junsang.restAPI.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Paths;
+
+/**
+ * 접근 / 감사 로그 설정 (app.audit.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("app.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    static final String DEFAULT_INSTANCE = "8080";
+
+    // 세그먼트 파일 (audit-*.ndjson) 을 둘 디렉터리
+    // 없으면 인스턴스 (서버 포트) 별 임시 디렉터리 - 같은 호스트의 다른 인스턴스가 서로의 세그먼트를 지우지 않도록
+    private String directory;
+
+    // 링 버퍼 칸 수 (2의 거듭제곱) - 다 차면 새 기록은 버린다.
+    private int ringSize = 8192;
+
+    // 세그먼트 하나의 크기 (이만큼 메모리 매핑하고, 다 차면 다음 파일로)
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // 남겨 둘 세그먼트 수 (넘으면 오래된 파일부터 지운다)
+    private int maxFiles = 20;
+
+    static String defaultDirectory(String instance) {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "restAPI-audit", instance).toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.junsang.restAPI.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 감사 로그 조회 조건 (모두 선택)
+ *
+ * ex) "kind=EVENT_UPDATED|EVENT_STATUS_CHANGED,eventId=3,from=2026-10-01T00:00,to=2026-10-02T00:00"
+ * - from / to 는 서버 시간대의 일시 (from 포함, to 제외), path 는 접두사, user 는 같은 값
+ */
+@Getter
+public class AuditQuery {
+
+    private Instant from;
+    private Instant to;
+    private Set<AuditKind> kinds;
+    private Integer eventId;
+    private String path;
+    private String user;
+
+    public static AuditQuery all() {
+        return new AuditQuery();
+    }
+
+    public static AuditQuery parse(String query) {
+        AuditQuery parsed = new AuditQuery();
+        for (String condition : query.split(",")) {
+            if (condition.trim().isEmpty()) {
+                continue;
+            }
+            int equals = condition.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Audit query condition must be name=value : " + condition);
+            }
+            String name = condition.substring(0, equals).trim();
+            String value = condition.substring(equals + 1).trim();
+            switch (name) {
+                case "from": parsed.from = instant(value); break;
+                case "to": parsed.to = instant(value); break;
+                case "eventId": parsed.eventId = Integer.valueOf(value); break;
+                case "path": parsed.path = value; break;
+                case "user": parsed.user = value; break;
+                case "kind":
+                    parsed.kinds = EnumSet.noneOf(AuditKind.class);
+                    for (String kind : value.split("\\|")) {
+                        parsed.kinds.add(AuditKind.valueOf(kind.trim()));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown audit query condition : " + name);
+            }
+        }
+        return parsed;
+    }
+
+    boolean matches(JsonNode record) {
+        if (this.from != null || this.to != null) {
+            Instant time = Instant.parse(record.path("time").asText());
+            if (this.from != null && time.isBefore(this.from) || this.to != null && !time.isBefore(this.to)) {
+                return false;
+            }
+        }
+        return (this.kinds == null || this.kinds.contains(AuditKind.valueOf(record.path("kind").asText())))
+                && (this.eventId == null || record.has("eventId") && this.eventId == record.get("eventId").asInt())
+                && (this.path == null || record.path("path").asText().startsWith(this.path))
+                && (this.user == null || this.user.equals(record.path("user").asText(null)));
+    }
+
+    private static Instant instant(String value) {
+        return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,67 @@
+package com.junsang.restAPI.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * 명령행 감사 로그 조회 - 조건에 맞는 기록을 NDJSON 으로 표준 출력에 쓴다. (AuditQuery)
+ *
+ * ex) java -jar restAPI.jar --app.audit.query="kind=EVENT_UPDATED,eventId=3"
+ *     java -jar restAPI.jar --app.audit.query="from=2026-10-01T00:00" --app.audit.directory=/var/log/restAPI/audit
+ * - 스프링 컨텍스트를 띄우지 않는다. (서버 / 감사 로그 쓰기 / 백그라운드 작업 없이 파일만 읽고 끝낸다)
+ * - 디렉터리를 주지 않으면 --server.port (기본 8080) 인스턴스의 기본 디렉터리를 읽는다.
+ */
+public final class AuditQueryRunner {
+
+    private static final String QUERY = "--app.audit.query=";
+    private static final String DIRECTORY = "--app.audit.directory=";
+    private static final String PORT = "--server.port=";
+
+    private AuditQueryRunner() {
+    }
+
+    public static boolean isQuery(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith(QUERY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String query = null;
+        String directory = null;
+        String port = AuditProperties.DEFAULT_INSTANCE;
+        for (String arg : args) {
+            if (arg.startsWith(QUERY)) {
+                query = arg.substring(QUERY.length());
+            } else if (arg.startsWith(DIRECTORY)) {
+                directory = arg.substring(DIRECTORY.length());
+            } else if (arg.startsWith(PORT)) {
+                port = arg.substring(PORT.length());
+            }
+        }
+        if (query == null) {
+            System.err.println("Usage: --app.audit.query=<conditions> [--app.audit.directory=<dir> | --server.port=<port>]");
+            System.exit(2);
+        }
+        if (directory == null) {
+            directory = AuditProperties.defaultDirectory(port);
+        }
+
+        AuditQuery auditQuery;
+        try {
+            auditQuery = AuditQuery.parse(query);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid audit query '" + query + "' : " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        long replayed = new AuditLogReader(Paths.get(directory), new ObjectMapper())
+                .replay(auditQuery, record -> System.out.println(record.toString()));
+        System.err.println("Audit query '" + query + "' matched " + replayed + " records in " + directory);
+    }
+}
@@ -0,0 +1,32 @@
+package com.junsang.restAPI.audit;
+
+/**
+ * 링 버퍼의 칸 (미리 만들어 두고 계속 덮어쓴다 - 기록할 때 객체를 만들지 않는다)
+ */
+final class AuditRecord {
+
+    AuditKind kind;
+    long time;              // epoch 밀리초
+    String user;
+
+    // ACCESS
+    String method;
+    String path;
+    String endpoint;        // 핸들러 메소드 이름
+    int status;
+    long micros;
+
+    // EVENT_*
+    int eventId;
+    String eventStatus;
+    int managerId;          // 없으면 0
+
+    void clear() {
+        this.kind = null;
+        this.user = null;
+        this.method = null;
+        this.path = null;
+        this.endpoint = null;
+        this.eventStatus = null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.junsang.restAPI.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * 생산자 여럿, 소비자 하나인 고정 크기 링 버퍼
+ *
+ * - 생산자는 CAS 로 순번을 받아 그 칸을 채우고 published 에 순번을 써서 공개한다. (락 없음)
+ * - 소비자가 아직 읽지 않은 칸까지 차 있으면 tryClaim 은 기다리지 않고 -1 을 돌려준다. (기록을 버린다)
+ * - 소비자는 공개된 순번까지만 읽으므로 채우는 중인 칸을 읽지 않는다.
+ */
+final class AuditRingBuffer {
+
+    private final AuditRecord[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two : " + capacity);
+        }
+        this.slots = new AuditRecord[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.slots[i] = new AuditRecord();
+            this.published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return 채울 칸의 순번, 버퍼가 다 찼으면 -1
+     */
+    long tryClaim() {
+        while (true) {
+            long sequence = this.claimed.get();
+            if (sequence - this.consumed >= this.slots.length) {
+                return -1;
+            }
+            if (this.claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    AuditRecord slot(long sequence) {
+        return this.slots[(int) (sequence & this.mask)];
+    }
+
+    void publish(long sequence) {
+        this.published.lazySet((int) (sequence & this.mask), sequence);
+    }
+
+    /**
+     * 공개된 칸을 순서대로 읽는다. (소비자 스레드 하나에서만)
+     *
+     * @return 읽은 칸 수
+     */
+    int drain(Consumer<AuditRecord> consumer) {
+        long next = this.consumed;
+        int drained = 0;
+        while (this.published.get((int) (next & this.mask)) == next) {
+            AuditRecord record = this.slots[(int) (next & this.mask)];
+            consumer.accept(record);
+            record.clear();
+            this.consumed = ++next;
+            drained++;
+        }
+        return drained;
+    }
+
+    long pending() {
+        return this.claimed.get() - this.consumed;
+    }
+}
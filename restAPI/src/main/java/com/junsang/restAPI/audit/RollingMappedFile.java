@@ -0,0 +1,115 @@
+package com.junsang.restAPI.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 매핑한 세그먼트 파일에 이어 쓰기 (audit-{시각}-{번호}.ndjson)
+ *
+ * - segment-size 만큼 매핑해 두고 버퍼에 복사만 한다. (쓰기마다 시스템 콜이 없다 - 디스크 반영은 OS 가 한다)
+ * - 다 차면 쓴 만큼으로 잘라 닫고 다음 파일을 연다. 비정상 종료로 잘리지 않은 파일은 끝이 0 바이트로 채워져 있다.
+ * - 파일 이름이 시간 순서이므로 이름 순으로 읽으면 기록 순서다.
+ */
+@Slf4j
+class RollingMappedFile implements Closeable {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".ndjson";
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxFiles;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    RollingMappedFile(Path directory, long segmentSize, int maxFiles) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = (int) Math.min(segmentSize, Integer.MAX_VALUE);
+        this.maxFiles = maxFiles;
+    }
+
+    synchronized void write(byte[] bytes, int length) throws IOException {
+        if (this.buffer == null || this.buffer.remaining() < length) {
+            roll(length);
+        }
+        this.buffer.put(bytes, 0, length);
+    }
+
+    /**
+     * 지금까지 쓴 내용을 디스크에 내린다.
+     */
+    synchronized void force() {
+        if (this.buffer != null) {
+            this.buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.channel == null) {
+            return;
+        }
+        this.buffer.force();
+        this.channel.truncate(this.buffer.position());
+        this.channel.close();
+        this.channel = null;
+        this.buffer = null;
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void roll(int length) throws IOException {
+        close();
+        String timestamp = LocalDateTime.now().format(TIMESTAMP);
+        for (int sequence = 0; this.channel == null; sequence++) {
+            Path file = this.directory.resolve(String.format("%s%s-%04d%s", PREFIX, timestamp, sequence, SUFFIX));
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                // 같은 밀리초에 연 파일이 있으면 다음 번호로
+            }
+        }
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(this.segmentSize, length));
+        deleteOldSegments();
+    }
+
+    private void deleteOldSegments() {
+        try {
+            List<Path> segments = segments(this.directory);
+            for (int i = 0; i < segments.size() - this.maxFiles; i++) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete old audit segments in {}", this.directory, e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.junsang.restAPI.common;
+
+import com.junsang.restAPI.deadline.DeadlineExceededException;
+import com.junsang.restAPI.deadline.RequestDeadline;
+import com.junsang.restAPI.ratelimit.ServerOverloadedException;
+import com.junsang.restAPI.ratelimit.TooManyRequestsException;
+import org.hibernate.TransactionException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * API 공통 예외 응답
+ *
+ * - 검증 에러와 같은 형식 (ErrorResource) 으로 응답한다.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // 57014 : PostgreSQL query_canceled (statement_timeout), HYT00 : H2 등 쿼리 타임아웃
+    private static final Set<String> QUERY_CANCELED_STATES = new HashSet<>(Arrays.asList("57014", "HYT00"));
+    private static final String TRANSACTION_TIMEOUT_EXPIRED = "transaction timeout expired";
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<EntityModel<Errors>> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorsOf("tooManyRequests", e.getMessage()));
+    }
+
+    @ExceptionHandler(ServerOverloadedException.class)
+    public ResponseEntity<EntityModel<Errors>> serverOverloaded(ServerOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorsOf("serverOverloaded", e.getMessage()));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<EntityModel<Errors>> deadlineExceeded(DeadlineExceededException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(errorsOf("deadlineExceeded", e.getMessage()));
+    }
+
+    /**
+     * 요청 마감에서 온 트랜잭션 / JDBC 쿼리 타임아웃 (마감이 없거나 남았거나 타임아웃이 아니면 원래 처리 그대로)
+     *
+     * - 타임아웃은 초 단위라 마감 1초 전부터 걸릴 수 있다. (Hibernate 는 남은 시간이 1초 미만이면 쿼리를 실행하지 않는다)
+     * - 타임아웃 뒤 롤백 실패 (커넥션 풀이 커넥션을 닫음) 는 원래 예외 (applicationException) 를 본다.
+     */
+    @ExceptionHandler({TransactionTimedOutException.class, QueryTimeoutException.class,
+            TransactionSystemException.class, JpaSystemException.class, PersistenceException.class})
+    public ResponseEntity<EntityModel<Errors>> timedOut(RuntimeException e) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null || deadline.remainingMillis() >= 1000 || !isTimeout(e)) {
+            throw e;
+        }
+        return deadlineExceeded(new DeadlineExceededException(deadline.getEndpoint(), deadline.getTimeout()));
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof TransactionTimedOutException || cause instanceof QueryTimeoutException
+                    || cause instanceof javax.persistence.QueryTimeoutException
+                    || cause instanceof org.hibernate.QueryTimeoutException
+                    || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (cause instanceof SQLException && QUERY_CANCELED_STATES.contains(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+            // Hibernate 는 트랜잭션 타임아웃이 지나면 쿼리 전에 TransactionException 을 던진다.
+            if (cause instanceof TransactionException && TRANSACTION_TIMEOUT_EXPIRED.equals(cause.getMessage())) {
+                return true;
+            }
+            if (cause instanceof TransactionSystemException
+                    && ((TransactionSystemException) cause).getApplicationException() != null) {
+                return isTimeout(((TransactionSystemException) cause).getApplicationException());
+            }
+        }
+        return false;
+    }
+
+    static EntityModel<Errors> errorsOf(String code, String message) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "request");
+        errors.reject(code, message);
+        return ErrorResource.modelOf(errors);
+    }
+}
@@ -0,0 +1,82 @@
+package com.junsang.restAPI.common;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ehcache.config.Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Hibernate 2차 캐시 설정
+ *
+ * - ehcache.xml 로 컨텍스트 마다 별도의 JCache CacheManager 를 만든다.
+ *   (URI 가 같으면 JVM 안의 모든 컨텍스트가 CacheManager 를 공유하므로, 테스트 컨텍스트끼리 캐시가 섞인다.)
+ * - 캐시 영역별 히트율을 hibernate.cache.hit.ratio 메트릭으로 노출한다.
+ */
+@org.springframework.context.annotation.Configuration
+public class CacheConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        Configuration configuration = new XmlConfiguration(getClass().getResource("/ehcache.xml"));
+        return provider.getCacheManager(URI.create("urn:restapi:hibernate:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * 히트율 게이지는 기동이 끝난 뒤에 등록한다.
+     * (빈을 만드는 중에 EntityManagerFactory 를 기다리면, 비동기 부트스트랩 스레드가 리스너 빈을 만들지 못해 서로 기다린다.)
+     */
+    @EventListener
+    public void registerHibernateCacheHitRatioMetrics(ApplicationReadyEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+        // 엔티티 / 컬렉션 / 쿼리 캐시 영역별 히트율
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(regionName)))
+                    .tag("region", regionName)
+                    .description("Hit ratio of a Hibernate second-level cache region")
+                    .register(registry);
+        }
+
+        // 쿼리 캐시 전체 히트율
+        Gauge.builder("hibernate.query.cache.hit.ratio", statistics,
+                        s -> hitRatio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                .description("Hit ratio of the Hibernate query cache")
+                .register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        return hitRatio(regionStatistics.getHitCount(), regionStatistics.getMissCount());
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
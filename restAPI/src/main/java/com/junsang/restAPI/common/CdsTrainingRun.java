@@ -0,0 +1,26 @@
+package com.junsang.restAPI.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * AppCDS 학습 실행 (app.cds.training=true)
+ *
+ * - 기동과 워밍업이 끝나면 바로 종료한다.
+ * - -XX:ArchiveClassesAtExit 로 실행하면 종료 시점 까지 읽은 클래스가 아카이브 된다. (pom.xml fast-start 프로파일)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cds.training", havingValue = "true")
+public class CdsTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("CDS training run finished, exiting");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.junsang.restAPI.common;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 응답 본문을 Spring MVC 와 같은 HttpMessageConverter 로 HAL JSON 바이트로 변환
+ *
+ * - 컨트롤러를 거치지 않고도 실제 응답과 같은 JSON (_links 포함) 을 얻을 수 있다.
+ */
+@Component
+public class HalJsonWriter {
+
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    public HalJsonWriter(ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter) {
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    @SuppressWarnings("unchecked")
+    public byte[] write(Object body) throws IOException {
+        for (HttpMessageConverter<?> converter : this.handlerAdapter.getObject().getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), MediaTypes.HAL_JSON)) {
+                BufferedOutputMessage outputMessage = new BufferedOutputMessage();
+                ((HttpMessageConverter<Object>) converter).write(body, MediaTypes.HAL_JSON, outputMessage);
+                return outputMessage.body.toByteArray();
+            }
+        }
+        throw new HttpMessageNotWritableException("No HAL JSON converter for " + body.getClass().getName());
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        public OutputStream getBody() {
+            return this.body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.junsang.restAPI.common;
+
+import com.junsang.restAPI.deadline.DeadlineExceededException;
+import com.junsang.restAPI.deadline.RequestDeadline;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 요청 합치기 (single-flight)
+ *
+ * - 키마다 처음 들어온 호출만 loader 를 실행하고, 그 동안 들어온 같은 키의 호출은 결과를 기다려 함께 받는다.
+ * - 결과는 실행이 끝나면 버린다. (캐시가 아니므로 끝난 뒤에 들어온 호출은 다시 실행한다)
+ * - loader 의 예외는 기다리던 호출에게도 그대로 전달된다.
+ * - 기다리는 호출은 자기 요청 마감 (RequestDeadline) 까지만 기다린다.
+ *   실행한 호출이 자기 마감이 지나 실패했으면, 아직 시간이 남은 호출은 결과를 나누지 않고 다시 실행한다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param joined 다른 호출의 결과를 함께 받았으면 호출된다. (통계용, null 가능)
+     */
+    public V execute(K key, Supplier<V> loader, Runnable joined) {
+        RequestDeadline deadline = RequestDeadline.current();
+        while (true) {
+            Flight<V> flight = new Flight<>(deadline);
+            Flight<V> existing = this.flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return run(key, flight, loader);
+            }
+
+            if (joined != null) {
+                joined.run();
+            }
+            try {
+                return await(existing, deadline);
+            } catch (RuntimeException | Error e) {
+                if (!existing.leaderOutOfTime() || (deadline != null && deadline.remainingMillis() <= 0)) {
+                    throw e;
+                }
+                // 실행한 호출의 마감이 더 짧았다 - 남은 시간으로 다시 실행
+            }
+        }
+    }
+
+    /**
+     * 실행 중인 호출을 목록에서 뺀다. (이미 기다리는 호출은 그대로 결과를 받고, 이후 호출은 새로 실행)
+     * - 데이터가 바뀐 뒤에 들어온 요청이 바뀌기 전에 시작한 조회 결과를 받지 않도록
+     */
+    public void forget(Predicate<K> keys) {
+        this.flights.keySet().removeIf(keys);
+    }
+
+    public int inFlight() {
+        return this.flights.size();
+    }
+
+    private V run(K key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.flights.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(Flight<V> flight, RequestDeadline deadline) {
+        try {
+            if (deadline == null) {
+                return flight.future.get();
+            }
+            return flight.future.get(Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(deadline.getEndpoint(), deadline.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a shared read");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static class Flight<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final RequestDeadline deadline;     // 실행한 호출의 마감 (없으면 null)
+
+        private Flight(RequestDeadline deadline) {
+            this.deadline = deadline;
+        }
+
+        private boolean leaderOutOfTime() {
+            return this.deadline != null && this.deadline.isExpired();
+        }
+    }
+}
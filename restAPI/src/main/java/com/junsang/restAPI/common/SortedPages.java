@@ -0,0 +1,107 @@
+package com.junsang.restAPI.common;
+
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+
+/**
+ * 여러 곳 (shard, 보관 테이블 등) 에서 읽은 정렬된 페이지를 하나의 페이지로 합친다.
+ *
+ * 1. 각 저장소에서 leading(pageable) 로 앞에서부터 (offset + size) 개를 같은 정렬로 읽고
+ * 2. merge 로 정렬 순서대로 합쳐 요청한 페이지만 잘라낸다. (뒤 페이지 일수록 비싸다)
+ *
+ * - 같은 값끼리는 id 순서 (저장소 간 순서를 정하기 위해)
+ * - null 은 정렬 방향의 가장 작은 값으로 본다. (H2 / MySQL 기본)
+ */
+public final class SortedPages {
+
+    private SortedPages() {
+    }
+
+    /**
+     * 합치기 위해 각 저장소에서 읽을 범위 (첫 페이지부터 요청한 페이지 끝까지, id 로 동순위 정렬)
+     */
+    public static Pageable leading(Pageable pageable) {
+        int limit = pageable.isPaged() ? (int) pageable.getOffset() + pageable.getPageSize() : Integer.MAX_VALUE;
+        return PageRequest.of(0, limit, withId(pageable.getSort()));
+    }
+
+    public static <T> Page<T> merge(List<Page<T>> leadingPages, Pageable pageable) {
+        return merge(leadingPages, pageable, SortedPages::beanProperty);
+    }
+
+    /**
+     * @param property 정렬 속성 값을 읽는 방법 (항목, 속성 이름)
+     */
+    public static <T> Page<T> merge(List<Page<T>> leadingPages, Pageable pageable, BiFunction<T, String, Object> property) {
+        Comparator<T> comparator = comparator(withId(pageable.getSort()), property);
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> comparator.compare(a.value, b.value));
+        long total = 0;
+        for (Page<T> page : leadingPages) {
+            total += page.getTotalElements();
+            Iterator<T> iterator = page.getContent().iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<T> content = new ArrayList<>();
+        while (!heads.isEmpty() && content.size() < size) {
+            Head<T> head = heads.poll();
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(head.value);
+            }
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest));
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static Object beanProperty(Object item, String property) {
+        return PropertyAccessorFactory.forBeanPropertyAccess(item).getPropertyValue(property);
+    }
+
+    private static Sort withId(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<T> comparator(Sort sort, BiFunction<T, String, Object> property) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST
+                    || (order.getNullHandling() == Sort.NullHandling.NATIVE && order.isAscending());
+            Comparator<Comparable> values = order.isAscending() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+            Comparator<T> next = Comparator.comparing(item -> (Comparable) property.apply(item, order.getProperty()),
+                    nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values));
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private static class Head<T> {
+
+        private final T value;
+        private final Iterator<T> rest;
+
+        private Head(T value, Iterator<T> rest) {
+            this.value = value;
+            this.rest = rest;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.junsang.restAPI.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 DataSource 분리 (app.datasource.routing.enabled=true 일 때만)
+ *
+ * - Primary : spring.datasource.* (+ spring.datasource.hikari.*)
+ * - Replica : app.datasource.replica.* (+ app.datasource.replica.hikari.*)
+ * - @Transactional(readOnly = true) 트랜잭션만 Replica 로 간다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    public ReplicationDataSources replicationDataSources(DataSourceProperties dataSourceProperties, Environment environment) throws Exception {
+        Binder binder = Binder.get(environment);
+
+        // Primary
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        // Replica (DataSourceProperties 빈을 하나 더 만들면 자동 설정에서 충돌하므로 직접 바인딩)
+        DataSourceProperties replicaProperties = binder.bind("app.datasource.replica", DataSourceProperties.class)
+                .orElseGet(DataSourceProperties::new);
+        replicaProperties.setBeanClassLoader(getClass().getClassLoader());
+        replicaProperties.afterPropertiesSet();
+
+        HikariDataSource replica = replicaProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(replica));
+
+        return new ReplicationDataSources(primary, replica);
+    }
+
+    // 지연 초기화(fast-start 프로파일)를 쓰더라도 복제 지연 감시는 기동 시점 부터 돌아야 한다.
+    @Bean
+    public static LazyInitializationExcludeFilter replicaLagMonitorEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ReplicaLagMonitor.class);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicationDataSources replicationDataSources, DataSourceRoutingProperties properties) {
+        return new ReplicaLagMonitor(replicationDataSources.getReplica(), properties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationDataSources replicationDataSources, ReplicaLagMonitor replicaLagMonitor) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(DataSourceType.PRIMARY, replicationDataSources.getPrimary());
+        targetDataSources.put(DataSourceType.REPLICA, replicationDataSources.getReplica());
+
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(replicationDataSources.getPrimary());
+        routingDataSource.afterPropertiesSet();
+
+        // 트랜잭션 readOnly 여부가 정해진 뒤, 첫 쿼리 시점에 실제 커넥션을 얻도록 지연
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,30 @@
+package com.junsang.restAPI.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 읽기/쓰기 DataSource 분리 설정 (app.datasource.routing.*)
+ *
+ * - 쓰기(Primary) 는 spring.datasource.* 를, 읽기(Replica) 는 app.datasource.replica.* 를 사용한다.
+ */
+@Getter @Setter
+@ConfigurationProperties("app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+
+    /**
+     * Replica 의 복제 지연(초)을 돌려주는 쿼리. 없으면 지연을 확인하지 않는다.
+     * ex) PostgreSQL : SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+     */
+    private String replicaLagQuery;
+
+    // 이 값보다 지연되면 읽기도 Primary 로 보낸다.
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,5 @@
+package com.junsang.restAPI.datasource;
+
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
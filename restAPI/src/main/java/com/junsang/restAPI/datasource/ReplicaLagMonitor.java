@@ -0,0 +1,78 @@
+package com.junsang.restAPI.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replica 복제 지연 감시
+ *
+ * - 백그라운드 스레드에서 주기적으로 지연을 확인하므로 요청 스레드에는 비용이 없다.
+ * - 지연이 허용치를 넘거나 Replica 에 접속할 수 없으면, 다시 따라잡을 때까지 읽기를 Primary 로 보낸다.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final DataSourceRoutingProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean replicaUsable = true;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, DataSourceRoutingProperties properties) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isReplicaUsable() {
+        return this.replicaUsable;
+    }
+
+    /**
+     * 복제 지연 확인
+     */
+    public void check() {
+        String lagQuery = this.properties.getReplicaLagQuery();
+        if (lagQuery == null || lagQuery.trim().isEmpty()) {
+            this.replicaUsable = true;
+            return;
+        }
+
+        boolean usable;
+        try {
+            Number lagSeconds = this.replicaJdbcTemplate.queryForObject(lagQuery, Number.class);
+            usable = lagSeconds != null
+                    && lagSeconds.doubleValue() * 1000 <= this.properties.getMaxReplicaLag().toMillis();
+        } catch (RuntimeException e) {
+            log.debug("Replica lag check failed", e);
+            usable = false;
+        }
+
+        if (usable != this.replicaUsable) {
+            log.warn(usable ? "Replica caught up, routing reads to replica" : "Replica is lagging or unavailable, routing reads to primary");
+        }
+        this.replicaUsable = usable;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long interval = this.properties.getLagCheckInterval().toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,28 @@
+package com.junsang.restAPI.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Primary / Replica 커넥션 풀
+ *
+ * - 풀을 DataSource 타입 빈으로 등록하면 DataSource 초기화 후처리기와 순환 참조가 생기므로 묶어서 등록한다.
+ */
+@Getter
+public class ReplicationDataSources implements DisposableBean {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReplicationDataSources(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    @Override
+    public void destroy() {
+        this.primary.close();
+        this.replica.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.junsang.restAPI.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 요청 마감 (app.deadline.enabled=false 이면 끔 - 기본 JpaTransactionManager 를 쓴다)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.deadline.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfiguration implements WebMvcConfigurer {
+
+    private final DeadlineProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public DeadlineConfiguration(DeadlineProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Spring Boot 의 JpaTransactionManager 대신 (같은 이름, 같은 customizer 적용)
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        DeadlineTransactionManager transactionManager = new DeadlineTransactionManager();
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DeadlineInterceptor(this.properties, this.meterRegistry.getObject()))
+                .addPathPatterns("/api/**");
+    }
+}
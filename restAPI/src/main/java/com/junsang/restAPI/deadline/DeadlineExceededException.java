@@ -0,0 +1,21 @@
+package com.junsang.restAPI.deadline;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 요청 마감 시각이 지남 (504 Gateway Timeout)
+ */
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String endpoint;
+    private final Duration timeout;
+
+    public DeadlineExceededException(String endpoint, Duration timeout) {
+        super(endpoint + " did not complete within its deadline of " + timeout.toMillis() + " ms");
+        this.endpoint = endpoint;
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,91 @@
+package com.junsang.restAPI.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * API 요청마다 마감 시각을 정한다. (요청 헤더 > 엔드포인트 기본값)
+ *
+ * - 엔드포인트는 핸들러 메소드 이름 (ex. queryEvents) 으로 구분한다.
+ * - 잘못된 헤더 값은 무시하고 기본값을 쓴다.
+ * - 마감을 넘겨 실패한 요청은 ApiExceptionHandler 가 504 로 응답한다. (requests.deadline.exceeded 메트릭)
+ */
+@Slf4j
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String DEADLINE = DeadlineInterceptor.class.getName() + ".DEADLINE";
+
+    private final DeadlineProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineInterceptor(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String endpoint = ((HandlerMethod) handler).getMethod().getName();
+        Duration timeout = timeout(request.getHeader(this.properties.getHeader()), endpoint);
+        if (timeout != null) {
+            request.setAttribute(DEADLINE, RequestDeadline.begin(endpoint, timeout));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request, null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request, response);
+    }
+
+    /**
+     * 헤더는 마감을 줄일 수만 있다. (엔드포인트 기본값이 있으면 그보다, 없으면 max 보다 길게 할 수 없음)
+     */
+    Duration timeout(String header, String endpoint) {
+        Duration endpointDefault = this.properties.getDefaults().get(endpoint);
+        if (header != null && !header.trim().isEmpty()) {
+            try {
+                Duration requested = DurationStyle.detectAndParse(header.trim(), ChronoUnit.MILLIS);
+                if (!requested.isNegative()) {
+                    Duration limit = endpointDefault != null ? endpointDefault : this.properties.getMax();
+                    return requested.compareTo(limit) > 0 ? limit : requested;
+                }
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring invalid {} header : {}", this.properties.getHeader(), header);
+            }
+        }
+        return endpointDefault;
+    }
+
+    private void finish(HttpServletRequest request, HttpServletResponse response) {
+        RequestDeadline deadline = (RequestDeadline) request.getAttribute(DEADLINE);
+        if (deadline == null) {
+            return;
+        }
+        request.removeAttribute(DEADLINE);
+        deadline.end();
+        if (response != null && response.getStatus() == HttpServletResponse.SC_GATEWAY_TIMEOUT) {
+            Counter.builder("requests.deadline.exceeded").description("Requests cancelled after their deadline")
+                    .tag("endpoint", deadline.getEndpoint()).register(this.meterRegistry)
+                    .increment();
+        }
+    }
+}
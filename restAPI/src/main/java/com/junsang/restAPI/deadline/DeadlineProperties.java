@@ -0,0 +1,30 @@
+package com.junsang.restAPI.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 마감 설정 (app.deadline.*)
+ *
+ * - defaults.{핸들러 메소드 이름} : 엔드포인트 기본 마감 (ex. app.deadline.defaults.queryEvents=3s)
+ * - 요청 헤더 (header) 로 보낸 값이 있으면 그 값을 쓰되 엔드포인트 기본값 (없으면 max) 을 넘지 않는다.
+ *   (ex. X-Request-Timeout: 1500ms, 숫자만 쓰면 ms)
+ * - 기본값도 헤더도 없는 요청은 마감 없이 처리한다.
+ */
+@Getter @Setter
+@ConfigurationProperties("app.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    private String header = "X-Request-Timeout";
+
+    private Duration max = Duration.ofSeconds(30);
+
+    private Map<String, Duration> defaults = new HashMap<>();
+}
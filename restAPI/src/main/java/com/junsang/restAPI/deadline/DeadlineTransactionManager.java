@@ -0,0 +1,35 @@
+package com.junsang.restAPI.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * 요청 마감이 있으면 남은 시간을 트랜잭션 타임아웃으로 쓴다.
+ *
+ * - 트랜잭션 타임아웃은 그 안의 JPA (Hibernate) / JdbcTemplate 쿼리마다 남은 시간만큼의 JDBC 쿼리 타임아웃이 된다.
+ *   (DB 가 느리면 쿼리를 취소하고 커넥션을 돌려준다)
+ * - 이미 마감이 지났으면 커넥션을 잡지 않고 DeadlineExceededException
+ * - @Transactional(timeout) 이 더 짧으면 그 값을 쓴다.
+ */
+public class DeadlineTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            deadline.check();
+        }
+        super.doBegin(transaction, definition);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return timeout;
+        }
+        int remaining = deadline.remainingSeconds();
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remaining : Math.min(timeout, remaining);
+    }
+}
@@ -0,0 +1,98 @@
+package com.junsang.restAPI.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 한 요청의 마감 시각
+ *
+ * - 요청 스레드에 묶인다. (begin ~ end) 다른 스레드에서 실행할 작업은 call 로 넘겨준다. (shard fan-out 등)
+ * - 트랜잭션을 시작할 때 남은 시간이 트랜잭션 / JDBC 쿼리 타임아웃이 된다. (DeadlineTransactionManager)
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final Duration timeout;
+    private final long deadlineNanos;
+
+    private RequestDeadline(String endpoint, Duration timeout) {
+        this.endpoint = endpoint;
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public static RequestDeadline begin(String endpoint, Duration timeout) {
+        RequestDeadline deadline = new RequestDeadline(endpoint, timeout);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * @return 마감이 없는 요청이거나 요청 밖이면 null
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public void end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * 마감을 정해 놓고 work 를 실행한 뒤, 이전 마감으로 되돌린다. (deadline 이 null 이면 그대로 실행)
+     */
+    public static <T> T call(RequestDeadline deadline, Supplier<T> work) {
+        if (deadline == null) {
+            return work.get();
+        }
+        RequestDeadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * JDBC 쿼리 타임아웃은 초 단위이므로 올림한다. (마감 전이면 최소 1초)
+     */
+    public int remainingSeconds() {
+        long remaining = this.deadlineNanos - System.nanoTime();
+        return (int) Math.max(1, (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public boolean isExpired() {
+        return this.deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @throws DeadlineExceededException 마감이 지났으면
+     */
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException(this.endpoint, this.timeout);
+        }
+    }
+}
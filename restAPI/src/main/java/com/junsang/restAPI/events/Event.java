@@ -4,13 +4,19 @@ import java.time.LocalDateTime;
 
 import com.junsang.restAPI.accounts.Account;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
 @Getter @Setter
 @EqualsAndHashCode(of = "id")
-@Builder @NoArgsConstructor @AllArgsConstructor
+@NoArgsConstructor
 @Entity
+@DynamicUpdate  // 변경된 컬럼만 UPDATE 쿼리에 포함 (PATCH 부분 수정)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)    // 2차 캐시
+@EntityListeners(EventChangeListener.class)             // 생성 / 수정 알림 (EventChange)
 public class Event {
 
     @Id @GeneratedValue
@@ -22,6 +28,8 @@ public class Event {
     private LocalDateTime beginEventDateTime;
     private LocalDateTime endEventDateTime;
     private String location; // (optional) 이게 없으면 온라인 모임
+    private Double latitude; // (optional) 위도 - 오프라인 모임 주변 검색용
+    private Double longitude; // (optional) 경도
     private int basePrice; // (optional)
     private int maxPrice; // (optional)
     private int limitOfEnrollment;
@@ -33,6 +41,46 @@ public class Event {
     @ManyToOne
     private Account manager;
 
+    // 조회 (또는 마지막 flush) 시점의 값 - 변경 알림에서 이전 값으로 사용 (저장하지 않음)
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private EventSnapshot loadedSnapshot;
+
+    // 저장하지 않는 loadedSnapshot 은 빌더 / 생성자로 받지 않는다.
+    @Builder
+    public Event(Integer id, String name, String description,
+                 LocalDateTime beginEnrollmentDateTime, LocalDateTime closeEnrollmentDateTime,
+                 LocalDateTime beginEventDateTime, LocalDateTime endEventDateTime,
+                 String location, Double latitude, Double longitude,
+                 int basePrice, int maxPrice, int limitOfEnrollment, boolean offline, boolean free,
+                 EventStatus eventStatus, Account manager) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.beginEnrollmentDateTime = beginEnrollmentDateTime;
+        this.closeEnrollmentDateTime = closeEnrollmentDateTime;
+        this.beginEventDateTime = beginEventDateTime;
+        this.endEventDateTime = endEventDateTime;
+        this.location = location;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.basePrice = basePrice;
+        this.maxPrice = maxPrice;
+        this.limitOfEnrollment = limitOfEnrollment;
+        this.offline = offline;
+        this.free = free;
+        this.eventStatus = eventStatus;
+        this.manager = manager;
+    }
+
+    EventSnapshot loadedSnapshot() {
+        return this.loadedSnapshot;
+    }
+
+    void loadedSnapshot(EventSnapshot snapshot) {
+        this.loadedSnapshot = snapshot;
+    }
+
     public void update() {
         // Update free (무료/유료)
         if (this.basePrice == 0 && this.maxPrice == 0)
@@ -0,0 +1,214 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.deadline.DeadlineExceededException;
+import com.junsang.restAPI.deadline.RequestDeadline;
+import com.junsang.restAPI.ratelimit.ServerOverloadedException;
+import com.junsang.restAPI.sharding.EventShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 이벤트 생성 일괄 커밋 (write-behind group commit)
+ *
+ * - 검증이 끝난 이벤트를 큐에 넣고, writer 스레드가 max-batch-size 개 또는 max-delay 마다 한 트랜잭션으로 저장한다.
+ * - 요청 스레드는 자기 이벤트가 포함된 트랜잭션이 커밋될 때까지 기다리므로 응답을 받은 이벤트는 모두 저장된 상태다.
+ * - 배치 저장이 실패하면 이벤트마다 따로 다시 저장해서 실패한 요청만 에러를 받는다.
+ * - 큐가 가득 차면 기다리지 않고 503 (ServerOverloadedException)
+ * - 커밋을 기다리는 시간은 요청 마감 (없으면 max-wait-millis) 까지다. 넘으면 아직 큐에 있는 이벤트는 빼고 실패한다.
+ *   (이미 배치에 들어간 이벤트는 응답과 상관없이 저장될 수 있다)
+ * - writer 스레드에서 예외 / Error 가 나면 그 배치의 요청을 모두 실패로 끝내고 다음 배치를 계속 처리한다.
+ * - 샤딩 중이면 배치를 manager 의 shard 별로 나눠 shard 마다 한 트랜잭션으로 저장한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.group-commit.enabled", havingValue = "true")
+public class EventBatchWriter implements DisposableBean {
+
+    private final BlockingQueue<PendingEvent> queue;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EventShards eventShards;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long maxWaitMillis;
+    private final Thread writer;
+    private final DistributionSummary batchSize;
+    private final Counter fallbacks;
+    private volatile boolean running = true;
+
+    public EventBatchWriter(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                            EventShards eventShards, MeterRegistry meterRegistry,
+                            @Value("${app.events.group-commit.max-batch-size:64}") int maxBatchSize,
+                            @Value("${app.events.group-commit.max-delay-millis:5}") long maxDelayMillis,
+                            @Value("${app.events.group-commit.queue-capacity:10000}") int queueCapacity,
+                            @Value("${app.events.group-commit.max-wait-millis:5000}") long maxWaitMillis) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventShards = eventShards;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.maxWaitMillis = maxWaitMillis;
+        this.batchSize = DistributionSummary.builder("events.group-commit.batch.size")
+                .description("Events committed per transaction")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("events.group-commit.fallbacks")
+                .description("Batches retried one event per transaction")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::run, "event-batch-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 다음 배치에 이벤트를 넣고 커밋될 때까지 기다린다.
+     *
+     * @return 저장된 이벤트 (id 포함)
+     */
+    public Event save(Event event) {
+        PendingEvent pending = new PendingEvent(event);
+        if (!this.running || !this.queue.offer(pending)) {
+            throw new ServerOverloadedException();
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        boolean deadlineFirst = deadline != null && deadline.remainingMillis() < this.maxWaitMillis;
+        long waitMillis = deadlineFirst ? deadline.remainingMillis() : this.maxWaitMillis;
+        try {
+            return pending.future.get(Math.max(0, waitMillis), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            this.queue.remove(pending);     // 아직 배치에 들어가지 않았으면 저장하지 않는다.
+            if (deadlineFirst) {
+                throw new DeadlineExceededException(deadline.getEndpoint(), deadline.getTimeout());
+            }
+            throw new ServerOverloadedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the group commit");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void run() {
+        List<PendingEvent> batch = new ArrayList<>(this.maxBatchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                PendingEvent first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 첫 이벤트 기준 max-delay 동안 (또는 max-batch-size 가 찰 때까지) 모은다.
+                long deadline = System.nanoTime() + this.maxDelayNanos;
+                while (batch.size() < this.maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingEvent next = remaining > 0 ? this.queue.poll(remaining, TimeUnit.NANOSECONDS) : this.queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                if (this.eventShards.count() == 1) {
+                    commit(batch);
+                } else {
+                    Map<Integer, List<PendingEvent>> byShard = batch.stream()
+                            .collect(Collectors.groupingBy(pending -> this.eventShards.shardOfManager(pending.event.getManager())));
+                    byShard.forEach((shard, shardBatch) -> this.eventShards.route(shard, () -> {
+                        commit(shardBatch);
+                        return null;
+                    }));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                // 커밋 결과를 받지 못한 요청이 기다리다 멈추지 않도록 배치 전체를 실패로 끝낸다.
+                log.error("Group commit of {} events failed", batch.size(), e);
+                batch.forEach(pending -> pending.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // 종료 중에 남은 요청은 실패로 끝낸다.
+        PendingEvent pending;
+        while ((pending = this.queue.poll()) != null) {
+            pending.future.completeExceptionally(new ServerOverloadedException());
+        }
+    }
+
+    private void commit(List<PendingEvent> batch) {
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                for (PendingEvent pending : batch) {
+                    this.entityManager.persist(pending.event);
+                }
+            });
+            this.batchSize.record(batch.size());
+            batch.forEach(pending -> pending.future.complete(pending.event));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} events failed, retrying one by one", batch.size(), e);
+            this.fallbacks.increment();
+            batch.forEach(this::commitOne);
+        }
+    }
+
+    private void commitOne(PendingEvent pending) {
+        try {
+            // 실패한 배치에서 받은 id 는 버리고 새로 받는다.
+            pending.event.setId(null);
+            this.transactionTemplate.executeWithoutResult(status -> this.entityManager.persist(pending.event));
+            this.batchSize.record(1);
+            pending.future.complete(pending.event);
+        } catch (RuntimeException e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        this.running = false;
+        this.writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private static class PendingEvent {
+
+        private final Event event;
+        private final CompletableFuture<Event> future = new CompletableFuture<>();
+
+        private PendingEvent(Event event) {
+            this.event = event;
+        }
+    }
+}
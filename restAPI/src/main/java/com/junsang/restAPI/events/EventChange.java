@@ -0,0 +1,22 @@
+package com.junsang.restAPI.events;
+
+import lombok.Value;
+
+/**
+ * 이벤트 변경 알림 (ApplicationEvent)
+ *
+ * - EventChangeListener 가 INSERT / UPDATE / DELETE 직후에 발행한다.
+ * - 커밋된 변경만 받으려면 @TransactionalEventListener 로 구독한다. (롤백되면 전달되지 않음)
+ * - before 는 생성 (CREATED) 인 경우 null, after 는 삭제 (DELETED) 인 경우 null 이다.
+ */
+@Value
+public class EventChange {
+
+    EventChangeType type;
+    EventSnapshot before;
+    EventSnapshot after;
+
+    public Integer getEventId() {
+        return this.after != null ? this.after.getId() : this.before.getId();
+    }
+}
@@ -0,0 +1,56 @@
+package com.junsang.restAPI.events;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Event 엔티티 리스너 - 저장 / 수정 / 삭제를 EventChange 로 발행
+ *
+ * - 컨트롤러뿐 아니라 리포지토리를 통한 모든 변경 (flush 시점) 을 잡는다.
+ * - Hibernate 가 스프링 빈 컨테이너 (SpringBeanContainer) 로 리스너를 만들기 때문에 빈을 주입 받을 수 있다.
+ * - 상태 변경 (STATUS_CHANGED) 을 구분하기 위해 조회 시점의 값을 엔티티에 기억해 둔다.
+ */
+@Component
+public class EventChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void postLoad(Event event) {
+        event.loadedSnapshot(EventSnapshot.of(event));
+    }
+
+    @PostPersist
+    public void postPersist(Event event) {
+        EventSnapshot after = EventSnapshot.of(event);
+        event.loadedSnapshot(after);
+        this.eventPublisher.publishEvent(new EventChange(EventChangeType.CREATED, null, after));
+    }
+
+    @PostUpdate
+    public void postUpdate(Event event) {
+        EventSnapshot before = event.loadedSnapshot();
+        EventSnapshot after = EventSnapshot.of(event);
+        event.loadedSnapshot(after);
+
+        EventChangeType type = before != null && before.getEventStatus() != after.getEventStatus()
+                ? EventChangeType.STATUS_CHANGED
+                : EventChangeType.UPDATED;
+        this.eventPublisher.publishEvent(new EventChange(type, before, after));
+    }
+
+    @PostRemove
+    public void postRemove(Event event) {
+        EventSnapshot before = event.loadedSnapshot() != null ? event.loadedSnapshot() : EventSnapshot.of(event);
+        this.eventPublisher.publishEvent(new EventChange(EventChangeType.DELETED, before, null));
+    }
+}
@@ -0,0 +1,5 @@
+package com.junsang.restAPI.events;
+
+public enum EventChangeType {
+    CREATED, UPDATED, STATUS_CHANGED, DELETED
+}
@@ -1,12 +1,21 @@
 package com.junsang.restAPI.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.archive.EventArchive;
 import com.junsang.restAPI.common.ErrorResource;
+import com.junsang.restAPI.common.SortedPages;
 import com.junsang.restAPI.index.IndexController;
+import com.junsang.restAPI.readmodel.EventReadModel;
+import com.junsang.restAPI.sharding.EventShards;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
@@ -15,12 +24,32 @@ import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 
 @Controller
@@ -29,11 +58,37 @@ public class EventController {
     private final EventRepository eventRepository;
     private final ModelMapper modelMapper;
     private final EventValidator eventValidator;
-
-    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator) {
+    private final ObjectMapper objectMapper;
+    private final SpringValidatorAdapter beanValidator;
+    private final EventBatchWriter eventBatchWriter;     // 일괄 커밋 모드가 아니면 null
+    private final EventReadCoalescer eventReadCoalescer;
+    private final EventShards eventShards;
+    private final EventArchive eventArchive;
+    private final EventReadModel eventReadModel;        // 읽기 모델을 끄면 null
+    private final EventResponseCache eventResponseCache;    // 응답 캐시를 끄면 null
+    private final int maxIdsPerRequest;
+
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    public EventController(EventRepository eventRepository, ModelMapper modelMapper, EventValidator eventValidator,
+                           ObjectMapper objectMapper, Validator validator,
+                           ObjectProvider<EventBatchWriter> eventBatchWriter, EventReadCoalescer eventReadCoalescer,
+                           EventShards eventShards, EventArchive eventArchive,
+                           ObjectProvider<EventReadModel> eventReadModel,
+                           ObjectProvider<EventResponseCache> eventResponseCache,
+                           @Value("${app.events.multi-get.max-ids:100}") int maxIdsPerRequest) {
         this.eventRepository = eventRepository;
         this.modelMapper = modelMapper;
         this.eventValidator = eventValidator;
+        this.objectMapper = objectMapper;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.eventBatchWriter = eventBatchWriter.getIfAvailable();
+        this.eventReadCoalescer = eventReadCoalescer;
+        this.eventShards = eventShards;
+        this.eventArchive = eventArchive;
+        this.eventReadModel = eventReadModel.getIfAvailable();
+        this.eventResponseCache = eventResponseCache.getIfAvailable();
+        this.maxIdsPerRequest = maxIdsPerRequest;
     }
 
     /**
@@ -41,6 +96,8 @@ public class EventController {
      *
      * @param eventDto
      * @param errors
+     *
+     * 트랜잭션은 저장할 때만 연다. (일괄 커밋 모드에서 커밋을 기다리는 동안 커넥션을 잡지 않도록)
      */
     @PostMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto, Errors errors) {
@@ -70,7 +127,7 @@ public class EventController {
 
         //== [S] Service 객체 범위
         event.update();
-        Event newEvent = this.eventRepository.save(event);
+        Event newEvent = save(event);
         //== [E] Service 객체 범위
 
         WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
@@ -88,12 +145,84 @@ public class EventController {
      * 이벤트 List 조회 API
      *
      * @param pageable  페이징 관련 파라미터 사용하기 위함 (page, size, sort 등)
+     * @param fields    (optional) 응답에 담을 필드 (fields=name,eventStatus) - 그 컬럼만 SELECT 한다.
+     * @param includeArchived (optional) 보관된 (끝난 지 오래된) 이벤트도 함께 조회
+     * @param eventStatus (optional) 이 상태인 이벤트만 (eventStatus=PUBLISHED,STARTED)
      * @param assembler 페이지를 리소스로 바꿔 링크 정보 추출하기 위함
+     *
+     * 읽기 모델 (EventReadModel) 을 켜면 보관 테이블을 읽지 않는 조회는 메모리에서 답한다.
+     * 같은 첫 페이지를 동시에 요청하면 한 번만 읽는다. (EventReadCoalescer 가 읽기 트랜잭션을 연다 - Replica)
+     * 샤딩 중이면 shard 마다 나눠 읽고 정렬 기준으로 합친다.
      */
     @GetMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<?> queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler) {
-        Page<Event> page = this.eventRepository.findAll(pageable);
+    public ResponseEntity<?> queryEvents(Pageable pageable,
+                                         @RequestParam(required = false) List<String> fields,
+                                         @RequestParam(defaultValue = "false") boolean includeArchived,
+                                         @RequestParam(required = false) List<EventStatus> eventStatus,
+                                         PagedResourcesAssembler<Event> assembler,
+                                         PagedResourcesAssembler<EventFields> fieldsAssembler) {
+        List<String> selected = null;
+        if (fields != null) {
+            selected = EventFields.parse(fields);
+            if (selected == null) {
+                return wrongFields();
+            }
+            if (this.eventShards.count() > 1 || includeArchived) {
+                // shard / 보관 테이블의 결과를 합치려면 정렬 필드 값이 있어야 한다.
+                selected = EventFields.parse(withSortFields(fields, pageable));
+            }
+        }
+
+        List<String> columns = selected;
+        Collection<EventStatus> statuses = eventStatus == null || eventStatus.isEmpty() ? null : EnumSet.copyOf(eventStatus);
+
+        // 보관 테이블에는 ENDED 이벤트만 있다.
+        boolean archived = includeArchived && (statuses == null || statuses.contains(EventStatus.ENDED));
+
+        if (this.eventReadModel != null && !archived) {
+            if (columns != null) {
+                Page<EventFields> page = this.eventReadModel.findAllFields(columns, statuses, pageable);
+                if (page != null) {
+                    return fieldsPage(page, fieldsAssembler);
+                }
+            } else {
+                Page<Event> page = this.eventReadModel.findAll(statuses, pageable);
+                if (page != null) {
+                    return eventsPage(page, assembler);
+                }
+            }
+        }
+
+        return this.eventReadCoalescer.page(pageable.getPageNumber(), () -> {
+            if (columns != null) {
+                BiFunction<EventFields, String, Object> property = (eventFields, name) -> eventFields.getValues().get(name);
+                Page<EventFields> page = this.eventShards.readPage(pageable, shardPageable -> !archived
+                        ? this.eventRepository.findAllFields(columns, statuses, shardPageable)
+                        : SortedPages.merge(Arrays.asList(
+                                this.eventRepository.findAllFields(columns, statuses, SortedPages.leading(shardPageable)),
+                                this.eventArchive.findAll(SortedPages.leading(shardPageable))
+                                        .map(event -> EventFields.from(event, columns))),
+                        shardPageable, property), property);
+                return fieldsPage(page, fieldsAssembler);
+            }
+
+            Page<Event> page = this.eventShards.readPage(pageable, shardPageable -> !archived
+                    ? findAll(statuses, shardPageable)
+                    : SortedPages.merge(Arrays.asList(
+                            findAll(statuses, SortedPages.leading(shardPageable)),
+                            this.eventArchive.findAll(SortedPages.leading(shardPageable))),
+                    shardPageable));
+            return eventsPage(page, assembler);
+        });
+    }
 
+    private Page<Event> findAll(Collection<EventStatus> statuses, Pageable pageable) {
+        return statuses == null
+                ? this.eventRepository.findAll(pageable)
+                : this.eventRepository.findAllByEventStatusIn(statuses, pageable);
+    }
+
+    private ResponseEntity<?> eventsPage(Page<Event> page, PagedResourcesAssembler<Event> assembler) {
         // Repo 에서 받아온 페이지를 리소스로 변경 후 링크 추출 (각 이벤트 마다 self 링크 포함)
 //        PagedModel<EntityModel<Event>> pageResource = assembler.toModel(page, e -> new EventResource(e));
         PagedModel<EntityModel<Event>> pageResource = assembler.toModel(page, new RepresentationModelAssembler<Event, EntityModel<Event>>() {
@@ -109,29 +238,126 @@ public class EventController {
         return ResponseEntity.ok(pageResource);
     }
 
+    private ResponseEntity<?> fieldsPage(Page<EventFields> page, PagedResourcesAssembler<EventFields> fieldsAssembler) {
+        PagedModel<EntityModel<EventFields>> pageResource = fieldsAssembler.toModel(page, EventFieldsResource::of);
+        pageResource.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        return ResponseEntity.ok(pageResource);
+    }
+
+
+    /**
+     * 여러 이벤트 한 번에 조회 API (ex. 북마크 목록)
+     * - IN 쿼리 한 번으로 읽고 요청한 id 순서대로 돌려준다. (중복된 id 는 한 번만)
+     * - 없는 id 는 요청 전체를 실패시키지 않고 missing 에 담는다.
+     *
+     * @param ids 조회할 이벤트 id 목록 (ids=1,2,3)
+     */
+    @Transactional(readOnly = true)     // Replica 로 라우팅
+    @GetMapping(value = "/api/events", params = "ids", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<?> getEventsById(@RequestParam List<Integer> ids) {
+        Set<Integer> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > this.maxIdsPerRequest) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "ids");
+            errors.reject("tooManyIds", "Up to " + this.maxIdsPerRequest + " ids can be requested at once");
+            return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+        }
+
+        Map<Integer, Event> found = new HashMap<>();
+        for (Event event : this.eventShards.readByIds(requested, this.eventRepository::findAllById)) {
+            found.put(event.getId(), event);
+        }
+
+        List<EntityModel<Event>> events = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : requested) {
+            Event event = found.get(id);
+            if (event == null) {
+                missing.add(id);
+            } else {
+                events.add(new EventResource(event));
+            }
+        }
+
+        EventsByIdResource resource = new EventsByIdResource(events, missing);
+        resource.add(Link.of("/docs/index.html#resources-events-get-by-ids").withRel("profile"));
+        return ResponseEntity.ok(resource);
+    }
+
 
     /**
      * 이벤트 Detail 조회 API
      *
      * @param id
+     * @param fields    (optional) 응답에 담을 필드 (fields=name,eventStatus) - 그 컬럼만 SELECT 한다.
+     *
+     * 같은 이벤트를 동시에 요청하면 한 번만 읽는다. (EventReadCoalescer 가 읽기 트랜잭션을 연다 - Replica)
+     * 보관된 이벤트도 그대로 조회된다.
+     * 전체 필드 응답은 HAL JSON 바이트로 캐시한다. (EventResponseCache - 적중하면 이 메소드까지 오지 않는다)
      */
     @GetMapping(value = "/api/events/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity getEvent(@PathVariable Integer id) {
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-
-        // 빈 객체
-        if (!optionalEvent.isPresent()) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity getEvent(@PathVariable Integer id, @RequestParam(required = false) List<String> fields) {
+        List<String> selected = null;
+        if (fields != null) {
+            selected = EventFields.parse(fields);
+            if (selected == null) {
+                return wrongFields();
+            }
         }
 
-        // 반환
-        Event event = optionalEvent.get();
+        List<String> columns = selected;
+        EventResponseCache responseCache = columns == null && cacheable() ? this.eventResponseCache : null;
+        long version = responseCache != null ? responseCache.version(id) : 0;
+        return this.eventReadCoalescer.event(id, () -> {
+            if (columns != null) {
+                Optional<EventFields> optionalFields = this.eventRepository.findFieldsById(id, columns);
+                if (!optionalFields.isPresent()) {
+                    optionalFields = this.eventArchive.findById(id).map(event -> EventFields.from(event, columns));
+                }
+                if (!optionalFields.isPresent()) {
+                    return ResponseEntity.notFound().build();
+                }
+                EntityModel<EventFields> eventResource = EventFieldsResource.of(optionalFields.get());
+                eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+                return ResponseEntity.ok(eventResource);
+            }
 
-        // 프로필 링크
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+            Optional<Event> optionalEvent = this.eventRepository.findById(id);
+            if (!optionalEvent.isPresent()) {
+                optionalEvent = this.eventArchive.findById(id);
+            }
 
-        return ResponseEntity.ok(eventResource);
+            // 빈 객체
+            if (!optionalEvent.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            // 반환
+            Event event = optionalEvent.get();
+
+            // 프로필 링크
+            EventResource eventResource = new EventResource(event);
+            eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+
+            if (responseCache != null) {
+                try {
+                    return ResponseEntity.ok().contentType(MediaTypes.HAL_JSON)
+                            .body(responseCache.store(id, version, eventResource));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return ResponseEntity.ok(eventResource);
+        });
+    }
+
+    /**
+     * 요청 스레드가 아니거나 (워밍업) 이미 트랜잭션 안이면 (커밋 전 데이터일 수 있다) 응답을 캐시하지 않는다.
+     */
+    private boolean cacheable() {
+        return this.eventResponseCache != null
+                && RequestContextHolder.getRequestAttributes() != null
+                && !TransactionSynchronizationManager.isActualTransactionActive();
     }
 
 
@@ -143,6 +369,7 @@ public class EventController {
      * @param eventDto
      * @param errors
      */
+    @Transactional                      // 조회 + 저장을 하나의 쓰기 트랜잭션으로 (Primary)
     @PutMapping(value = "/api/events/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity updateEvent(@PathVariable Integer id,
                                       @RequestBody @Valid EventDto eventDto,
@@ -167,6 +394,7 @@ public class EventController {
 
         // 파라미터로 받은 eventDto 를 Event 타입으로 바꿔야 eventRepository 사용가능하다.
         this.modelMapper.map(eventDto, existingEvent);
+        existingEvent.update();             // 가격, 장소가 바뀌었을 수 있으므로 free / offline 재계산
 
         // 수정(저장)
         Event savedEvent = this.eventRepository.save(existingEvent);
@@ -178,4 +406,108 @@ public class EventController {
         return ResponseEntity.ok(eventResource);
     }
 
+
+    /**
+     *
+     * 이벤트 부분 수정 API (JSON Merge Patch, RFC 7396)
+     * - 요청 본문에 포함된 필드만 수정하고, null 값은 해당 필드를 비운다.
+     * - 가격, 장소가 바뀐 경우에만 free / offline 값을 다시 계산한다.
+     * - Event 는 @DynamicUpdate 이므로 실제로 바뀐 컬럼만 UPDATE 된다.
+     *
+     * @param id
+     * @param patch
+     */
+    @Transactional                      // 조회 + 저장을 하나의 쓰기 트랜잭션으로 (Primary)
+    @PatchMapping(value = "/api/events/{id}", consumes = MERGE_PATCH_JSON_VALUE, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity patchEvent(@PathVariable Integer id, @RequestBody JsonNode patch) {
+
+        // 조회
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (!optionalEvent.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Event existingEvent = optionalEvent.get();
+
+        // 기존 이벤트를 EventDto 로 바꾼 뒤, 그 위에 patch 를 덮어쓴다.
+        EventDto eventDto = this.modelMapper.map(existingEvent, EventDto.class);
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+
+        if (!patch.isObject()) {
+            errors.reject("wrongPatch", "Merge patch document must be a JSON object");
+            return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+        }
+
+        try {
+            // 받을 수 없는 값이 있으면 (fail-on-unknown-properties) 예외 발생
+            this.objectMapper.readerForUpdating(eventDto).readValue(patch);
+        } catch (IOException e) {
+            errors.reject("wrongPatch", "Merge patch document is wrong");
+            return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+        }
+
+        // 적용 결과를 PUT 과 같은 기준으로 검증
+        this.beanValidator.validate(eventDto, errors);
+        if (errors.hasErrors()) {
+            return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+        }
+
+        this.eventValidator.validate(eventDto, errors);
+        if (errors.hasErrors()) {
+            return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+        }
+
+        // 가격, 장소가 바뀌었는지 (free / offline 재계산 여부)
+        boolean derivedFieldsChanged = existingEvent.getBasePrice() != eventDto.getBasePrice()
+                || existingEvent.getMaxPrice() != eventDto.getMaxPrice()
+                || !Objects.equals(existingEvent.getLocation(), eventDto.getLocation());
+
+        this.modelMapper.map(eventDto, existingEvent);
+        if (derivedFieldsChanged) {
+            existingEvent.update();
+        }
+
+        // 수정(저장) - 변경 감지로 바뀐 컬럼만 UPDATE
+        Event savedEvent = this.eventRepository.save(existingEvent);
+
+        // 프로필 링크
+        EventResource eventResource = new EventResource(savedEvent);
+        eventResource.add(Link.of("/docs/index.html#resources-events-patch").withRel("profile"));
+
+        return ResponseEntity.ok(eventResource);
+    }
+
+
+    private static List<String> withSortFields(List<String> fields, Pageable pageable) {
+        List<String> withSort = new ArrayList<>(fields);
+        pageable.getSort().stream()
+                .map(Sort.Order::getProperty)
+                .filter(EventFields.SELECTABLE::contains)
+                .forEach(withSort::add);
+        return withSort;
+    }
+
+    private ResponseEntity<?> wrongFields() {
+        Errors errors = new MapBindingResult(new HashMap<>(), "fields");
+        errors.reject("wrongFields", "fields must be some of " + String.join(",", EventFields.SELECTABLE));
+        return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+    }
+
+    /**
+     * 이벤트 저장
+     * - 일괄 커밋 모드면 다음 배치에 넣고 커밋될 때까지 기다린다.
+     * - 이미 트랜잭션 안이면 (ex. 워밍업) 그 트랜잭션에서 바로 저장한다.
+     * - 샤딩 중이면 manager 의 shard 에 저장한다.
+     */
+    private Event save(Event event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return this.eventRepository.save(event);
+        }
+        if (this.eventBatchWriter == null) {
+            return this.eventShards.route(this.eventShards.shardOfManager(event.getManager()),
+                    () -> this.eventRepository.save(event));
+        }
+        return this.eventBatchWriter.save(event);
+    }
+
 }
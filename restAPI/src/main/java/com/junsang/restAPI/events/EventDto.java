@@ -1,6 +1,8 @@
 package com.junsang.restAPI.events;
 
 import lombok.*;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -23,6 +25,10 @@ public class EventDto {
     @NotNull
     private LocalDateTime endEventDateTime;
     private String location; // (optional) 이게 없으면 온라인 모임
+    @DecimalMin("-90") @DecimalMax("90")
+    private Double latitude; // (optional) 위도 (경도와 함께)
+    @DecimalMin("-180") @DecimalMax("180")
+    private Double longitude; // (optional) 경도 (위도와 함께)
     @Min(0)
     private int basePrice; // (optional)
     @Min(0)
@@ -0,0 +1,87 @@
+package com.junsang.restAPI.events;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일부 필드만 읽은 이벤트 (?fields=name,beginEventDateTime)
+ *
+ * - 요청한 필드만 SELECT 하고, 그 필드만 JSON 으로 내보낸다. (id 는 self 링크를 위해 항상 포함)
+ * - 목록 응답에서도 전체 이벤트와 같은 _embedded.eventList 에 담긴다.
+ */
+@Relation(collectionRelation = "eventList")
+public class EventFields {
+
+    /**
+     * 고를 수 있는 필드 (Event 의 컬럼 속성, 응답 순서)
+     */
+    public static final List<String> SELECTABLE = Collections.unmodifiableList(Arrays.asList(
+            "id", "name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime",
+            "location", "latitude", "longitude", "basePrice", "maxPrice", "limitOfEnrollment",
+            "offline", "free", "eventStatus"));
+
+    private final Map<String, Object> values;
+
+    public EventFields(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    public Integer getId() {
+        return (Integer) this.values.get("id");
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getValues() {
+        return this.values;
+    }
+
+    /**
+     * fields 파라미터를 SELECT 할 필드 목록으로 (SELECTABLE 순서, id 포함)
+     *
+     * @return 모르는 필드가 있으면 null
+     */
+    public static List<String> parse(List<String> requested) {
+        List<String> fields = new ArrayList<>();
+        for (String field : requested) {
+            if (!SELECTABLE.contains(field.trim())) {
+                return null;
+            }
+        }
+        for (String field : SELECTABLE) {
+            if (field.equals("id") || requested.stream().anyMatch(value -> value.trim().equals(field))) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 이미 읽은 이벤트에서 필드만 골라낸다. (ex. 보관된 이벤트)
+     */
+    public static EventFields from(Event event, List<String> fields) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(event);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            values.put(field, wrapper.getPropertyValue(field));
+        }
+        return new EventFields(values);
+    }
+
+    static EventFields of(List<String> fields, Object[] row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(fields.get(i), row[i]);
+        }
+        return new EventFields(values);
+    }
+}
@@ -0,0 +1,25 @@
+package com.junsang.restAPI.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 필요한 컬럼만 읽는 이벤트 조회 (EventRepository 조각)
+ *
+ * @see EventFields#parse(List)
+ */
+public interface EventFieldsRepository {
+
+    Optional<EventFields> findFieldsById(Integer id, List<String> fields);
+
+    Page<EventFields> findAllFields(List<String> fields, Pageable pageable);
+
+    /**
+     * @param statuses 이 상태인 이벤트만 (null 이면 전부)
+     */
+    Page<EventFields> findAllFields(List<String> fields, Collection<EventStatus> statuses, Pageable pageable);
+}
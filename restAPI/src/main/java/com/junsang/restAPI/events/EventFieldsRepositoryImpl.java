@@ -0,0 +1,90 @@
+package com.junsang.restAPI.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 요청한 필드만 SELECT 하는 Tuple 쿼리 (엔티티를 만들지 않으므로 2차 캐시 / 영속성 컨텍스트도 거치지 않는다)
+ */
+class EventFieldsRepositoryImpl implements EventFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    EventFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<EventFields> findFieldsById(Integer id, List<String> fields) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Event> event = query.from(Event.class);
+        query.multiselect(select(event, fields)).where(builder.equal(event.get("id"), id));
+
+        return this.entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> EventFields.of(fields, tuple.toArray()))
+                .findFirst();
+    }
+
+    @Override
+    public Page<EventFields> findAllFields(List<String> fields, Pageable pageable) {
+        return findAllFields(fields, null, pageable);
+    }
+
+    @Override
+    public Page<EventFields> findAllFields(List<String> fields, Collection<EventStatus> statuses, Pageable pageable) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Event> event = query.from(Event.class);
+        query.multiselect(select(event, fields));
+        if (statuses != null) {
+            query.where(event.get("eventStatus").in(statuses));
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), event, builder));
+        }
+
+        TypedQuery<Tuple> typedQuery = this.entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<EventFields> content = typedQuery.getResultList().stream()
+                .map(tuple -> EventFields.of(fields, tuple.toArray()))
+                .collect(Collectors.toList());
+
+        // 첫 페이지가 다 차지 않으면 count 쿼리를 생략한다.
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(statuses));
+    }
+
+    private long count(Collection<EventStatus> statuses) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(builder.count(event));
+        if (statuses != null) {
+            query.where(event.get("eventStatus").in(statuses));
+        }
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> select(Root<Event> event, List<String> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> event.get(field).alias(field))
+                .collect(Collectors.toList());
+    }
+}
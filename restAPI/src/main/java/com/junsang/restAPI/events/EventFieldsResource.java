@@ -0,0 +1,19 @@
+package com.junsang.restAPI.events;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import org.springframework.hateoas.EntityModel;
+
+
+/**
+ * 필드를 골라 조회한 이벤트 (EventResource 와 같은 self 링크)
+ */
+public final class EventFieldsResource {
+
+    private EventFieldsResource() {
+    }
+
+    public static EntityModel<EventFields> of(EventFields event) {
+        return EntityModel.of(event, linkTo(EventController.class).slash(event.getId()).withSelfRel());
+    }
+}
@@ -0,0 +1,140 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.HalJsonWriter;
+import com.junsang.restAPI.common.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 조회 요청 합치기 (GET /api/events/{id}, GET /api/events 첫 페이지)
+ *
+ * - 요청 URL (호스트 + 쿼리 포함, 링크가 같아야 하므로) 이 같은 동시 요청은 한 번만 DB 에서 읽고 HAL JSON 으로 한 번만 변환한다.
+ * - 읽기 트랜잭션 (Replica) 은 실제로 읽는 요청만 연다. (기다리는 요청은 커넥션을 잡지 않는다)
+ * - 이벤트가 바뀌면 진행 중인 조회를 목록에서 빼서, 커밋 뒤에 들어온 요청은 새로 읽는다.
+ * - app.events.read-coalescing.enabled=false 이면 요청마다 따로 읽는다.
+ */
+@Component
+public class EventReadCoalescer {
+
+    private final SingleFlight<ReadKey, ResponseEntity<?>> flights = new SingleFlight<>();
+    private final TransactionTemplate readOnlyTransaction;
+    private final HalJsonWriter halJsonWriter;
+    private final boolean enabled;
+    private final Counter eventLoads;
+    private final Counter eventJoins;
+    private final Counter pageLoads;
+    private final Counter pageJoins;
+
+    public EventReadCoalescer(PlatformTransactionManager transactionManager, HalJsonWriter halJsonWriter,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.events.read-coalescing.enabled:true}") boolean enabled) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);      // Replica 로 라우팅
+        this.halJsonWriter = halJsonWriter;
+        this.enabled = enabled;
+        this.eventLoads = counter(meterRegistry, "events.read.loads", "event");
+        this.eventJoins = counter(meterRegistry, "events.read.joined", "event");
+        this.pageLoads = counter(meterRegistry, "events.read.loads", "page");
+        this.pageJoins = counter(meterRegistry, "events.read.joined", "page");
+    }
+
+    /**
+     * 이벤트 한 건 조회
+     */
+    public ResponseEntity<?> event(Integer id, Supplier<ResponseEntity<?>> loader) {
+        if (!coalescing()) {
+            return this.readOnlyTransaction.execute(status -> loader.get());
+        }
+        return read(new ReadKey(id, currentUrl()), loader, this.eventLoads, this.eventJoins);
+    }
+
+    /**
+     * 이벤트 목록 조회 (첫 페이지만 합친다 - 뒤 페이지는 같은 요청이 몰리는 경우가 드물다)
+     */
+    public ResponseEntity<?> page(int pageNumber, Supplier<ResponseEntity<?>> loader) {
+        if (pageNumber != 0 || !coalescing()) {
+            return this.readOnlyTransaction.execute(status -> loader.get());
+        }
+        return read(new ReadKey(null, currentUrl()), loader, this.pageLoads, this.pageJoins);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        Integer id = change.getEventId();
+        this.flights.forget(key -> key.eventId == null || key.eventId.equals(id));
+    }
+
+    @EventListener
+    public void onEventsReloaded(EventsReloaded reloaded) {
+        this.flights.forget(key -> true);
+    }
+
+    /**
+     * 요청 스레드가 아니거나 (워밍업) 이미 트랜잭션 안이면 (커밋 전 데이터를 다른 요청과 나누면 안 된다) 합치지 않는다.
+     */
+    private boolean coalescing() {
+        return this.enabled
+                && RequestContextHolder.getRequestAttributes() != null
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private ResponseEntity<?> read(ReadKey key, Supplier<ResponseEntity<?>> loader, Counter loads, Counter joins) {
+        return this.flights.execute(key, () -> {
+            loads.increment();
+            return serialize(this.readOnlyTransaction.execute(status -> loader.get()));
+        }, joins::increment);
+    }
+
+    /**
+     * 기다리던 요청들이 같은 바이트를 그대로 쓰도록 본문을 미리 HAL JSON 으로 바꿔 둔다.
+     */
+    private ResponseEntity<?> serialize(ResponseEntity<?> response) {
+        if (!response.hasBody()) {
+            return response;
+        }
+        try {
+            byte[] body = this.halJsonWriter.write(response.getBody());
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .contentType(MediaTypes.HAL_JSON)
+                    .body(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String currentUrl() {
+        return ServletUriComponentsBuilder.fromCurrentRequest().build().toUriString();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String read) {
+        return Counter.builder(name)
+                .description(name.endsWith("loads") ? "Reads that went to the database" : "Reads that shared another request's result")
+                .tag("read", read)
+                .register(meterRegistry);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class ReadKey {
+        private final Integer eventId;     // 목록 조회는 null
+        private final String url;
+    }
+}
@@ -1,7 +1,12 @@
 package com.junsang.restAPI.events;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
+import java.util.Collection;
 
+public interface EventRepository extends JpaRepository<Event, Integer>, EventFieldsRepository {
+
+    Page<Event> findAllByEventStatusIn(Collection<EventStatus> statuses, Pageable pageable);
 }
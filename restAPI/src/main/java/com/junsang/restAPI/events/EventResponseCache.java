@@ -0,0 +1,158 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.HalJsonWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 이벤트 조회 (GET /api/events/{id}) 응답 바이트 캐시
+ *
+ * - 링크까지 만든 HAL JSON 을 그대로 (gzip-min-size 이상이면 gzip 으로 압축한 것도) 이벤트 id 마다 하나 둔다.
+ * - 링크에 호스트가 들어가므로 다른 base URL 로 들어온 요청은 캐시를 쓰지 않는다.
+ * - 최대 max-entries 개를 LRU 로 보관한다. (넘으면 가장 오래 읽지 않은 응답을 버림)
+ * - 커밋된 EventChange 마다 그 이벤트의 버전을 올리고 지운다. 조회를 시작할 때의 버전이 그대로일 때만 저장되므로
+ *   조회 중에 커밋된 수정이 옛 응답으로 덮이지 않는다.
+ * - 버전도 최근 바뀐 max-entries 개만 둔다. 밀려난 버전은 하한 (versionFloor) 으로 접어서
+ *   그 전에 시작한 조회가 저장하지 못하게 한다. (캐시 적중이 한 번 줄 뿐 옛 응답이 남지 않음)
+ * - 적중한 요청은 EventResponseCacheInterceptor 가 컨트롤러 / 메시지 컨버터 없이 바로 쓴다.
+ */
+public class EventResponseCache {
+
+    private final HalJsonWriter halJsonWriter;
+    private final int gzipMinSize;
+    private final Object lock = new Object();
+    private final Map<Integer, CachedResponse> responses;      // lock 으로 보호 (읽은 순서)
+    private final Map<Integer, Long> versions;                 // lock 으로 보호 (바뀐 순서)
+    private long sequence;
+    private long versionFloor;          // 밀려난 버전 중 가장 큰 것 (기록이 없는 이벤트의 버전)
+    private long reloadedVersion;       // 테이블이 통째로 바뀐 시점의 버전 (모든 이벤트에 적용)
+    private final Counter hits;
+    private final Counter misses;
+
+    public EventResponseCache(HalJsonWriter halJsonWriter, MeterRegistry meterRegistry, int maxEntries, int gzipMinSize) {
+        this.halJsonWriter = halJsonWriter;
+        this.gzipMinSize = gzipMinSize;
+        this.responses = new LinkedHashMap<Integer, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.versions = new LinkedHashMap<Integer, Long>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                versionFloor = Math.max(versionFloor, eldest.getValue());
+                return true;
+            }
+        };
+        this.hits = Counter.builder("events.response-cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("events.response-cache.misses").register(meterRegistry);
+    }
+
+    /**
+     * 조회 전에 읽어 두고 store 에 넘긴다.
+     */
+    public long version(Integer id) {
+        synchronized (this.lock) {
+            return Math.max(this.versions.getOrDefault(id, this.versionFloor), this.reloadedVersion);
+        }
+    }
+
+    CachedResponse get(Integer id, String baseUrl) {
+        CachedResponse cached;
+        synchronized (this.lock) {
+            cached = this.responses.get(id);
+        }
+        if (cached == null || !cached.baseUrl.equals(baseUrl)) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        return cached;
+    }
+
+    /**
+     * 지금 요청의 응답 본문을 HAL JSON 으로 바꿔 저장하고 그 바이트를 돌려준다.
+     *
+     * @param version 조회를 시작하기 전에 읽은 version(id)
+     */
+    public byte[] store(Integer id, long version, Object body) throws IOException {
+        byte[] json = this.halJsonWriter.write(body);
+        CachedResponse cached = new CachedResponse(baseUrl(), json, json.length >= this.gzipMinSize ? gzip(json) : null);
+        synchronized (this.lock) {
+            // 조회하는 사이에 바뀌었으면 (변경 알림이 먼저 지나갔으면) 저장하지 않는다.
+            if (version(id) == version) {
+                this.responses.put(id, cached);
+            }
+        }
+        return json;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        Integer id = change.getEventId();
+        synchronized (this.lock) {
+            this.versions.remove(id);       // 바뀐 순서의 맨 뒤로
+            this.versions.put(id, ++this.sequence);
+            this.responses.remove(id);
+        }
+    }
+
+    @EventListener
+    public void onEventsReloaded(EventsReloaded reloaded) {
+        synchronized (this.lock) {
+            this.reloadedVersion = ++this.sequence;
+            this.versions.clear();      // 모두 reloadedVersion 보다 작다.
+            this.responses.clear();
+        }
+    }
+
+    int size() {
+        synchronized (this.lock) {
+            return this.responses.size();
+        }
+    }
+
+    int trackedVersions() {
+        synchronized (this.lock) {
+            return this.versions.size();
+        }
+    }
+
+    static String baseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        return compressed.toByteArray();
+    }
+
+    static class CachedResponse {
+
+        final String baseUrl;
+        final byte[] json;
+        final byte[] gzip;      // 작아서 압축하지 않았으면 null
+
+        CachedResponse(String baseUrl, byte[] json, byte[] gzip) {
+            this.baseUrl = baseUrl;
+            this.json = json;
+            this.gzip = gzip;
+        }
+    }
+}
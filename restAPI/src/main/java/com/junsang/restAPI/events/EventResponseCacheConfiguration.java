@@ -0,0 +1,47 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.HalJsonWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 이벤트 조회 응답 바이트 캐시 (app.events.response-cache.enabled=false 이면 끔)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.events.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class EventResponseCacheConfiguration implements WebMvcConfigurer {
+
+    private final HalJsonWriter halJsonWriter;
+    private final MeterRegistry meterRegistry;
+    private final int maxEntries;
+    private final int gzipMinSize;
+
+    public EventResponseCacheConfiguration(HalJsonWriter halJsonWriter, MeterRegistry meterRegistry,
+                                           @Value("${app.events.response-cache.max-entries:10000}") int maxEntries,
+                                           @Value("${app.events.response-cache.gzip-min-size:256}") int gzipMinSize) {
+        this.halJsonWriter = halJsonWriter;
+        this.meterRegistry = meterRegistry;
+        this.maxEntries = maxEntries;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    @Bean
+    public EventResponseCache eventResponseCache() {
+        return new EventResponseCache(this.halJsonWriter, this.meterRegistry, this.maxEntries, this.gzipMinSize);
+    }
+
+    /**
+     * 요청 수 제한 등 다른 인터셉터를 모두 지난 뒤에 적중 여부를 본다.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EventResponseCacheInterceptor(eventResponseCache()))
+                .addPathPatterns("/api/events/*")
+                .order(Integer.MAX_VALUE);
+    }
+}
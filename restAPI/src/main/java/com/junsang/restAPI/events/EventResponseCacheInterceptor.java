@@ -0,0 +1,103 @@
+package com.junsang.restAPI.events;
+
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Map;
+
+/**
+ * GET /api/events/{id} 캐시 적중이면 저장된 바이트를 응답에 바로 쓰고 컨트롤러를 건너뛴다.
+ *
+ * - Accept-Encoding 에 gzip 이 있고 압축본이 있으면 압축본을 쓴다. (Content-Encoding: gzip)
+ * - fields 파라미터가 있는 조회는 캐시하지 않는다.
+ */
+public class EventResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final EventResponseCache eventResponseCache;
+
+    public EventResponseCacheInterceptor(EventResponseCache eventResponseCache) {
+        this.eventResponseCache = eventResponseCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!"GET".equals(request.getMethod()) || request.getParameter("fields") != null
+                || !(handler instanceof HandlerMethod)
+                || !((HandlerMethod) handler).getMethod().getName().equals("getEvent")) {
+            return true;
+        }
+        Integer id = eventId(request);
+        if (id == null) {
+            return true;
+        }
+        EventResponseCache.CachedResponse cached = this.eventResponseCache.get(id,
+                ServletUriComponentsBuilder.fromContextPath(request).build().toUriString());
+        if (cached == null) {
+            return true;
+        }
+
+        boolean gzip = cached.gzip != null && acceptsGzip(request);
+        byte[] body = gzip ? cached.gzip : cached.json;
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaTypes.HAL_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Integer eventId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("id") == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(variables.get("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Accept-Encoding: gzip (q=0 이면 받지 않는 것, 읽을 수 없는 q 는 무시)
+     */
+    static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                    continue;
+                }
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=") && isZero(parameter.substring(2))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality.trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.junsang.restAPI.events;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * 특정 시점의 이벤트 값 (불변)
+ *
+ * - 변경 알림 (EventChange) 에 담겨 트랜잭션 밖으로 전달되므로 엔티티 대신 값만 복사해 둔다.
+ */
+@Value
+public class EventSnapshot {
+
+    Integer id;
+    String name;
+    String description;
+    LocalDateTime beginEnrollmentDateTime;
+    LocalDateTime closeEnrollmentDateTime;
+    LocalDateTime beginEventDateTime;
+    LocalDateTime endEventDateTime;
+    String location;
+    Double latitude;
+    Double longitude;
+    int basePrice;
+    int maxPrice;
+    int limitOfEnrollment;
+    boolean offline;
+    boolean free;
+    EventStatus eventStatus;
+    Integer managerId;
+
+    public static EventSnapshot of(Event event) {
+        return new EventSnapshot(event.getId(), event.getName(), event.getDescription(),
+                event.getBeginEnrollmentDateTime(), event.getCloseEnrollmentDateTime(),
+                event.getBeginEventDateTime(), event.getEndEventDateTime(),
+                event.getLocation(), event.getLatitude(), event.getLongitude(), event.getBasePrice(), event.getMaxPrice(), event.getLimitOfEnrollment(),
+                event.isOffline(), event.isFree(), event.getEventStatus(),
+                event.getManager() == null ? null : event.getManager().getId());
+    }
+}
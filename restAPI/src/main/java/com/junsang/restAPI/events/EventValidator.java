@@ -28,6 +28,11 @@ public class EventValidator {
             errors.rejectValue("endEventDateTime", "wrongValue", "endEventDateTime is wrong");
         }
 
+        // 좌표는 위도 / 경도를 함께 보내야 한다.
+        if ((eventDto.getLatitude() == null) != (eventDto.getLongitude() == null)) {
+            errors.reject("wrongCoordinates", "latitude and longitude must be given together");
+        }
+
         // TODO BeginEventDateTime
         // TODO CloseEnrollmentDateTime
     }
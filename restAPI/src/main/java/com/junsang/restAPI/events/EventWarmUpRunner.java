@@ -0,0 +1,176 @@
+package com.junsang.restAPI.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.common.HalJsonWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 직후 워밍업
+ *
+ * - 배포 직후 첫 요청들이 클래스 로딩, JIT 컴파일, Hibernate / Jackson 캐시 생성 비용을 떠안지 않도록
+ *   생성 / 목록 / 조회 / 검증 흐름을 실제 컨트롤러, 리포지토리, 메시지 컨버터로 미리 반복 실행한다.
+ * - 모든 작업은 rollback-only 트랜잭션 안에서 실행되므로 데이터가 남지 않는다.
+ * - ApplicationRunner 가 끝난 뒤에 스프링 부트가 ReadinessState.ACCEPTING_TRAFFIC 을 발행하므로,
+ *   워밍업이 끝나기 전에는 /actuator/health/readiness 가 준비되지 않은 상태로 응답한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class EventWarmUpRunner implements ApplicationRunner {
+
+    enum Phase {
+        CREATE, LIST, GET, VALIDATE
+    }
+
+    private final EventController eventController;
+    private final EventRepository eventRepository;
+    private final EventValidator eventValidator;
+    private final PagedResourcesAssembler<Event> pagedResourcesAssembler;
+    private final HalJsonWriter halJsonWriter;
+    private final ObjectMapper objectMapper;
+    private final SpringValidatorAdapter beanValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int iterations;
+
+    public EventWarmUpRunner(EventController eventController, EventRepository eventRepository, EventValidator eventValidator,
+                             PagedResourcesAssembler<Event> pagedResourcesAssembler, HalJsonWriter halJsonWriter,
+                             ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager,
+                             EntityManager entityManager, @Value("${app.warm-up.iterations:200}") int iterations) {
+        this.eventController = eventController;
+        this.eventRepository = eventRepository;
+        this.eventValidator = eventValidator;
+        this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.halJsonWriter = halJsonWriter;
+        this.objectMapper = objectMapper;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Map<Phase, Long> phaseNanos = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phaseNanos.put(phase, 0L);
+        }
+
+        long started = System.nanoTime();
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();   // 워밍업 데이터는 남기지 않는다.
+                for (int i = 0; i < this.iterations; i++) {
+                    warmUp(i, phaseNanos);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 워밍업 실패로 기동이 막히면 안 된다.
+            log.warn("Warm-up failed, continuing startup", e);
+        }
+
+        log.info("Warm-up finished in {} ms ({} iterations) : create={} ms, list={} ms, get={} ms, validate={} ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), this.iterations,
+                millis(phaseNanos, Phase.CREATE), millis(phaseNanos, Phase.LIST),
+                millis(phaseNanos, Phase.GET), millis(phaseNanos, Phase.VALIDATE));
+    }
+
+    private void warmUp(int index, Map<Phase, Long> phaseNanos) {
+        // 1. 생성 : 요청 JSON 역직렬화 -> 검증 -> 저장 -> HAL 직렬화
+        long started = System.nanoTime();
+        EventDto eventDto = read(write(validEventDto(index)));
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.beanValidator.validate(eventDto, errors);
+        ResponseEntity<?> created = this.eventController.createEvent(eventDto, errors);
+        write(created.getBody());
+        Integer id = ((EventResource) created.getBody()).getContent().getId();
+        this.entityManager.flush();
+        this.entityManager.clear();
+        started = record(phaseNanos, Phase.CREATE, started);
+
+        // 2. 목록 조회
+        Page<Event> page = this.eventRepository.findAll(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")));
+        write(this.pagedResourcesAssembler.toModel(page, EventResource::new, Link.of("/api/events")));
+        started = record(phaseNanos, Phase.LIST, started);
+
+        // 3. 상세 조회
+        write(this.eventController.getEvent(id, null).getBody());
+        started = record(phaseNanos, Phase.GET, started);
+
+        // 4. 잘못된 요청 검증 (에러 응답 직렬화 포함)
+        EventDto wrongEventDto = validEventDto(index);
+        wrongEventDto.setBasePrice(10000);
+        wrongEventDto.setMaxPrice(200);
+        wrongEventDto.setEndEventDateTime(wrongEventDto.getBeginEnrollmentDateTime().minusDays(1));
+        Errors wrongErrors = new BeanPropertyBindingResult(wrongEventDto, "eventDto");
+        this.eventValidator.validate(wrongEventDto, wrongErrors);
+        write(this.eventController.createEvent(wrongEventDto, wrongErrors).getBody());
+        record(phaseNanos, Phase.VALIDATE, started);
+    }
+
+    private EventDto validEventDto(int index) {
+        return EventDto.builder()
+                .name("warm-up " + index)
+                .description("warm-up event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location(index % 2 == 0 ? "강남역" : null)
+                .build();
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return body instanceof EventDto ? this.objectMapper.writeValueAsBytes(body) : this.halJsonWriter.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private EventDto read(byte[] json) {
+        try {
+            return this.objectMapper.readValue(json, EventDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long record(Map<Phase, Long> phaseNanos, Phase phase, long started) {
+        long now = System.nanoTime();
+        phaseNanos.merge(phase, now - started, Long::sum);
+        return now;
+    }
+
+    private static long millis(Map<Phase, Long> phaseNanos, Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(phaseNanos.get(phase));
+    }
+}
@@ -0,0 +1,41 @@
+package com.junsang.restAPI.events;
+
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 여러 이벤트 한 번에 조회 결과
+ *
+ * - _embedded.eventList : 찾은 이벤트 (요청한 id 순서)
+ * - missing : 없는 id (요청한 순서)
+ * - 내용을 받는 CollectionModel 생성자는 deprecated 이므로 getContent 를 직접 돌려준다. (HAL 직렬화는 그대로)
+ */
+public class EventsByIdResource extends CollectionModel<EntityModel<Event>> {
+
+    private final List<EntityModel<Event>> events;
+    private final List<Integer> missing;
+
+    public EventsByIdResource(List<EntityModel<Event>> events, List<Integer> missing) {
+        this.events = events;
+        this.missing = missing;
+    }
+
+    @Override
+    public Collection<EntityModel<Event>> getContent() {
+        return Collections.unmodifiableList(this.events);
+    }
+
+    @Override
+    public Iterator<EntityModel<Event>> iterator() {
+        return getContent().iterator();
+    }
+
+    public List<Integer> getMissing() {
+        return this.missing;
+    }
+}
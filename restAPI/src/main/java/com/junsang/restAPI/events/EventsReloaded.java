@@ -0,0 +1,15 @@
+package com.junsang.restAPI.events;
+
+import lombok.Value;
+
+/**
+ * 이벤트 테이블 전체 교체 알림 (ApplicationEvent)
+ *
+ * - 스냅샷 복원처럼 EventChange 없이 행이 바뀐 경우에 발행한다.
+ * - 메모리 인덱스 / 통계는 구독해서 DB 에서 다시 만든다.
+ */
+@Value
+public class EventsReloaded {
+
+    long events;
+}
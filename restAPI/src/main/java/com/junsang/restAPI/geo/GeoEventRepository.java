@@ -0,0 +1,23 @@
+package com.junsang.restAPI.geo;
+
+import com.junsang.restAPI.events.Event;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * 공간 인덱스 재구성용 좌표 조회 (이벤트 전체가 아니라 id 와 좌표만 가져온다)
+ */
+public interface GeoEventRepository extends Repository<Event, Integer> {
+
+    @Query("select e.id as id, e.latitude as latitude, e.longitude as longitude from Event e " +
+            "where e.offline = true and e.latitude is not null and e.longitude is not null")
+    List<Location> findOfflineLocations();
+
+    interface Location {
+        Integer getId();
+        Double getLatitude();
+        Double getLongitude();
+    }
+}
@@ -0,0 +1,152 @@
+package com.junsang.restAPI.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 위경도 격자 (grid) 공간 인덱스
+ *
+ * - 지구를 cellDegrees 크기의 칸으로 나누고 칸마다 들어 있는 이벤트 id 를 기억한다.
+ * - 반경 검색은 반경을 감싸는 칸들만 보고 (전체 이벤트를 훑지 않음) 실제 거리 (haversine) 로 거른다.
+ */
+public class GeoGridIndex {
+
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Set<Integer>> cells = new HashMap<>();
+    private final Map<Integer, double[]> points = new HashMap<>();
+
+    public GeoGridIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+    }
+
+    public void put(Integer id, double latitude, double longitude) {
+        this.lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            this.points.put(id, new double[]{latitude, longitude});
+            this.cells.computeIfAbsent(cellOf(latitude, longitude), key -> new HashSet<>()).add(id);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        this.lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.cells.clear();
+            this.points.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.points.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 반경 안의 이벤트를 가까운 순서로 돌려준다.
+     */
+    public List<GeoHit> within(double latitude, double longitude, double radiusMeters) {
+        double latDelta = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lngDelta = cosLat > 1e-9 ? Math.min(180, latDelta / cosLat) : 180;
+
+        int minRow = rowOf(Math.max(-90, latitude - latDelta));
+        int maxRow = rowOf(Math.min(90, latitude + latDelta));
+        int minColumn = columnOf(longitude - lngDelta);
+        int columnSpan = Math.min(this.columns - 1, (int) Math.ceil(2 * lngDelta / this.cellDegrees) + 1);
+
+        List<GeoHit> hits = new ArrayList<>();
+        this.lock.readLock().lock();
+        try {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int offset = 0; offset <= columnSpan; offset++) {
+                    // 날짜 변경선 (경도 ±180) 을 넘으면 반대편 칸으로 이어진다.
+                    int column = Math.floorMod(minColumn + offset, this.columns);
+                    Set<Integer> ids = this.cells.get(key(row, column));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Integer id : ids) {
+                        double[] point = this.points.get(id);
+                        double distance = distanceMeters(latitude, longitude, point[0], point[1]);
+                        if (distance <= radiusMeters) {
+                            hits.add(new GeoHit(id, distance));
+                        }
+                    }
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(GeoHit::getDistance).thenComparing(GeoHit::getId));
+        return hits;
+    }
+
+    static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void removeInternal(Integer id) {
+        double[] point = this.points.remove(id);
+        if (point == null) {
+            return;
+        }
+        long key = cellOf(point[0], point[1]);
+        Set<Integer> ids = this.cells.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            this.cells.remove(key);
+        }
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return key(rowOf(latitude), columnOf(longitude));
+    }
+
+    private int rowOf(double latitude) {
+        return Math.min(this.rows - 1, (int) Math.floor((latitude + 90) / this.cellDegrees));
+    }
+
+    private int columnOf(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / this.cellDegrees), this.columns);
+    }
+
+    private long key(int row, int column) {
+        return (long) row * this.columns + column;
+    }
+}
@@ -0,0 +1,13 @@
+package com.junsang.restAPI.geo;
+
+import lombok.Value;
+
+/**
+ * 반경 검색 결과 (이벤트 id, 기준점으로부터의 거리 m)
+ */
+@Value
+public class GeoHit {
+
+    Integer id;
+    double distance;
+}
@@ -0,0 +1,99 @@
+package com.junsang.restAPI.geo;
+
+import com.junsang.restAPI.common.ErrorResource;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.sharding.EventShards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Controller
+public class NearbyEventController {
+
+    private final NearbyEventService nearbyEventService;
+    private final EventRepository eventRepository;
+    private final EventShards eventShards;
+    private final double maxRadius;
+
+    public NearbyEventController(NearbyEventService nearbyEventService, EventRepository eventRepository,
+                                 EventShards eventShards,
+                                 @Value("${app.events.nearby.max-radius:100000}") double maxRadius) {
+        this.nearbyEventService = nearbyEventService;
+        this.eventRepository = eventRepository;
+        this.eventShards = eventShards;
+        this.maxRadius = maxRadius;
+    }
+
+    /**
+     * 주변 이벤트 조회 API
+     * - 좌표가 있는 오프라인 이벤트 중 (lat, lng) 에서 radius (m) 안에 있는 이벤트를 가까운 순서로 조회
+     * - 정렬은 항상 거리 순이며, 페이지에 들어가는 이벤트만 DB 에서 읽는다.
+     *
+     * @param lat       위도
+     * @param lng       경도
+     * @param radius    반경 (m)
+     * @param pageable  페이징 관련 파라미터 (page, size)
+     * @param assembler 페이지를 리소스로 바꿔 링크 정보 추출하기 위함
+     */
+    @Transactional(readOnly = true)     // Replica 로 라우팅
+    @GetMapping(value = "/api/events/nearby", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<?> queryNearbyEvents(@RequestParam double lat, @RequestParam double lng,
+                                               @RequestParam double radius,
+                                               Pageable pageable, PagedResourcesAssembler<Event> assembler) {
+
+        Errors errors = new MapBindingResult(new HashMap<>(), "nearby");
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            errors.reject("wrongCoordinates", "lat must be in [-90, 90] and lng in [-180, 180]");
+        }
+        if (radius <= 0 || radius > this.maxRadius) {
+            errors.reject("wrongRadius", "radius must be in (0, " + (long) this.maxRadius + "] meters");
+        }
+        if (errors.hasErrors()) {
+            return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+        }
+
+        Page<GeoHit> hits = this.nearbyEventService.search(lat, lng, radius, pageable);
+
+        // 현재 페이지의 이벤트만 읽어서 거리 순서대로 다시 정렬
+        List<Integer> ids = hits.getContent().stream().map(GeoHit::getId).collect(Collectors.toList());
+        Map<Integer, Event> events = this.eventShards.readByIds(ids, this.eventRepository::findAllById).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Map<Integer, Double> distances = new HashMap<>();
+        List<Event> content = new ArrayList<>();
+        for (GeoHit hit : hits) {
+            Event event = events.get(hit.getId());
+            if (event != null) {
+                content.add(event);
+                distances.put(hit.getId(), hit.getDistance());
+            }
+        }
+        Page<Event> page = new PageImpl<>(content, hits.getPageable(), hits.getTotalElements());
+
+        PagedModel<EntityModel<Event>> pageResource = assembler.toModel(page,
+                event -> new NearbyEventResource(event, distances.get(event.getId())));
+        pageResource.add(Link.of("/docs/index.html#resources-events-nearby").withRel("profile"));
+
+        return ResponseEntity.ok(pageResource);
+    }
+}
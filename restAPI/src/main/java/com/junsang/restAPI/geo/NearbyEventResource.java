@@ -0,0 +1,21 @@
+package com.junsang.restAPI.geo;
+
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventResource;
+
+/**
+ * 주변 이벤트 검색 결과 (이벤트 + 기준점으로부터의 거리 m)
+ */
+public class NearbyEventResource extends EventResource {
+
+    private final double distance;
+
+    public NearbyEventResource(Event event, double distance) {
+        super(event);
+        this.distance = distance;
+    }
+
+    public double getDistance() {
+        return this.distance;
+    }
+}
@@ -0,0 +1,91 @@
+package com.junsang.restAPI.geo;
+
+import com.junsang.restAPI.events.EventChange;
+import com.junsang.restAPI.events.EventsReloaded;
+import com.junsang.restAPI.events.EventSnapshot;
+import com.junsang.restAPI.sharding.EventShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 주변 오프라인 이벤트 검색
+ *
+ * - 좌표가 있는 오프라인 이벤트만 GeoGridIndex 에 넣는다.
+ * - 기동 시 DB 에서 좌표를 읽어 인덱스를 만들고, 이후에는 커밋된 EventChange 로 갱신한다.
+ */
+@Slf4j
+@Service
+public class NearbyEventService implements ApplicationRunner {
+
+    private final GeoEventRepository geoEventRepository;
+    private final EventShards eventShards;
+    private final GeoGridIndex index;
+
+    public NearbyEventService(GeoEventRepository geoEventRepository, EventShards eventShards,
+                              @Value("${app.events.nearby.cell-degrees:0.05}") double cellDegrees) {
+        this.geoEventRepository = geoEventRepository;
+        this.eventShards = eventShards;
+        this.index = new GeoGridIndex(cellDegrees);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<GeoEventRepository.Location> locations = new ArrayList<>();
+        this.eventShards.readEach(shard -> this.geoEventRepository.findOfflineLocations()).forEach(locations::addAll);
+        this.index.clear();
+        for (GeoEventRepository.Location location : locations) {
+            this.index.put(location.getId(), location.getLatitude(), location.getLongitude());
+        }
+        log.info("Geo index rebuilt in {} ms ({} events)", System.currentTimeMillis() - started, locations.size());
+    }
+
+    /**
+     * 반경 (m) 안의 이벤트를 가까운 순서로 페이지 단위로 돌려준다. (pageable 의 sort 는 무시)
+     */
+    public Page<GeoHit> search(double latitude, double longitude, double radiusMeters, Pageable pageable) {
+        List<GeoHit> hits = this.index.within(latitude, longitude, radiusMeters);
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<GeoHit> content = from < to ? hits.subList(from, to) : Collections.emptyList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    /**
+     * 스냅샷 복원 등으로 테이블이 통째로 바뀐 경우
+     */
+    @EventListener
+    public void onEventsReloaded(EventsReloaded reloaded) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        EventSnapshot after = change.getAfter();
+        if (after != null && isIndexed(after)) {
+            this.index.put(after.getId(), after.getLatitude(), after.getLongitude());
+        } else {
+            this.index.remove(change.getEventId());
+        }
+    }
+
+    private static boolean isIndexed(EventSnapshot event) {
+        return event.isOffline() && event.getLatitude() != null && event.getLongitude() != null;
+    }
+}
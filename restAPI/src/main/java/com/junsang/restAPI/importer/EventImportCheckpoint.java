@@ -0,0 +1,35 @@
+package com.junsang.restAPI.importer;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 가져오기 진행 위치 (청크별)
+ *
+ * - 이벤트 배치와 같은 트랜잭션에서 갱신되므로, 실패 후 다시 실행하면 커밋된 줄 다음부터 이어서 읽는다.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@Entity
+public class EventImportCheckpoint {
+
+    @Id
+    private String id;          // {importId}:{chunk}
+    private String importId;
+    private int chunk;
+    private long position;      // 다음에 읽을 줄의 파일 내 위치
+    private boolean completed;
+    private long imported;
+    private long rejected;
+
+    public EventImportCheckpoint(String importId, int chunk, long position) {
+        this.id = importId + ":" + chunk;
+        this.importId = importId;
+        this.chunk = chunk;
+        this.position = position;
+    }
+}
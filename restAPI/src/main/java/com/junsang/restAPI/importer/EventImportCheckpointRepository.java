@@ -0,0 +1,10 @@
+package com.junsang.restAPI.importer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EventImportCheckpointRepository extends JpaRepository<EventImportCheckpoint, String> {
+
+    List<EventImportCheckpoint> findByImportId(String importId);
+}
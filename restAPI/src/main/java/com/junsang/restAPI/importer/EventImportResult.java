@@ -0,0 +1,20 @@
+package com.junsang.restAPI.importer;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * 가져오기 결과 (이번 실행 + 이전 실행에서 이어 받은 청크 포함)
+ */
+@Value
+public class EventImportResult {
+
+    String importId;
+    long imported;
+    long rejected;
+    int chunks;
+    int resumedChunks;
+    Path rejectedReport;
+    long elapsedMillis;
+}
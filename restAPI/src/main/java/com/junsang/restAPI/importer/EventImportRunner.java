@@ -0,0 +1,52 @@
+package com.junsang.restAPI.importer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+
+/**
+ * 명령행 가져오기
+ *
+ * ex) java -jar restAPI.jar --app.events.import.file=/data/events.csv
+ * - 가져오기가 끝나면 종료한다. (app.events.import.exit-when-done=false 이면 서버를 계속 띄워 둔다)
+ * - 실패하면 기동이 실패하고, 같은 명령을 다시 실행하면 체크포인트부터 이어서 가져온다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)       // 인덱스 / 통계 재구성이 끝난 뒤에
+@ConditionalOnProperty("app.events.import.file")
+public class EventImportRunner implements ApplicationRunner {
+
+    private final EventImportService eventImportService;
+    private final ConfigurableApplicationContext context;
+    private final String file;
+    private final boolean exitWhenDone;
+
+    public EventImportRunner(EventImportService eventImportService, ConfigurableApplicationContext context,
+                             @Value("${app.events.import.file}") String file,
+                             @Value("${app.events.import.exit-when-done:true}") boolean exitWhenDone) {
+        this.eventImportService = eventImportService;
+        this.context = context;
+        this.file = file;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        EventImportResult result = this.eventImportService.importFile(Paths.get(this.file));
+        log.info("Imported {} events, rejected {} rows (report : {})",
+                result.getImported(), result.getRejected(), result.getRejectedReport());
+        if (this.exitWhenDone) {
+            System.exit(SpringApplication.exit(this.context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.junsang.restAPI.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventDto;
+import com.junsang.restAPI.events.EventValidator;
+import com.junsang.restAPI.sharding.EventShards;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * CSV / NDJSON 이벤트 대량 가져오기
+ *
+ * - 파일을 chunk-size 단위 (줄 경계에 맞춤) 로 나눠 청크마다 메모리 매핑 (FileChannel.map) 해서 병렬로 읽는다.
+ * - 줄마다 EventDto 로 바꾼 뒤 Bean Validation + EventValidator 로 검증하고, batch-size 줄마다 한 트랜잭션으로 저장한다.
+ * - 청크별 진행 위치 (EventImportCheckpoint) 를 이벤트와 같은 트랜잭션에서 저장하므로,
+ *   실패 후 같은 파일로 다시 실행하면 커밋된 곳 다음부터 이어서 가져온다. (중복 저장 없음)
+ * - 거절된 줄은 {파일}.rejected.ndjson 에 위치 (offset), 에러, 원본 줄과 함께 남긴다.
+ * - 한 번에 메모리에 올리는 것은 스레드별 배치 하나뿐이라 파일 크기와 관계없이 메모리 사용량이 일정하다.
+ * - 샤딩 중에는 가져오지 않는다. (모두 shard 0 에 저장되어 id 로 shard 를 찾을 수 없게 된다)
+ */
+@Slf4j
+@Service
+public class EventImportService {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader eventDtoReader;
+    private final ModelMapper modelMapper;
+    private final EventValidator eventValidator;
+    private final SpringValidatorAdapter beanValidator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EventImportCheckpointRepository checkpointRepository;
+    private final EventShards eventShards;
+    private final long chunkSize;
+    private final int batchSize;
+    private final int threads;
+
+    public EventImportService(ObjectMapper objectMapper, ModelMapper modelMapper, EventValidator eventValidator,
+                              Validator validator, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              EventImportCheckpointRepository checkpointRepository, EventShards eventShards,
+                              @Value("${app.events.import.chunk-size:32MB}") DataSize chunkSize,
+                              @Value("${app.events.import.batch-size:500}") int batchSize,
+                              @Value("${app.events.import.threads:0}") int threads) {
+        this.objectMapper = objectMapper;
+        this.eventDtoReader = objectMapper.readerFor(EventDto.class);
+        this.modelMapper = modelMapper;
+        this.eventValidator = eventValidator;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointRepository = checkpointRepository;
+        this.eventShards = eventShards;
+        this.chunkSize = chunkSize.toBytes();
+        this.batchSize = batchSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public EventImportResult importFile(Path file) throws IOException {
+        if (this.eventShards.count() > 1) {
+            throw new IllegalStateException("Event import is not supported with " + this.eventShards.count() + " event shards");
+        }
+        long started = System.currentTimeMillis();
+        ImportFormat format = ImportFormat.of(file);
+        String importId = importIdOf(file);
+        Path report = file.resolveSibling(file.getFileName() + ".rejected.ndjson");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             RejectedRowWriter rejectedRows = new RejectedRowWriter(report)) {
+            long size = channel.size();
+
+            // CSV 는 첫 줄이 헤더
+            long dataStart = 0;
+            String[] columns = null;
+            if (format == ImportFormat.CSV) {
+                dataStart = lineEnd(channel, 0);
+                columns = CsvLineParser.parse(stripLineEnd(readString(channel, 0, dataStart)))
+                        .stream().map(String::trim).toArray(String[]::new);
+            }
+
+            List<long[]> chunks = split(channel, dataStart, size);
+            Map<Integer, EventImportCheckpoint> checkpoints = this.checkpointRepository.findByImportId(importId).stream()
+                    .collect(Collectors.toMap(EventImportCheckpoint::getChunk, Function.identity()));
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            int resumed = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                EventImportCheckpoint checkpoint = checkpoints.get(i);
+                if (checkpoint != null && checkpoint.isCompleted()) {
+                    continue;
+                }
+                if (checkpoint != null) {
+                    resumed++;
+                }
+                ChunkReader reader = new ChunkReader(channel, format, columns, importId, i, chunks.get(i), checkpoint,
+                        rejectedRows);
+                tasks.add(() -> {
+                    reader.run();
+                    return null;
+                });
+            }
+            log.info("Importing {} ({} bytes, {} chunks, {} to go, {} resumed) with {} threads",
+                    file, size, chunks.size(), tasks.size(), resumed, this.threads);
+            runAll(tasks);
+
+            long imported = 0;
+            long rejected = 0;
+            for (EventImportCheckpoint checkpoint : this.checkpointRepository.findByImportId(importId)) {
+                imported += checkpoint.getImported();
+                rejected += checkpoint.getRejected();
+            }
+            EventImportResult result = new EventImportResult(importId, imported, rejected, chunks.size(), resumed,
+                    report, System.currentTimeMillis() - started);
+            log.info("Import of {} finished : {}", file, result);
+            return result;
+        }
+    }
+
+    private void runAll(List<Callable<Void>> tasks) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(this.threads,
+                new CustomizableThreadFactory("event-import-"));
+        try {
+            List<Future<Void>> futures = executor.invokeAll(tasks);
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            // 커밋된 배치까지는 체크포인트에 남아 있으므로 다시 실행하면 이어서 가져온다.
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Import failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 청크 하나 읽기 (메모리 매핑 구간 하나)
+     */
+    private class ChunkReader {
+
+        private final FileChannel channel;
+        private final ImportFormat format;
+        private final String[] columns;
+        private final int chunk;
+        private final long end;
+        private final RejectedRowWriter rejectedRows;
+        private final EventImportCheckpoint checkpoint;
+
+        private final List<Event> events = new ArrayList<>();
+        private final List<Map<String, Object>> rejected = new ArrayList<>();
+        private byte[] line = new byte[1024];
+
+        ChunkReader(FileChannel channel, ImportFormat format, String[] columns, String importId, int chunk,
+                    long[] range, EventImportCheckpoint checkpoint, RejectedRowWriter rejectedRows) {
+            this.channel = channel;
+            this.format = format;
+            this.columns = columns;
+            this.chunk = chunk;
+            this.end = range[1];
+            this.rejectedRows = rejectedRows;
+            this.checkpoint = checkpoint != null ? checkpoint : new EventImportCheckpoint(importId, chunk, range[0]);
+        }
+
+        void run() throws IOException {
+            long start = this.checkpoint.getPosition();
+            if (start < this.end) {
+                MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, start, this.end - start);
+                while (buffer.hasRemaining()) {
+                    long offset = start + buffer.position();
+                    int length = readLine(buffer);
+                    if (length > 0) {
+                        process(offset, new String(this.line, 0, length, StandardCharsets.UTF_8));
+                    }
+                    if (this.events.size() + this.rejected.size() >= batchSize) {
+                        commit(start + buffer.position(), false);
+                    }
+                }
+            }
+            commit(this.end, true);
+        }
+
+        private int readLine(MappedByteBuffer buffer) {
+            int length = 0;
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == NEW_LINE) {
+                    break;
+                }
+                if (length == this.line.length) {
+                    this.line = Arrays.copyOf(this.line, length * 2);
+                }
+                this.line[length++] = b;
+            }
+            if (length > 0 && this.line[length - 1] == '\r') {
+                length--;
+            }
+            return length;
+        }
+
+        private void process(long offset, String row) {
+            EventDto eventDto;
+            try {
+                eventDto = parse(row);
+            } catch (IOException | IllegalArgumentException e) {
+                reject(offset, row, "wrongRow: " + e.getMessage());
+                return;
+            }
+
+            Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+            beanValidator.validate(eventDto, errors);
+            if (!errors.hasErrors()) {
+                eventValidator.validate(eventDto, errors);
+            }
+            if (errors.hasErrors()) {
+                reject(offset, row, errors.getAllErrors().stream()
+                        .map(ObjectError::getDefaultMessage)
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+
+            Event event = modelMapper.map(eventDto, Event.class);
+            event.update();
+            this.events.add(event);
+        }
+
+        private EventDto parse(String row) throws IOException {
+            if (this.format == ImportFormat.NDJSON) {
+                return eventDtoReader.readValue(row);
+            }
+            List<String> values = CsvLineParser.parse(row);
+            if (values.size() != this.columns.length) {
+                throw new IllegalArgumentException("expected " + this.columns.length + " columns but was " + values.size());
+            }
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int i = 0; i < this.columns.length; i++) {
+                if (!values.get(i).isEmpty()) {     // 빈 칸은 값 없음 (optional 필드)
+                    fields.put(this.columns[i], values.get(i));
+                }
+            }
+            return objectMapper.convertValue(fields, EventDto.class);
+        }
+
+        private void reject(long offset, String row, String error) {
+            Map<String, Object> rejectedRow = new LinkedHashMap<>();
+            rejectedRow.put("offset", offset);
+            rejectedRow.put("error", error);
+            rejectedRow.put("row", row);
+            this.rejected.add(rejectedRow);
+        }
+
+        private void commit(long position, boolean completed) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Event event : this.events) {
+                    entityManager.persist(event);
+                }
+                this.checkpoint.setPosition(position);
+                this.checkpoint.setCompleted(completed);
+                this.checkpoint.setImported(this.checkpoint.getImported() + this.events.size());
+                this.checkpoint.setRejected(this.checkpoint.getRejected() + this.rejected.size());
+                entityManager.merge(this.checkpoint);
+            });
+            this.rejectedRows.write(this.rejected);
+            this.events.clear();
+            this.rejected.clear();
+        }
+    }
+
+    /**
+     * start 부터 chunk-size 씩 나누되, 청크 끝은 줄 경계 (\n 다음) 에 맞춘다.
+     */
+    private List<long[]> split(FileChannel channel, long start, long size) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        while (start < size) {
+            long end = start + this.chunkSize >= size ? size : lineEnd(channel, start + this.chunkSize - 1);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * position 부터 찾은 첫 \n 의 다음 위치 (없으면 파일 끝)
+     */
+    private static long lineEnd(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long size = channel.size();
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == NEW_LINE) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static String readString(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) > 0) {
+            // 끝까지 읽는다.
+        }
+        String value = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        return value.startsWith("\uFEFF") ? value.substring(1) : value;     // UTF-8 BOM
+    }
+
+    private static String stripLineEnd(String line) {
+        int length = line.length();
+        while (length > 0 && (line.charAt(length - 1) == '\n' || line.charAt(length - 1) == '\r')) {
+            length--;
+        }
+        return line.substring(0, length);
+    }
+
+    /**
+     * 같은 파일 (경로, 크기, 수정 시간) 이면 같은 id - 다시 실행하면 체크포인트를 이어 받는다.
+     */
+    private static String importIdOf(Path file) throws IOException {
+        String key = file.toAbsolutePath().normalize() + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis();
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * 거절된 줄 기록 (NDJSON, 여러 청크 스레드가 함께 쓴다)
+     */
+    private class RejectedRowWriter implements Closeable {
+
+        private final Path report;
+        private BufferedWriter writer;      // 거절된 줄이 있을 때 연다.
+
+        RejectedRowWriter(Path report) {
+            this.report = report;
+        }
+
+        synchronized void write(List<Map<String, Object>> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                if (this.writer == null) {
+                    this.writer = Files.newBufferedWriter(this.report, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (Map<String, Object> row : rows) {
+                    this.writer.write(objectMapper.writeValueAsString(row));
+                    this.writer.newLine();
+                }
+                this.writer.flush();
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (this.writer != null) {
+                this.writer.close();
+            }
+        }
+    }
+}
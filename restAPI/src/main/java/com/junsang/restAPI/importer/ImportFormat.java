@@ -0,0 +1,25 @@
+package com.junsang.restAPI.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 가져오기 파일 형식 (확장자로 구분)
+ *
+ * - CSV : 첫 줄은 EventDto 필드 이름 헤더, 한 줄에 한 이벤트 (따옴표 안 줄바꿈은 지원하지 않음)
+ * - NDJSON : 한 줄에 EventDto JSON 하나 (.ndjson, .jsonl)
+ */
+public enum ImportFormat {
+    CSV, NDJSON;
+
+    public static ImportFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import file (expected .csv, .ndjson or .jsonl): " + file);
+    }
+}
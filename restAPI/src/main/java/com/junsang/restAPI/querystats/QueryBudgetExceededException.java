@@ -0,0 +1,21 @@
+package com.junsang.restAPI.querystats;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 엔드포인트의 SQL 예산을 넘음 (app.query-stats.enforce-budgets=true 인 경우에만)
+ */
+@Getter
+public class QueryBudgetExceededException extends RuntimeException {
+
+    private final String endpoint;
+    private final int budget;
+
+    public QueryBudgetExceededException(String endpoint, int budget, List<String> statements) {
+        super(endpoint + " exceeded its query budget of " + budget + " statements :\n" + String.join("\n", statements));
+        this.endpoint = endpoint;
+        this.budget = budget;
+    }
+}
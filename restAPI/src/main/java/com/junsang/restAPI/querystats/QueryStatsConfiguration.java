@@ -0,0 +1,63 @@
+package com.junsang.restAPI.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 요청별 Hibernate SQL 통계 (app.query-stats.enabled=false 이면 끔)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(QueryStatsProperties.class)
+public class QueryStatsConfiguration implements WebMvcConfigurer {
+
+    private final QueryStatsProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public QueryStatsConfiguration(QueryStatsProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryStatsStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryStatsSessionListener.class.getName());
+        };
+    }
+
+    /**
+     * 엔티티 로드 / 컬렉션 초기화 리스너는 SessionFactory 가 만들어진 뒤에 등록한다.
+     */
+    @EventListener
+    public void registerEventListeners(ApplicationStartedEvent event) {
+        EntityManagerFactory entityManagerFactory = event.getApplicationContext().getBean(EntityManagerFactory.class);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        QueryStatsEventListener listener = new QueryStatsEventListener();
+        registry.appendListeners(EventType.POST_LOAD, listener);
+        registry.appendListeners(EventType.INIT_COLLECTION, listener);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryStatsInterceptor(this.properties, this.meterRegistry.getObject()))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,29 @@
+package com.junsang.restAPI.querystats;
+
+import org.hibernate.HibernateException;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * 엔티티 로드 / 컬렉션 초기화 횟수를 현재 요청의 통계에 더한다. (2차 캐시에서 읽은 경우 포함)
+ */
+public class QueryStatsEventListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.entityLoad();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.collectionFetch();
+        }
+    }
+}
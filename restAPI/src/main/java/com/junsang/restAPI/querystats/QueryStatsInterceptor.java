@@ -0,0 +1,101 @@
+package com.junsang.restAPI.querystats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 요청마다 Hibernate SQL 통계를 모아 메트릭으로 남기고, 느린 요청은 SQL 과 함께 로그로 남긴다.
+ *
+ * - 엔드포인트는 핸들러 메소드 이름 (ex. getEvent) 으로 구분한다. (메트릭 태그 endpoint)
+ * - 비동기 요청 (SSE 스트림 등) 은 핸들러가 반환될 때까지만 센다.
+ */
+@Slf4j
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STATS = QueryStatsInterceptor.class.getName() + ".STATS";
+
+    private final QueryStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryStatsInterceptor(QueryStatsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String endpoint = ((HandlerMethod) handler).getMethod().getName();
+        Integer budget = this.properties.getBudgets().get(endpoint);
+        request.setAttribute(STATS, RequestQueryStats.begin(endpoint, budget == null ? -1 : budget,
+                this.properties.isEnforceBudgets(), this.properties.getMaxLoggedStatements()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request);
+    }
+
+    private void finish(HttpServletRequest request) {
+        RequestQueryStats stats = (RequestQueryStats) request.getAttribute(STATS);
+        if (stats == null) {
+            return;
+        }
+        request.removeAttribute(STATS);
+        stats.end();
+        record(stats);
+
+        long jdbcMillis = TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos());
+        boolean slow = stats.getStatements() > this.properties.getSlowStatements()
+                || jdbcMillis > this.properties.getSlowJdbcTime().toMillis();
+        if (slow || stats.isOverBudget()) {
+            log.warn("{} {} ({}) : {} statements{}, {} entity loads, {} collection fetches, jdbc {} ms, flush {} ms\n{}",
+                    request.getMethod(), request.getRequestURI(), stats.getEndpoint(), stats.getStatements(),
+                    stats.isOverBudget() ? " (budget " + stats.getBudget() + ")" : "",
+                    stats.getEntityLoads(), stats.getCollectionFetches(), jdbcMillis,
+                    TimeUnit.NANOSECONDS.toMillis(stats.getFlushNanos()), String.join("\n", stats.getSql()));
+        }
+    }
+
+    private void record(RequestQueryStats stats) {
+        String endpoint = stats.getEndpoint();
+        summary("hibernate.request.statements", "SQL statements per request", endpoint).record(stats.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", endpoint).record(stats.getEntityLoads());
+        summary("hibernate.request.collection.fetches", "Collections initialized per request", endpoint)
+                .record(stats.getCollectionFetches());
+        Timer.builder("hibernate.request.jdbc.time").description("JDBC execution time per request")
+                .tag("endpoint", endpoint).register(this.meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("hibernate.request.flush.time").description("Flush time per request")
+                .tag("endpoint", endpoint).register(this.meterRegistry)
+                .record(stats.getFlushNanos(), TimeUnit.NANOSECONDS);
+        if (stats.isOverBudget()) {
+            Counter.builder("hibernate.request.over.budget").description("Requests over their query budget")
+                    .tag("endpoint", endpoint).register(this.meterRegistry)
+                    .increment();
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String endpoint) {
+        return DistributionSummary.builder(name).description(description)
+                .tag("endpoint", endpoint).register(this.meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.junsang.restAPI.querystats;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청별 SQL 통계 설정 (app.query-stats.*)
+ *
+ * - budgets.{핸들러 메소드 이름} : 한 요청에서 실행해도 되는 SQL 수 (ex. app.query-stats.budgets.getEvent=3)
+ * - enforce-budgets=true 이면 예산을 넘는 SQL 을 실행하려는 순간 QueryBudgetExceededException (테스트용)
+ *   false 이면 넘은 요청을 로그와 메트릭으로만 남긴다.
+ */
+@Getter @Setter
+@ConfigurationProperties("app.query-stats")
+public class QueryStatsProperties {
+
+    private boolean enabled = true;
+
+    // 둘 중 하나라도 넘으면 SQL 과 함께 WARN 로그
+    private int slowStatements = 20;
+    private Duration slowJdbcTime = Duration.ofMillis(200);
+
+    // 로그에 남길 SQL 최대 개수 (요청당)
+    private int maxLoggedStatements = 50;
+
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    private boolean enforceBudgets;
+}
@@ -0,0 +1,54 @@
+package com.junsang.restAPI.querystats;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * 세션의 JDBC 실행 / flush 시간을 현재 요청의 통계에 더한다.
+ *
+ * - hibernate.session.events.auto 로 세션마다 새로 만들어진다. (public 기본 생성자 필요)
+ */
+public class QueryStatsSessionListener extends BaseSessionEventListener {
+
+    private long jdbcStarted;
+    private long flushStarted;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        this.jdbcStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addJdbcTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        this.jdbcStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addJdbcTime();
+    }
+
+    @Override
+    public void flushStart() {
+        this.flushStarted = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.flush(System.nanoTime() - this.flushStarted);
+        }
+    }
+
+    private void addJdbcTime() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.jdbc(System.nanoTime() - this.jdbcStarted);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.junsang.restAPI.querystats;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 준비하는 SQL 을 현재 요청의 통계에 기록 (SQL 은 바꾸지 않는다)
+ */
+public class QueryStatsStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,117 @@
+package com.junsang.restAPI.querystats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 한 요청 동안의 Hibernate SQL 통계
+ *
+ * - 요청 스레드에 묶인다. (begin ~ end) 다른 스레드 (일괄 커밋 writer 등) 에서 실행된 SQL 은 세지 않는다.
+ * - Hibernate 리스너 (QueryStatsStatementInspector, QueryStatsSessionListener, QueryStatsEventListener) 가 채운다.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final int budget;               // 없으면 -1
+    private final boolean enforceBudget;
+    private final int maxLoggedStatements;
+
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private long jdbcNanos;
+    private long flushNanos;
+    private final List<String> sql = new ArrayList<>();
+
+    private RequestQueryStats(String endpoint, int budget, boolean enforceBudget, int maxLoggedStatements) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.enforceBudget = enforceBudget;
+        this.maxLoggedStatements = maxLoggedStatements;
+    }
+
+    public static RequestQueryStats begin(String endpoint, int budget, boolean enforceBudget, int maxLoggedStatements) {
+        RequestQueryStats stats = new RequestQueryStats(endpoint, budget, enforceBudget, maxLoggedStatements);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return 요청 밖이면 null
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public RequestQueryStats end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        return this;
+    }
+
+    void statement(String statement) {
+        this.statements++;
+        if (this.sql.size() < this.maxLoggedStatements) {
+            this.sql.add(statement);
+        }
+        if (this.enforceBudget && isOverBudget()) {
+            throw new QueryBudgetExceededException(this.endpoint, this.budget, this.sql);
+        }
+    }
+
+    void entityLoad() {
+        this.entityLoads++;
+    }
+
+    void collectionFetch() {
+        this.collectionFetches++;
+    }
+
+    void jdbc(long nanos) {
+        this.jdbcNanos += nanos;
+    }
+
+    void flush(long nanos) {
+        this.flushNanos += nanos;
+    }
+
+    public boolean isOverBudget() {
+        return this.budget >= 0 && this.statements > this.budget;
+    }
+
+    public String getEndpoint() {
+        return this.endpoint;
+    }
+
+    public int getBudget() {
+        return this.budget;
+    }
+
+    public int getStatements() {
+        return this.statements;
+    }
+
+    public int getEntityLoads() {
+        return this.entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return this.collectionFetches;
+    }
+
+    public long getJdbcNanos() {
+        return this.jdbcNanos;
+    }
+
+    public long getFlushNanos() {
+        return this.flushNanos;
+    }
+
+    public List<String> getSql() {
+        return Collections.unmodifiableList(this.sql);
+    }
+}
@@ -0,0 +1,81 @@
+package com.junsang.restAPI.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동시 처리 중인 요청 수 제한
+ *
+ * - 한계를 넘으면 대기열에 쌓지 않고 바로 거절한다. (Tomcat / DB 커넥션 풀 대기 시간이 길어지는 것을 막음)
+ * - targetLatency 가 있으면 한계를 응답 시간에 맞춰 조절한다. (AIMD)
+ *   응답이 targetLatency 보다 느리면 한계를 10% 줄이고 (targetLatency 마다 한번),
+ *   빠르면서 한계의 절반 이상을 쓰고 있으면 1 늘린다. (minInFlight ~ maxInFlight)
+ *   DB 커넥션 풀이 포화되면 대기 시간 만큼 응답이 느려지므로 함께 줄어든다.
+ */
+public class LoadShedder {
+
+    private final int minInFlight;
+    private final int maxInFlight;
+    private final long targetLatencyNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param targetLatency null 이면 maxInFlight 로 고정
+     */
+    public LoadShedder(int minInFlight, int maxInFlight, Duration targetLatency) {
+        this.minInFlight = Math.max(1, Math.min(minInFlight, maxInFlight));
+        this.maxInFlight = maxInFlight;
+        this.targetLatencyNanos = targetLatency == null ? 0 : targetLatency.toNanos();
+        this.limit = new AtomicInteger(maxInFlight);
+    }
+
+    public boolean tryAcquire() {
+        if (this.maxInFlight <= 0) {
+            return true;
+        }
+        if (this.inFlight.incrementAndGet() > this.limit.get()) {
+            this.inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param latencyNanos 요청 처리에 걸린 시간
+     */
+    public void release(long latencyNanos) {
+        if (this.maxInFlight <= 0) {
+            return;
+        }
+        int previous = this.inFlight.getAndDecrement();
+        if (this.targetLatencyNanos <= 0) {
+            return;
+        }
+
+        if (latencyNanos > this.targetLatencyNanos) {
+            decrease();
+        } else if (previous * 2 >= this.limit.get()) {
+            this.limit.accumulateAndGet(this.maxInFlight, (current, max) -> Math.min(current + 1, max));
+        }
+    }
+
+    private void decrease() {
+        long now = System.nanoTime();
+        long last = this.lastDecreaseNanos.get();
+        if (now - last < this.targetLatencyNanos || !this.lastDecreaseNanos.compareAndSet(last, now)) {
+            return;     // 같은 혼잡을 보고 들어온 다른 응답들 때문에 여러 번 줄이지 않는다.
+        }
+        this.limit.accumulateAndGet(this.minInFlight, (current, min) -> Math.max(min, current - Math.max(1, current / 10)));
+    }
+
+    public int inFlight() {
+        return this.inFlight.get();
+    }
+
+    public int limit() {
+        return this.limit.get();
+    }
+}
@@ -0,0 +1,37 @@
+package com.junsang.restAPI.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    private final RateLimitProperties properties;
+
+    public RateLimitConfiguration(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        return new RateLimiter(this.properties);
+    }
+
+    @Bean
+    public LoadShedder loadShedder() {
+        return new LoadShedder(this.properties.getMinInFlight(), this.properties.getMaxInFlight(),
+                this.properties.getTargetLatency());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter(), loadShedder(), this.properties))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,120 @@
+package com.junsang.restAPI.ratelimit;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * API 요청 제한 (429) 및 과부하 차단 (503)
+ *
+ * - 엔드포인트는 핸들러 메소드 이름 (ex. queryEvents) 으로 구분한다.
+ * - 로그인 사용자는 username, 익명 사용자는 IP 주소 기준으로 제한한다.
+ *   신뢰하는 프록시를 거친 요청은 client-address-header 에서 프록시가 아닌 가장 가까운 주소를 쓴다.
+ * - 비동기 요청 (SSE 스트림 등) 은 핸들러가 반환되면 처리 중 요청에서 뺀다. (유휴 연결이 자리를 차지하지 않음)
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String IN_FLIGHT = RateLimitInterceptor.class.getName() + ".IN_FLIGHT";
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final String clientAddressHeader;
+    private final Pattern trustedProxies;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, LoadShedder loadShedder, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.clientAddressHeader = properties.getClientAddressHeader();
+        this.trustedProxies = Pattern.compile(properties.getTrustedProxies());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        // 1. 주체별 요청 제한
+        String endpoint = ((HandlerMethod) handler).getMethod().getName();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        TokenBucket bucket = isAuthenticated(authentication)
+                ? this.rateLimiter.bucket(endpoint, authentication.getName(), roles(authentication))
+                : this.rateLimiter.bucket(endpoint, clientAddress(request), Collections.emptyList());
+        if (bucket != null && !bucket.tryAcquire()) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNextPermit() + 999_999_999));
+            throw new TooManyRequestsException(endpoint, retryAfter);
+        }
+
+        // 2. 과부하 차단
+        if (!this.loadShedder.tryAcquire()) {
+            throw new ServerOverloadedException();
+        }
+        request.setAttribute(IN_FLIGHT, System.nanoTime());     // 처리 시작 시각 (한계 조절용 응답 시간)
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        Object startedNanos = request.getAttribute(IN_FLIGHT);
+        if (startedNanos != null) {
+            request.removeAttribute(IN_FLIGHT);
+            this.loadShedder.release(System.nanoTime() - (Long) startedNanos);
+        }
+    }
+
+    String clientAddress(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!StringUtils.hasText(this.clientAddressHeader) || !this.trustedProxies.matcher(remoteAddr).matches()) {
+            return remoteAddr;
+        }
+        String forwarded = request.getHeader(this.clientAddressHeader);
+        if (!StringUtils.hasText(forwarded)) {
+            return remoteAddr;
+        }
+
+        // 오른쪽이 가까운 프록시가 붙인 주소이다. (왼쪽은 클라이언트가 마음대로 넣을 수 있음)
+        String[] hops = StringUtils.tokenizeToStringArray(forwarded, ",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            if (!this.trustedProxies.matcher(hops[i]).matches()) {
+                return hops[i];
+            }
+        }
+        return hops.length > 0 ? hops[0] : remoteAddr;
+    }
+
+    private static boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getPrincipal());
+    }
+
+    private static List<String> roles(Authentication authentication) {
+        List<String> roles = new ArrayList<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            roles.add(name.startsWith(ROLE_PREFIX) ? name.substring(ROLE_PREFIX.length()) : name);
+        }
+        return roles;
+    }
+}
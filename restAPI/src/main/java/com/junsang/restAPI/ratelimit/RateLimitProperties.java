@@ -0,0 +1,55 @@
+package com.junsang.restAPI.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 제한 설정 (app.rate-limit.*)
+ *
+ * - endpoints.{핸들러 메소드 이름}.{AccountRole 이름 | default}.permits-per-second / burst
+ *   ex) app.rate-limit.endpoints.queryEvents.USER.permits-per-second=20
+ * - 엔드포인트 설정이 없으면 defaults 를, defaults 도 없으면 제한하지 않는다.
+ */
+@Getter @Setter
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+
+    public static final String DEFAULT_ROLE = "default";
+
+    private boolean enabled = true;
+
+    private Limit defaults;
+
+    private Map<String, Map<String, Limit>> endpoints = new HashMap<>();
+
+    // 동시에 처리 중인 API 요청(DB 작업)이 이 값을 넘으면 바로 503 (0 이면 사용 안 함)
+    private int maxInFlight;
+
+    // 응답 시간이 이 값을 넘으면 동시 요청 한계를 줄이고, 빠르면 maxInFlight 까지 늘린다 (없으면 maxInFlight 로 고정)
+    private Duration targetLatency;
+
+    // 줄일 수 있는 동시 요청 한계의 최소값
+    private int minInFlight = 8;
+
+    // 주체별 버킷 최대 개수 (넘으면 가장 오래 쓰지 않은 버킷을 버림)
+    private int maxBuckets = 100_000;
+
+    // 익명 사용자 주소를 담은 프록시 헤더 (ex. X-Forwarded-For, 없으면 접속 주소 사용)
+    private String clientAddressHeader;
+
+    // 위 헤더를 믿을 프록시 주소 (정규식, 기본값은 Tomcat RemoteIpValve 의 내부망 주소)
+    private String trustedProxies = "10\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}|192\\.168\\.\\d{1,3}\\.\\d{1,3}"
+            + "|169\\.254\\.\\d{1,3}\\.\\d{1,3}|127\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}"
+            + "|172\\.(1[6-9]|2[0-9]|3[0-1])\\.\\d{1,3}\\.\\d{1,3}|0:0:0:0:0:0:0:1|::1";
+
+    @Getter @Setter
+    public static class Limit {
+        private double permitsPerSecond;
+        private int burst = 1;
+    }
+}
@@ -0,0 +1,94 @@
+package com.junsang.restAPI.ratelimit;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 주체(사용자 / IP) + 엔드포인트 + 제한 등급 별 토큰 버킷
+ *
+ * - 이미 있는 버킷은 락 없이 조회한다. (ConcurrentHashMap.get)
+ * - 버킷이 maxBuckets 를 넘으면 한 스레드만 정리한다. (나머지 요청은 기다리지 않음, 크기는 대략적으로만 지킨다)
+ *   가득 찬 (한동안 쓰지 않은) 버킷은 새 버킷과 같으므로 먼저 버리고,
+ *   그래도 많으면 3/4 까지 아무 버킷이나 버린다. (버려진 주체는 새 버킷으로 다시 시작)
+ * - 권한이 바뀌면 제한 등급이 달라지므로 새 버킷을 쓴다. (이전 등급의 버킷은 가득 차면 정리됨)
+ */
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return 제한이 없으면 null
+     */
+    public TokenBucket bucket(String endpoint, String principal, Collection<String> roles) {
+        RateLimitProperties.Limit limit = limitOf(endpoint, roles);
+        if (limit == null) {
+            return null;
+        }
+
+        String key = endpoint + '|' + limit.getPermitsPerSecond() + '/' + limit.getBurst() + '|' + principal;
+        TokenBucket bucket = this.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        bucket = this.buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst()));
+        if (this.buckets.size() > this.properties.getMaxBuckets()) {
+            evict();
+        }
+        return bucket;
+    }
+
+    private void evict() {
+        if (!this.evicting.compareAndSet(false, true)) {
+            return;     // 다른 요청이 정리 중
+        }
+        try {
+            long now = System.nanoTime();
+            this.buckets.values().removeIf(bucket -> bucket.isFull(now));
+
+            int lowWaterMark = this.properties.getMaxBuckets() - this.properties.getMaxBuckets() / 4;
+            Iterator<TokenBucket> iterator = this.buckets.values().iterator();
+            while (this.buckets.size() > lowWaterMark && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            this.evicting.set(false);
+        }
+    }
+
+    /**
+     * 사용자가 가진 권한 중 가장 넉넉한 제한을 사용한다.
+     */
+    RateLimitProperties.Limit limitOf(String endpoint, Collection<String> roles) {
+        Map<String, RateLimitProperties.Limit> endpointLimits = this.properties.getEndpoints().get(endpoint);
+        if (endpointLimits == null) {
+            return this.properties.getDefaults();
+        }
+
+        RateLimitProperties.Limit selected = null;
+        for (String role : roles) {
+            RateLimitProperties.Limit limit = endpointLimits.get(role);
+            if (limit != null && (selected == null || limit.getPermitsPerSecond() > selected.getPermitsPerSecond())) {
+                selected = limit;
+            }
+        }
+        if (selected == null) {
+            selected = endpointLimits.getOrDefault(RateLimitProperties.DEFAULT_ROLE, this.properties.getDefaults());
+        }
+        return selected;
+    }
+
+    int size() {
+        return this.buckets.size();
+    }
+}
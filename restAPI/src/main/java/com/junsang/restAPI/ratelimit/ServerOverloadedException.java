@@ -0,0 +1,8 @@
+package com.junsang.restAPI.ratelimit;
+
+public class ServerOverloadedException extends RuntimeException {
+
+    public ServerOverloadedException() {
+        super("Server is overloaded, try again later");
+    }
+}
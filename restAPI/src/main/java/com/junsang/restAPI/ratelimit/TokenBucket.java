@@ -0,0 +1,68 @@
+package com.junsang.restAPI.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free 토큰 버킷 (GCRA : Generic Cell Rate Algorithm)
+ *
+ * - 남은 토큰 수 대신 "다음 토큰이 이론상 도착하는 시각(TAT)" 하나만 AtomicLong 으로 관리한다.
+ * - 토큰 하나를 쓰면 TAT 가 emissionInterval 만큼 미래로 밀리고,
+ *   TAT 가 현재 보다 burst 만큼 이상 앞서 있으면 버킷이 빈 것이다.
+ * - 락 없이 CAS 한번으로 처리하므로 여러 코어에서 동시에 호출해도 확장된다.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * @param permitsPerSecond 초당 충전되는 토큰 수
+     * @param burst            버킷 크기 (한번에 쓸 수 있는 최대 토큰 수)
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System.nanoTime());
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = this.emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        for (;;) {
+            long tat = this.theoreticalArrivalTime.get();
+            if (tat - nowNanos > this.burstToleranceNanos) {
+                return false;   // 버킷이 비었음
+            }
+            long newTat = Math.max(tat, nowNanos) + this.emissionIntervalNanos;
+            if (this.theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 다음 토큰을 얻을 수 있을 때 까지 남은 시간 (Retry-After)
+     */
+    public long nanosUntilNextPermit() {
+        long wait = this.theoreticalArrivalTime.get() - this.burstToleranceNanos - System.nanoTime();
+        return Math.max(0, wait);
+    }
+
+    /**
+     * 버킷이 가득 차 있는지 (한동안 사용되지 않은 버킷)
+     */
+    boolean isFull(long nowNanos) {
+        return this.theoreticalArrivalTime.get() - nowNanos <= 0;
+    }
+}
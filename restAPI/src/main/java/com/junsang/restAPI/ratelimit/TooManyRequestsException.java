@@ -0,0 +1,16 @@
+package com.junsang.restAPI.ratelimit;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final String endpoint;
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String endpoint, long retryAfterSeconds) {
+        super("Rate limit exceeded for " + endpoint);
+        this.endpoint = endpoint;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
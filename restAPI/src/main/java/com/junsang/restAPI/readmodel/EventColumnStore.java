@@ -0,0 +1,463 @@
+package com.junsang.restAPI.readmodel;
+
+import com.junsang.restAPI.accounts.Account;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventFields;
+import com.junsang.restAPI.events.EventSnapshot;
+import com.junsang.restAPI.events.EventStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * 이벤트 열 저장소 (행 = 배열 위치)
+ *
+ * - id / 가격 / 인원은 int[], 일시는 epoch 초 long[] (UTC 기준, 초 미만은 버린다), 상태는 ordinal byte[]
+ * - 문자열은 StringTable 번호, manager 는 Account id (계정은 따로 한 벌만 둔다)
+ * - 삭제는 마지막 행을 그 자리로 옮긴다. (행 순서는 의미 없음)
+ * - 쓰기는 EventReadModel 의 스레드 하나, 읽기는 요청 스레드들 (ReadWriteLock)
+ */
+class EventColumnStore {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final EventStatus[] STATUSES = EventStatus.values();
+    private static final int OFFLINE = 1;
+    private static final int FREE = 2;
+    private static final int ALL = -1;      // 상태 조건 없음 (상태가 없는 행 포함)
+
+    /**
+     * DB 는 상태를 이름 (EnumType.STRING) 으로 정렬하므로 ordinal -> 이름 순위
+     */
+    private static final int[] STATUS_RANK = new int[STATUSES.length];
+
+    static {
+        EventStatus[] byName = STATUSES.clone();
+        Arrays.sort(byName, Comparator.comparing(EventStatus::name));
+        for (int rank = 0; rank < byName.length; rank++) {
+            STATUS_RANK[byName[rank].ordinal()] = rank;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringTable strings = new StringTable();
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+    private final Map<Integer, Account> managers = new HashMap<>();
+
+    private int size;
+    private int[] id;
+    private int[] name;
+    private int[] description;
+    private int[] location;
+    private long[] beginEnrollment;
+    private long[] closeEnrollment;
+    private long[] beginEvent;
+    private long[] endEvent;
+    private double[] latitude;      // 없으면 NaN
+    private double[] longitude;
+    private int[] basePrice;
+    private int[] maxPrice;
+    private int[] limitOfEnrollment;
+    private byte[] status;
+    private byte[] flags;           // OFFLINE | FREE
+    private int[] manager;          // 없으면 0
+
+    EventColumnStore() {
+        allocate(1024);
+    }
+
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 추가 또는 덮어쓰기 (manager 가 null 이면 이미 알고 있는 계정을 그대로 쓴다)
+     */
+    void put(EventSnapshot event, Account manager) {
+        this.lock.writeLock().lock();
+        try {
+            Integer row = this.rowById.get(event.getId());
+            if (row == null) {
+                if (this.size == this.id.length) {
+                    allocate(this.size + (this.size >> 1));
+                }
+                row = this.size++;
+                this.rowById.put(event.getId(), row);
+            }
+            int r = row;
+            this.id[r] = event.getId();
+            this.name[r] = this.strings.intern(event.getName());
+            this.description[r] = this.strings.intern(event.getDescription());
+            this.location[r] = this.strings.intern(event.getLocation());
+            this.beginEnrollment[r] = seconds(event.getBeginEnrollmentDateTime());
+            this.closeEnrollment[r] = seconds(event.getCloseEnrollmentDateTime());
+            this.beginEvent[r] = seconds(event.getBeginEventDateTime());
+            this.endEvent[r] = seconds(event.getEndEventDateTime());
+            this.latitude[r] = event.getLatitude() == null ? Double.NaN : event.getLatitude();
+            this.longitude[r] = event.getLongitude() == null ? Double.NaN : event.getLongitude();
+            this.basePrice[r] = event.getBasePrice();
+            this.maxPrice[r] = event.getMaxPrice();
+            this.limitOfEnrollment[r] = event.getLimitOfEnrollment();
+            this.status[r] = (byte) (event.getEventStatus() == null ? -1 : event.getEventStatus().ordinal());
+            this.flags[r] = (byte) ((event.isOffline() ? OFFLINE : 0) | (event.isFree() ? FREE : 0));
+            this.manager[r] = event.getManagerId() == null ? 0 : event.getManagerId();
+            if (manager != null) {
+                this.managers.put(manager.getId(), manager);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Integer eventId) {
+        this.lock.writeLock().lock();
+        try {
+            Integer row = this.rowById.remove(eventId);
+            if (row == null) {
+                return;
+            }
+            int last = --this.size;
+            if (row != last) {
+                move(last, row);
+                this.rowById.put(this.id[row], row);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 정렬할 수 없는 속성이 있으면 (ex. manager) null - 호출한 쪽에서 DB 로 읽는다.
+     */
+    Page<Event> findAll(Collection<EventStatus> statuses, Pageable pageable) {
+        return page(statuses, pageable, this::event);
+    }
+
+    Page<EventFields> findAllFields(List<String> fields, Collection<EventStatus> statuses, Pageable pageable) {
+        return page(statuses, pageable, row -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, value(row, field));
+            }
+            return new EventFields(values);
+        });
+    }
+
+    private <T> Page<T> page(Collection<EventStatus> statuses, Pageable pageable, IntFunction<T> mapper) {
+        RowComparator comparator = comparator(pageable.getSort());
+        if (comparator == null) {
+            return null;
+        }
+        this.lock.readLock().lock();
+        try {
+            int statusMask = statusMask(statuses);
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? (int) Math.min(offset + pageable.getPageSize(), this.size) : this.size;
+
+            // 페이지 끝까지의 행 (offset + size 개) 만 힙으로 골라 정렬한다.
+            RowHeap top = new RowHeap(limit, comparator);
+            int matched = 0;
+            for (int row = 0; row < this.size; row++) {
+                if (statusMask == ALL || this.status[row] >= 0 && (statusMask & (1 << this.status[row])) != 0) {
+                    matched++;
+                    top.offer(row);
+                }
+            }
+            int[] sorted = top.sort();
+
+            List<T> content = new ArrayList<>(Math.max(sorted.length - (int) Math.min(offset, sorted.length), 0));
+            for (int i = (int) Math.min(offset, sorted.length); i < sorted.length; i++) {
+                content.add(mapper.apply(sorted[i]));
+            }
+            return new PageImpl<>(content, pageable, matched);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static int statusMask(Collection<EventStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return ALL;
+        }
+        int mask = 0;
+        for (EventStatus status : statuses) {
+            mask |= 1 << status.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * 정렬 기준 (없으면 id 순서, 값이 없는 행은 앞쪽 - DB 와 같게)
+     */
+    private RowComparator comparator(Sort sort) {
+        RowComparator comparator = null;
+        for (Sort.Order order : sort) {
+            RowComparator property = property(order.getProperty());
+            if (property == null) {
+                return null;
+            }
+            RowComparator directed = order.isAscending() ? property : (a, b) -> property.compare(b, a);
+            comparator = comparator == null ? directed : comparator.then(directed);
+        }
+        RowComparator byId = (a, b) -> Integer.compare(this.id[a], this.id[b]);
+        return comparator == null ? byId : comparator.then(byId);
+    }
+
+    private RowComparator property(String property) {
+        switch (property) {
+            case "id": return (a, b) -> Integer.compare(this.id[a], this.id[b]);
+            case "name": return strings(this.name);
+            case "description": return strings(this.description);
+            case "location": return strings(this.location);
+            case "beginEnrollmentDateTime": return times(this.beginEnrollment);
+            case "closeEnrollmentDateTime": return times(this.closeEnrollment);
+            case "beginEventDateTime": return times(this.beginEvent);
+            case "endEventDateTime": return times(this.endEvent);
+            case "latitude": return doubles(this.latitude);
+            case "longitude": return doubles(this.longitude);
+            case "basePrice": return (a, b) -> Integer.compare(this.basePrice[a], this.basePrice[b]);
+            case "maxPrice": return (a, b) -> Integer.compare(this.maxPrice[a], this.maxPrice[b]);
+            case "limitOfEnrollment": return (a, b) -> Integer.compare(this.limitOfEnrollment[a], this.limitOfEnrollment[b]);
+            case "offline": return flag(OFFLINE);
+            case "free": return flag(FREE);
+            case "eventStatus": return (a, b) -> Integer.compare(statusRank(this.status[a]), statusRank(this.status[b]));
+            default: return null;
+        }
+    }
+
+    private RowComparator strings(int[] column) {
+        return (a, b) -> {
+            String left = this.strings.get(column[a]);
+            String right = this.strings.get(column[b]);
+            if (left == null || right == null) {
+                return left == null ? (right == null ? 0 : -1) : 1;
+            }
+            return left.compareTo(right);
+        };
+    }
+
+    private static RowComparator times(long[] column) {
+        return (a, b) -> Long.compare(column[a], column[b]);     // NO_TIME 이 가장 작다
+    }
+
+    private static RowComparator doubles(double[] column) {
+        return (a, b) -> {
+            boolean leftNull = Double.isNaN(column[a]);
+            boolean rightNull = Double.isNaN(column[b]);
+            if (leftNull || rightNull) {
+                return leftNull ? (rightNull ? 0 : -1) : 1;
+            }
+            return Double.compare(column[a], column[b]);
+        };
+    }
+
+    private static int statusRank(byte ordinal) {
+        return ordinal < 0 ? -1 : STATUS_RANK[ordinal];
+    }
+
+    private RowComparator flag(int flag) {
+        return (a, b) -> Integer.compare(this.flags[a] & flag, this.flags[b] & flag);
+    }
+
+    private Event event(int row) {
+        return Event.builder()
+                .id(this.id[row])
+                .name(this.strings.get(this.name[row]))
+                .description(this.strings.get(this.description[row]))
+                .beginEnrollmentDateTime(time(this.beginEnrollment[row]))
+                .closeEnrollmentDateTime(time(this.closeEnrollment[row]))
+                .beginEventDateTime(time(this.beginEvent[row]))
+                .endEventDateTime(time(this.endEvent[row]))
+                .location(this.strings.get(this.location[row]))
+                .latitude(nullable(this.latitude[row]))
+                .longitude(nullable(this.longitude[row]))
+                .basePrice(this.basePrice[row])
+                .maxPrice(this.maxPrice[row])
+                .limitOfEnrollment(this.limitOfEnrollment[row])
+                .offline((this.flags[row] & OFFLINE) != 0)
+                .free((this.flags[row] & FREE) != 0)
+                .eventStatus(status(this.status[row]))
+                .manager(this.manager[row] == 0 ? null : this.managers.get(this.manager[row]))
+                .build();
+    }
+
+    private Object value(int row, String field) {
+        switch (field) {
+            case "id": return this.id[row];
+            case "name": return this.strings.get(this.name[row]);
+            case "description": return this.strings.get(this.description[row]);
+            case "beginEnrollmentDateTime": return time(this.beginEnrollment[row]);
+            case "closeEnrollmentDateTime": return time(this.closeEnrollment[row]);
+            case "beginEventDateTime": return time(this.beginEvent[row]);
+            case "endEventDateTime": return time(this.endEvent[row]);
+            case "location": return this.strings.get(this.location[row]);
+            case "latitude": return nullable(this.latitude[row]);
+            case "longitude": return nullable(this.longitude[row]);
+            case "basePrice": return this.basePrice[row];
+            case "maxPrice": return this.maxPrice[row];
+            case "limitOfEnrollment": return this.limitOfEnrollment[row];
+            case "offline": return (this.flags[row] & OFFLINE) != 0;
+            case "free": return (this.flags[row] & FREE) != 0;
+            case "eventStatus": return status(this.status[row]);
+            default: throw new IllegalArgumentException("Unknown field " + field);
+        }
+    }
+
+    private void move(int from, int to) {
+        this.id[to] = this.id[from];
+        this.name[to] = this.name[from];
+        this.description[to] = this.description[from];
+        this.location[to] = this.location[from];
+        this.beginEnrollment[to] = this.beginEnrollment[from];
+        this.closeEnrollment[to] = this.closeEnrollment[from];
+        this.beginEvent[to] = this.beginEvent[from];
+        this.endEvent[to] = this.endEvent[from];
+        this.latitude[to] = this.latitude[from];
+        this.longitude[to] = this.longitude[from];
+        this.basePrice[to] = this.basePrice[from];
+        this.maxPrice[to] = this.maxPrice[from];
+        this.limitOfEnrollment[to] = this.limitOfEnrollment[from];
+        this.status[to] = this.status[from];
+        this.flags[to] = this.flags[from];
+        this.manager[to] = this.manager[from];
+    }
+
+    private void allocate(int capacity) {
+        this.id = this.id == null ? new int[capacity] : Arrays.copyOf(this.id, capacity);
+        this.name = this.name == null ? new int[capacity] : Arrays.copyOf(this.name, capacity);
+        this.description = this.description == null ? new int[capacity] : Arrays.copyOf(this.description, capacity);
+        this.location = this.location == null ? new int[capacity] : Arrays.copyOf(this.location, capacity);
+        this.beginEnrollment = this.beginEnrollment == null ? new long[capacity] : Arrays.copyOf(this.beginEnrollment, capacity);
+        this.closeEnrollment = this.closeEnrollment == null ? new long[capacity] : Arrays.copyOf(this.closeEnrollment, capacity);
+        this.beginEvent = this.beginEvent == null ? new long[capacity] : Arrays.copyOf(this.beginEvent, capacity);
+        this.endEvent = this.endEvent == null ? new long[capacity] : Arrays.copyOf(this.endEvent, capacity);
+        this.latitude = this.latitude == null ? new double[capacity] : Arrays.copyOf(this.latitude, capacity);
+        this.longitude = this.longitude == null ? new double[capacity] : Arrays.copyOf(this.longitude, capacity);
+        this.basePrice = this.basePrice == null ? new int[capacity] : Arrays.copyOf(this.basePrice, capacity);
+        this.maxPrice = this.maxPrice == null ? new int[capacity] : Arrays.copyOf(this.maxPrice, capacity);
+        this.limitOfEnrollment = this.limitOfEnrollment == null ? new int[capacity] : Arrays.copyOf(this.limitOfEnrollment, capacity);
+        this.status = this.status == null ? new byte[capacity] : Arrays.copyOf(this.status, capacity);
+        this.flags = this.flags == null ? new byte[capacity] : Arrays.copyOf(this.flags, capacity);
+        this.manager = this.manager == null ? new int[capacity] : Arrays.copyOf(this.manager, capacity);
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime time(long seconds) {
+        return seconds == NO_TIME ? null : LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    private static EventStatus status(byte ordinal) {
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    private static Double nullable(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * 정렬 순서로 앞쪽 limit 개 행만 남기는 힙 (루트가 남긴 행 중 가장 뒤쪽)
+     */
+    private static class RowHeap {
+
+        private final int[] rows;
+        private final RowComparator comparator;
+        private int size;
+
+        RowHeap(int limit, RowComparator comparator) {
+            this.rows = new int[limit];
+            this.comparator = comparator;
+        }
+
+        void offer(int row) {
+            if (this.size < this.rows.length) {
+                this.rows[this.size] = row;
+                siftUp(this.size++);
+            } else if (this.size > 0 && this.comparator.compare(row, this.rows[0]) < 0) {
+                this.rows[0] = row;
+                siftDown(0, this.size);
+            }
+        }
+
+        /**
+         * @return 남긴 행을 정렬 순서로 (힙 정렬, 힙은 더 쓰지 않는다)
+         */
+        int[] sort() {
+            for (int end = this.size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return this.size == this.rows.length ? this.rows : Arrays.copyOf(this.rows, this.size);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (this.comparator.compare(this.rows[i], this.rows[parent]) <= 0) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int size) {
+            for (;;) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && this.comparator.compare(this.rows[left], this.rows[largest]) > 0) {
+                    largest = left;
+                }
+                if (right < size && this.comparator.compare(this.rows[right], this.rows[largest]) > 0) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = this.rows[a];
+            this.rows[a] = this.rows[b];
+            this.rows[b] = row;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+
+        int compare(int a, int b);
+
+        default RowComparator then(RowComparator next) {
+            return (a, b) -> {
+                int result = compare(a, b);
+                return result != 0 ? result : next.compare(a, b);
+            };
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.junsang.restAPI.readmodel;
+
+import com.junsang.restAPI.accounts.Account;
+import com.junsang.restAPI.accounts.AccountRepository;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventChange;
+import com.junsang.restAPI.events.EventFields;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventSnapshot;
+import com.junsang.restAPI.events.EventStatus;
+import com.junsang.restAPI.events.EventsReloaded;
+import com.junsang.restAPI.sharding.EventShards;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이벤트 목록 읽기 모델 (CQRS) - GET /api/events 를 JPA 없이 메모리 열 저장소 (EventColumnStore) 에서 답한다.
+ *
+ * - 커밋된 EventChange 를 큐 (변경 스트림) 에 넣고, 스레드 하나가 순서대로 반영한다. (쓰기 요청은 기다리지 않는다)
+ * - 다시 만들기 (rebuild) 도 같은 큐로 들어가므로 그 전에 들어온 변경은 먼저, 뒤에 들어온 변경은 새 저장소에 반영된다.
+ * - 반영되지 않은 변경 수 / 가장 오래 기다린 시간이 DB 와의 지연이다. (events.read-model.lag.*)
+ * - 결과적 일관성 : 방금 저장한 이벤트가 목록에 바로 보이지 않을 수 있다.
+ * - 다시 만들기가 실패하면 rebuild-backoff-millis 부터 두 배씩 (최대 rebuild-max-backoff-millis) 기다렸다가 다시 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.read-model.enabled", havingValue = "true")
+public class EventReadModel implements ApplicationRunner, DisposableBean {
+
+    private static final Object REBUILD = new Object();
+
+    private final EventRepository eventRepository;
+    private final AccountRepository accountRepository;
+    private final EventShards eventShards;
+    private final EntityManager entityManager;
+    private final int rebuildPageSize;
+    private final long rebuildBackoffMillis;
+    private final long rebuildMaxBackoffMillis;
+    private final BlockingQueue<Pending> changes = new LinkedBlockingQueue<>();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final Thread applier;
+
+    private volatile EventColumnStore store = new EventColumnStore();
+    private volatile boolean ready;
+    private volatile long lastRebuildMillis;
+    private int failedRebuilds;     // applier 스레드에서만 사용
+
+    public EventReadModel(EventRepository eventRepository, AccountRepository accountRepository, EventShards eventShards,
+                          EntityManager entityManager, MeterRegistry meterRegistry,
+                          @Value("${app.events.read-model.rebuild-page-size:1000}") int rebuildPageSize,
+                          @Value("${app.events.read-model.rebuild-backoff-millis:1000}") long rebuildBackoffMillis,
+                          @Value("${app.events.read-model.rebuild-max-backoff-millis:60000}") long rebuildMaxBackoffMillis) {
+        this.eventRepository = eventRepository;
+        this.accountRepository = accountRepository;
+        this.eventShards = eventShards;
+        this.entityManager = entityManager;
+        this.rebuildPageSize = rebuildPageSize;
+        this.rebuildBackoffMillis = rebuildBackoffMillis;
+        this.rebuildMaxBackoffMillis = rebuildMaxBackoffMillis;
+
+        this.applier = new Thread(this::applyChanges, "event-read-model");
+        this.applier.setDaemon(true);
+        this.applier.start();
+
+        Gauge.builder("events.read-model.lag.changes", this, model -> model.status().getPendingChanges())
+                .description("Committed event changes not yet applied to the read model")
+                .register(meterRegistry);
+        Gauge.builder("events.read-model.lag.millis", this, model -> model.status().getLagMillis())
+                .description("Age of the oldest change not yet applied to the read model")
+                .register(meterRegistry);
+        Gauge.builder("events.read-model.rows", this, model -> model.store.size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    /**
+     * DB 에서 전부 다시 읽는다. (큐에 넣고 바로 돌아온다 - 다 만들 때까지 기존 저장소로 답한다)
+     */
+    public void rebuild() {
+        enqueue(REBUILD);
+    }
+
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    public EventReadModelStatus status() {
+        Pending oldest = this.changes.peek();
+        return new EventReadModelStatus(this.ready, this.store.size(),
+                this.enqueued.get() - this.applied.get(),
+                oldest == null ? 0 : System.currentTimeMillis() - oldest.enqueuedAt,
+                this.lastRebuildMillis);
+    }
+
+    /**
+     * 지금까지 들어온 변경이 모두 반영될 때까지 기다린다.
+     *
+     * @return 시간 안에 반영되었으면 true
+     */
+    public boolean awaitApplied(long timeoutMillis) throws InterruptedException {
+        long target = this.enqueued.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (this.applied) {
+            while (this.applied.get() < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                this.applied.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 이벤트 목록 (준비 전이거나 정렬할 수 없는 속성이면 null)
+     */
+    public Page<Event> findAll(Collection<EventStatus> statuses, Pageable pageable) {
+        return this.ready ? this.store.findAll(statuses, pageable) : null;
+    }
+
+    /**
+     * 일부 필드만 담은 이벤트 목록 (준비 전이거나 정렬할 수 없는 속성이면 null)
+     */
+    public Page<EventFields> findAllFields(List<String> fields, Collection<EventStatus> statuses, Pageable pageable) {
+        return this.ready ? this.store.findAllFields(fields, statuses, pageable) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        enqueue(change);
+    }
+
+    /**
+     * 스냅샷 복원 등으로 테이블이 통째로 바뀐 경우
+     */
+    @EventListener
+    public void onEventsReloaded(EventsReloaded reloaded) {
+        rebuild();
+    }
+
+    private void enqueue(Object change) {
+        this.enqueued.incrementAndGet();
+        this.changes.add(new Pending(change, System.currentTimeMillis()));
+    }
+
+    private void applyChanges() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Pending pending;
+            try {
+                pending = this.changes.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                if (pending.change == REBUILD) {
+                    load();
+                    this.failedRebuilds = 0;
+                } else {
+                    apply((EventChange) pending.change);
+                }
+            } catch (RuntimeException e) {
+                // 반영하지 못한 변경이 있으면 DB 에서 다시 만들 때까지 쓰지 않는다.
+                log.warn("Failed to apply {} to the event read model, rebuilding", pending.change, e);
+                this.ready = false;
+                if (pending.change != REBUILD || backOff()) {
+                    rebuild();
+                }
+            } finally {
+                synchronized (this.applied) {
+                    this.applied.incrementAndGet();
+                    this.applied.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * 연속으로 실패한 다시 만들기 횟수만큼 늘려 기다린다. (DB 장애 동안 쉬지 않고 전체를 읽지 않도록)
+     *
+     * @return 종료 중이면 false
+     */
+    private boolean backOff() {
+        this.failedRebuilds++;
+        long delay = this.rebuildBackoffMillis << Math.min(this.failedRebuilds - 1, 20);
+        try {
+            Thread.sleep(Math.min(delay, this.rebuildMaxBackoffMillis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void apply(EventChange change) {
+        EventSnapshot after = change.getAfter();
+        if (after == null) {
+            this.store.remove(change.getEventId());
+            return;
+        }
+        // 계정은 2차 캐시에서 읽으므로 보통 DB 까지 가지 않는다.
+        Account manager = after.getManagerId() == null ? null
+                : this.accountRepository.findById(after.getManagerId()).orElse(null);
+        this.store.put(after, manager);
+    }
+
+    private void load() {
+        long started = System.currentTimeMillis();
+        EventColumnStore loaded = new EventColumnStore();
+        this.eventShards.readEach(shard -> {
+            Pageable pageable = PageRequest.of(0, this.rebuildPageSize, Sort.by("id"));
+            Page<Event> page;
+            do {
+                page = this.eventRepository.findAll(pageable);
+                for (Event event : page) {
+                    loaded.put(EventSnapshot.of(event), event.getManager());
+                }
+                this.entityManager.clear();
+                pageable = page.nextPageable();
+            } while (page.hasNext());
+            return null;
+        });
+        this.store = loaded;
+        this.ready = true;
+        this.lastRebuildMillis = System.currentTimeMillis() - started;
+        log.info("Event read model rebuilt in {} ms ({} events)", this.lastRebuildMillis, loaded.size());
+    }
+
+    @Override
+    public void destroy() {
+        this.applier.interrupt();
+    }
+
+    private static class Pending {
+
+        private final Object change;       // EventChange | REBUILD
+        private final long enqueuedAt;
+
+        Pending(Object change, long enqueuedAt) {
+            this.change = change;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public String toString() {
+            return this.change == REBUILD ? "rebuild" : this.change.toString();
+        }
+    }
+}
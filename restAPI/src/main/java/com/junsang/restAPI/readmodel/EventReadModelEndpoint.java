@@ -0,0 +1,33 @@
+package com.junsang.restAPI.readmodel;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 읽기 모델 상태 조회 (GET) / 다시 만들기 (POST) - /actuator/eventreadmodel
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.read-model.enabled", havingValue = "true")
+@Endpoint(id = "eventreadmodel")
+public class EventReadModelEndpoint {
+
+    private final EventReadModel eventReadModel;
+
+    public EventReadModelEndpoint(EventReadModel eventReadModel) {
+        this.eventReadModel = eventReadModel;
+    }
+
+    @ReadOperation
+    public EventReadModelStatus status() {
+        return this.eventReadModel.status();
+    }
+
+    @WriteOperation
+    public EventReadModelStatus rebuild() {
+        this.eventReadModel.rebuild();
+        return this.eventReadModel.status();
+    }
+}
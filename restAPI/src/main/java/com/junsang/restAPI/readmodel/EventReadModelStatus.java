@@ -0,0 +1,16 @@
+package com.junsang.restAPI.readmodel;
+
+import lombok.Value;
+
+/**
+ * 읽기 모델 상태 (/actuator/eventreadmodel)
+ */
+@Value
+public class EventReadModelStatus {
+
+    boolean ready;
+    int rows;
+    long pendingChanges;       // 커밋됐지만 아직 반영하지 않은 변경 수
+    long lagMillis;            // 그중 가장 오래 기다린 변경의 대기 시간
+    long lastRebuildMillis;    // 마지막으로 다시 만드는 데 걸린 시간
+}
@@ -0,0 +1,41 @@
+package com.junsang.restAPI.readmodel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문자열 사전 (같은 문자열은 번호 하나, 객체 하나로)
+ *
+ * - 이름 / 장소처럼 반복되는 값은 한 번만 메모리에 둔다.
+ * - 지운 행의 문자열은 남는다. (다시 만들 때 (rebuild) 새 사전으로 정리된다)
+ */
+class StringTable {
+
+    static final int NULL = -1;
+
+    private final Map<String, Integer> refs = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int intern(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer ref = this.refs.get(value);
+        if (ref == null) {
+            ref = this.values.size();
+            this.values.add(value);
+            this.refs.put(value, ref);
+        }
+        return ref;
+    }
+
+    String get(int ref) {
+        return ref == NULL ? null : this.values.get(ref);
+    }
+
+    int size() {
+        return this.values.size();
+    }
+}
@@ -0,0 +1,169 @@
+package com.junsang.restAPI.schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 구간 트리 (interval tree) - [start, end] 구간과 겹치는 구간 찾기
+ *
+ * - (start, id) 순서의 treap 에 서브트리의 가장 큰 end (maxEnd) 를 함께 기억한다.
+ * - 겹치는 구간 검색은 O(log n + k) 이고, 결과는 start 순서로 나온다.
+ * - 스레드 안전하지 않다. (ScheduleIndex 가 lock 으로 감싼다)
+ */
+class IntervalTree {
+
+    private static final class Node {
+        final int id;
+        final long start;
+        final long end;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(int id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.maxEnd = end;
+        }
+    }
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private Node root;
+
+    int size() {
+        return this.nodes.size();
+    }
+
+    void put(int id, long start, long end) {
+        remove(id);
+        Node node = new Node(id, start, end);
+        this.nodes.put(id, node);
+        this.root = insert(this.root, node);
+    }
+
+    void remove(int id) {
+        Node node = this.nodes.remove(id);
+        if (node != null) {
+            this.root = delete(this.root, node);
+        }
+    }
+
+    void clear() {
+        this.nodes.clear();
+        this.root = null;
+    }
+
+    /**
+     * from <= end && start <= to 인 구간의 id 를 start 순서로 돌려준다.
+     */
+    List<Integer> overlapping(long from, long to) {
+        List<Integer> result = new ArrayList<>();
+        collect(this.root, from, to, result);
+        return result;
+    }
+
+    private static void collect(Node node, long from, long to, List<Integer> result) {
+        while (node != null && node.maxEnd >= from) {
+            collect(node.left, from, to, result);
+            if (node.start > to) {
+                return;     // 오른쪽은 모두 start 가 더 크다.
+            }
+            if (node.end >= from) {
+                result.add(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node delete(Node node, Node deleted) {
+        if (node == null) {
+            return null;
+        }
+        if (node == deleted) {
+            return merge(node.left, node.right);
+        }
+        if (compare(deleted, node) < 0) {
+            node.left = delete(node.left, deleted);
+        } else {
+            node.right = delete(node.right, deleted);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(Node a, Node b) {
+        int result = Long.compare(a.start, b.start);
+        return result != 0 ? result : Integer.compare(a.id, b.id);
+    }
+}
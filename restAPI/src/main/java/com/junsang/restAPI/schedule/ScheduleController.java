@@ -0,0 +1,66 @@
+package com.junsang.restAPI.schedule;
+
+import com.junsang.restAPI.common.ErrorResource;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+
+@Controller
+public class ScheduleController {
+
+    private final ScheduleService scheduleService;
+
+    public ScheduleController(ScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+
+    /**
+     * 기간이 겹치는 이벤트 조회 API
+     * - window=EVENT : from ~ to 사이에 진행 중인 이벤트
+     * - window=ENROLLMENT : from ~ to 사이에 등록 가능한 이벤트
+     * - 정렬은 항상 기간 시작 시간 순이다.
+     *
+     * @param from      검색 시작 (ISO date time)
+     * @param to        검색 끝 (ISO date time)
+     * @param window    검색 대상 기간
+     * @param pageable  페이징 관련 파라미터 (page, size)
+     * @param assembler 페이지를 리소스로 바꿔 링크 정보 추출하기 위함
+     */
+    @Transactional(readOnly = true)     // Replica 로 라우팅
+    @GetMapping(value = "/api/events/overlapping", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<?> queryOverlappingEvents(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "EVENT") ScheduleWindow window,
+            Pageable pageable, PagedResourcesAssembler<Event> assembler) {
+
+        if (from.isAfter(to)) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "overlapping");
+            errors.reject("wrongRange", "from must not be after to");
+            return ResponseEntity.badRequest().body(ErrorResource.modelOf(errors));
+        }
+
+        Page<Event> page = this.scheduleService.overlapping(window, from, to, pageable);
+        PagedModel<EntityModel<Event>> pageResource = assembler.toModel(page, EventResource::new);
+        pageResource.add(Link.of("/docs/index.html#resources-events-overlapping").withRel("profile"));
+
+        return ResponseEntity.ok(pageResource);
+    }
+}
@@ -0,0 +1,42 @@
+package com.junsang.restAPI.schedule;
+
+import com.junsang.restAPI.events.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 이벤트 기간 조회
+ *
+ * - findSchedules : 구간 트리 재구성용 (id 와 기간만)
+ * - findRunning / findOpenForEnrollment : 인덱스가 준비되지 않았을 때 쓰는 DB 검색
+ */
+public interface ScheduleEventRepository extends Repository<Event, Integer> {
+
+    @Query("select e.id as id, e.beginEventDateTime as beginEventDateTime, e.endEventDateTime as endEventDateTime, " +
+            "e.beginEnrollmentDateTime as beginEnrollmentDateTime, e.closeEnrollmentDateTime as closeEnrollmentDateTime " +
+            "from Event e")
+    List<Schedule> findSchedules();
+
+    @Query("select e from Event e where e.beginEventDateTime <= :to and e.endEventDateTime >= :from " +
+            "order by e.beginEventDateTime, e.id")
+    Page<Event> findRunning(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("select e from Event e where e.beginEnrollmentDateTime <= :to and e.closeEnrollmentDateTime >= :from " +
+            "order by e.beginEnrollmentDateTime, e.id")
+    Page<Event> findOpenForEnrollment(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                      Pageable pageable);
+
+    interface Schedule {
+        Integer getId();
+        LocalDateTime getBeginEventDateTime();
+        LocalDateTime getEndEventDateTime();
+        LocalDateTime getBeginEnrollmentDateTime();
+        LocalDateTime getCloseEnrollmentDateTime();
+    }
+}
@@ -0,0 +1,83 @@
+package com.junsang.restAPI.schedule;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 이벤트 기간 (진행 / 등록) 별 구간 트리
+ *
+ * - 시작 / 끝 중 하나라도 없는 기간은 넣지 않는다.
+ */
+public class ScheduleIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<ScheduleWindow, IntervalTree> trees = new EnumMap<>(ScheduleWindow.class);
+
+    public ScheduleIndex() {
+        for (ScheduleWindow window : ScheduleWindow.values()) {
+            this.trees.put(window, new IntervalTree());
+        }
+    }
+
+    public void put(ScheduleWindow window, Integer id, LocalDateTime start, LocalDateTime end) {
+        this.lock.writeLock().lock();
+        try {
+            IntervalTree tree = this.trees.get(window);
+            if (start == null || end == null) {
+                tree.remove(id);
+            } else {
+                tree.put(id, epochSecond(start), epochSecond(end));
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        this.lock.writeLock().lock();
+        try {
+            this.trees.values().forEach(tree -> tree.remove(id));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.trees.values().forEach(IntervalTree::clear);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size(ScheduleWindow window) {
+        this.lock.readLock().lock();
+        try {
+            return this.trees.get(window).size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * [from, to] 와 겹치는 기간의 이벤트 id (시작 시간 순서)
+     */
+    public List<Integer> overlapping(ScheduleWindow window, LocalDateTime from, LocalDateTime to) {
+        this.lock.readLock().lock();
+        try {
+            return this.trees.get(window).overlapping(epochSecond(from), epochSecond(to));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,134 @@
+package com.junsang.restAPI.schedule;
+
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventChange;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventSnapshot;
+import com.junsang.restAPI.events.EventsReloaded;
+import com.junsang.restAPI.sharding.EventShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 기간 겹침 검색 (진행 중 / 등록 가능한 이벤트)
+ *
+ * - 기동 시 DB 에서 기간을 읽어 구간 트리를 만들고, 이후에는 커밋된 EventChange 로 갱신한다.
+ * - 인덱스가 꺼져 있거나 아직 만들어지지 않았으면 DB 쿼리로 찾는다.
+ */
+@Slf4j
+@Service
+public class ScheduleService implements ApplicationRunner {
+
+    private final ScheduleEventRepository scheduleEventRepository;
+    private final EventRepository eventRepository;
+    private final EventShards eventShards;
+    private final boolean indexEnabled;
+    private final ScheduleIndex index = new ScheduleIndex();
+    private volatile boolean ready;
+
+    public ScheduleService(ScheduleEventRepository scheduleEventRepository, EventRepository eventRepository,
+                           EventShards eventShards,
+                           @Value("${app.events.schedule-index.enabled:true}") boolean indexEnabled) {
+        this.scheduleEventRepository = scheduleEventRepository;
+        this.eventRepository = eventRepository;
+        this.eventShards = eventShards;
+        this.indexEnabled = indexEnabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (this.indexEnabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        this.ready = false;
+        long started = System.currentTimeMillis();
+        List<ScheduleEventRepository.Schedule> schedules = new ArrayList<>();
+        this.eventShards.readEach(shard -> this.scheduleEventRepository.findSchedules()).forEach(schedules::addAll);
+        this.index.clear();
+        for (ScheduleEventRepository.Schedule schedule : schedules) {
+            this.index.put(ScheduleWindow.EVENT, schedule.getId(),
+                    schedule.getBeginEventDateTime(), schedule.getEndEventDateTime());
+            this.index.put(ScheduleWindow.ENROLLMENT, schedule.getId(),
+                    schedule.getBeginEnrollmentDateTime(), schedule.getCloseEnrollmentDateTime());
+        }
+        this.ready = true;
+        log.info("Schedule index rebuilt in {} ms ({} events)", System.currentTimeMillis() - started, schedules.size());
+    }
+
+    public boolean isIndexReady() {
+        return this.indexEnabled && this.ready;
+    }
+
+    /**
+     * [from, to] 와 기간이 겹치는 이벤트 (기간 시작 시간 순서)
+     */
+    public Page<Event> overlapping(ScheduleWindow window, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (!isIndexReady()) {
+            return window == ScheduleWindow.EVENT
+                    ? this.scheduleEventRepository.findRunning(from, to, pageable)
+                    : this.scheduleEventRepository.findOpenForEnrollment(from, to, pageable);
+        }
+
+        List<Integer> ids = this.index.overlapping(window, from, to);
+        int start = (int) Math.min(pageable.getOffset(), ids.size());
+        int end = Math.min(start + pageable.getPageSize(), ids.size());
+        List<Integer> pageIds = start < end ? ids.subList(start, end) : Collections.emptyList();
+
+        // 현재 페이지의 이벤트만 읽어서 인덱스 순서대로 정렬
+        Map<Integer, Event> events = this.eventShards.readByIds(pageIds, this.eventRepository::findAllById).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> content = new ArrayList<>(pageIds.size());
+        for (Integer id : pageIds) {
+            Event event = events.get(id);
+            if (event != null) {
+                content.add(event);
+            }
+        }
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    /**
+     * 스냅샷 복원 등으로 테이블이 통째로 바뀐 경우
+     */
+    @EventListener
+    public void onEventsReloaded(EventsReloaded reloaded) {
+        if (this.indexEnabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        if (!this.indexEnabled) {
+            return;
+        }
+        EventSnapshot after = change.getAfter();
+        if (after == null) {
+            this.index.remove(change.getEventId());
+            return;
+        }
+        this.index.put(ScheduleWindow.EVENT, after.getId(),
+                after.getBeginEventDateTime(), after.getEndEventDateTime());
+        this.index.put(ScheduleWindow.ENROLLMENT, after.getId(),
+                after.getBeginEnrollmentDateTime(), after.getCloseEnrollmentDateTime());
+    }
+}
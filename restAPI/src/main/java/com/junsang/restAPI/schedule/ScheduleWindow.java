@@ -0,0 +1,11 @@
+package com.junsang.restAPI.schedule;
+
+/**
+ * 겹침 검색 대상 기간
+ *
+ * - EVENT : beginEventDateTime ~ endEventDateTime (진행 중)
+ * - ENROLLMENT : beginEnrollmentDateTime ~ closeEnrollmentDateTime (등록 가능)
+ */
+public enum ScheduleWindow {
+    EVENT, ENROLLMENT
+}
@@ -0,0 +1,96 @@
+package com.junsang.restAPI.sharding;
+
+import com.junsang.restAPI.accounts.Account;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+
+/**
+ * 계정 (과 역할 컬렉션) 이 flush 되면 커밋 후에 AccountReplicator 로 복제한다.
+ */
+public class AccountReplicationListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private final AccountReplicator accountReplicator;
+
+    public AccountReplicationListener(AccountReplicator accountReplicator) {
+        this.accountReplicator = accountReplicator;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        entityChanged(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void entityChanged(Object entity, Serializable id) {
+        if (entity instanceof Account) {
+            replicateAfterCommit((Integer) id);
+        }
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof Account) {
+            replicateAfterCommit((Integer) event.getAffectedOwnerIdOrNull());
+        }
+    }
+
+    private void replicateAfterCommit(Integer accountId) {
+        int source = ShardContext.current();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.accountReplicator.replicate(source, accountId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountReplicator.replicate(source, accountId);
+            }
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.junsang.restAPI.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 계정을 모든 shard 에 복제한다.
+ *
+ * - 이벤트의 manager 외래 키와 (EAGER) 조인이 shard 안에서 끝나도록 계정은 shard 마다 같은 행을 둔다.
+ * - 계정이 바뀐 트랜잭션이 커밋된 뒤에 나머지 shard 에 덮어쓴다. (shard 간 원자성은 없고, 기동 시 전체 동기화로 맞춘다)
+ * - 컬럼은 조회 결과 그대로 옮기므로 Account 매핑이 바뀌어도 고칠 필요 없다.
+ */
+@Slf4j
+public class AccountReplicator {
+
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> transactionTemplates = new ArrayList<>();
+
+    public AccountReplicator(ShardDataSources shardDataSources) {
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            this.jdbcTemplates.add(new JdbcTemplate(shardDataSources.get(shard)));
+            this.transactionTemplates.add(new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.get(shard))));
+        }
+    }
+
+    /**
+     * source shard 의 계정 (없으면 삭제) 을 나머지 shard 에 덮어쓴다.
+     */
+    public void replicate(int source, Integer accountId) {
+        JdbcTemplate from = this.jdbcTemplates.get(source);
+        List<Map<String, Object>> accounts = from.queryForList("SELECT * FROM account WHERE id = ?", accountId);
+        for (int target = 0; target < this.jdbcTemplates.size(); target++) {
+            if (target != source) {
+                copy(target, accountId, accounts.isEmpty() ? null : accounts.get(0));
+            }
+        }
+    }
+
+    /**
+     * shard 0 의 계정 전체를 나머지 shard 에 맞춘다. (shard 0 에 없는 계정은 지운다)
+     */
+    public void replicateAll() {
+        JdbcTemplate from = this.jdbcTemplates.get(0);
+        List<Map<String, Object>> accounts = from.queryForList("SELECT * FROM account");
+        for (int target = 1; target < this.jdbcTemplates.size(); target++) {
+            JdbcTemplate to = this.jdbcTemplates.get(target);
+            for (Integer stale : to.queryForList("SELECT id FROM account", Integer.class)) {
+                if (accounts.stream().noneMatch(account -> stale.equals(account.get("id")))) {
+                    copy(target, stale, null);
+                }
+            }
+            for (Map<String, Object> account : accounts) {
+                copy(target, (Integer) account.get("id"), account);
+            }
+        }
+        log.info("Replicated {} accounts to {} shards", accounts.size(), this.jdbcTemplates.size() - 1);
+    }
+
+    private void copy(int target, Integer accountId, Map<String, Object> account) {
+        JdbcTemplate to = this.jdbcTemplates.get(target);
+        this.transactionTemplates.get(target).executeWithoutResult(status -> {
+            if (account == null) {
+                to.update("DELETE FROM account WHERE id = ?", accountId);
+                return;
+            }
+            if (update(to, account) == 0) {
+                insert(to, account);
+            }
+        });
+    }
+
+    private static int update(JdbcTemplate jdbcTemplate, Map<String, Object> row) {
+        List<String> columns = row.keySet().stream()
+                .filter(column -> !column.equalsIgnoreCase("id"))
+                .collect(Collectors.toList());
+        List<Object> values = columns.stream().map(row::get).collect(Collectors.toList());
+        values.add(row.get("id"));
+        String set = columns.stream().map(column -> column + " = ?").collect(Collectors.joining(", "));
+        return jdbcTemplate.update("UPDATE account SET " + set + " WHERE id = ?", values.toArray());
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, Map<String, Object> row) {
+        String columns = String.join(", ", row.keySet());
+        String placeholders = row.keySet().stream().map(column -> "?").collect(Collectors.joining(", "));
+        jdbcTemplate.update("INSERT INTO account (" + columns + ") VALUES (" + placeholders + ")", row.values().toArray());
+    }
+}
@@ -0,0 +1,182 @@
+package com.junsang.restAPI.sharding;
+
+import com.junsang.restAPI.accounts.Account;
+import com.junsang.restAPI.common.SortedPages;
+import com.junsang.restAPI.deadline.RequestDeadline;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * 이벤트를 어느 shard 에 두고 어떻게 나눠 읽는지 (샤딩을 끄면 shard 하나 - 모두 지금 스레드에서 그대로 실행)
+ *
+ * - 새 이벤트는 manager (Account id) 로 shard 를 고른다. manager 가 없으면 shard 0
+ * - 이벤트 id 는 그 shard 의 시퀀스 (shard + 1 부터 shard 수 만큼 증가) 에서 받으므로 id 만으로 shard 를 알 수 있다.
+ * - /api/events/{id} 요청은 ShardRoutingInterceptor 가 트랜잭션 시작 전에 shard 를 정해 둔다.
+ * - 목록 조회는 shard 마다 (offset + size) 개를 병렬로 읽고 정렬 기준으로 합친다. (SortedPages)
+ */
+@Component
+public class EventShards implements DisposableBean {
+
+    private final int count;
+    private final ExecutorService executor;     // shard 가 하나면 null
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EventShards(ObjectProvider<ShardDataSources> shardDataSources, PlatformTransactionManager transactionManager,
+                       @Value("${app.sharding.fan-out-threads:0}") int fanOutThreads) {
+        ShardDataSources dataSources = shardDataSources.getIfAvailable();
+        this.count = dataSources != null ? dataSources.size() : 1;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        if (this.count > 1) {
+            AtomicInteger sequence = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(fanOutThreads > 0 ? fanOutThreads : this.count, r -> {
+                Thread thread = new Thread(r, "shard-fan-out-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    public int shardOfEvent(Integer eventId) {
+        if (this.count == 1 || eventId == null) {
+            return 0;
+        }
+        return Math.floorMod(eventId - 1, this.count);
+    }
+
+    public int shardOfManager(Account manager) {
+        if (this.count == 1 || manager == null || manager.getId() == null) {
+            return 0;
+        }
+        // Account id 는 shard 0 시퀀스에서 일정 간격으로 나오므로 섞어서 나눈다.
+        return Math.floorMod(Long.hashCode(manager.getId() * 0x9E3779B97F4A7C15L), this.count);
+    }
+
+    /**
+     * 지금 스레드에서 shard 를 정해 놓고 실행한다. (work 안에서 트랜잭션을 열어야 그 shard 로 간다)
+     */
+    public <T> T route(int shard, Supplier<T> work) {
+        if (this.count == 1) {
+            return work.get();
+        }
+        if (shard != ShardContext.current() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Shard " + shard + " must be chosen before the transaction begins");
+        }
+        return ShardContext.call(shard, work);
+    }
+
+    /**
+     * 모든 shard 에서 각자의 읽기 트랜잭션으로 work 를 실행한다. (shard 순서)
+     */
+    public <T> List<T> readEach(IntFunction<T> work) {
+        if (this.count == 1) {
+            return Collections.singletonList(this.readOnlyTransaction.execute(status -> work.apply(0)));
+        }
+        List<Integer> shards = new ArrayList<>(this.count);
+        for (int shard = 0; shard < this.count; shard++) {
+            shards.add(shard);
+        }
+        return fanOut(shards, work);
+    }
+
+    /**
+     * id 를 shard 별로 나눠 읽는다. (shard 가 하나면 지금 트랜잭션에서 그대로 loader 실행, 결과 순서는 보장하지 않음)
+     */
+    public <T> List<T> readByIds(Collection<Integer> ids, Function<Collection<Integer>, ? extends Collection<T>> loader) {
+        if (this.count == 1) {
+            return new ArrayList<>(loader.apply(ids));
+        }
+        Map<Integer, List<Integer>> idsByShard = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            idsByShard.computeIfAbsent(shardOfEvent(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        List<T> result = new ArrayList<>(ids.size());
+        for (Collection<T> found : fanOut(new ArrayList<>(idsByShard.keySet()), shard -> loader.apply(idsByShard.get(shard)))) {
+            result.addAll(found);
+        }
+        return result;
+    }
+
+    /**
+     * 엔티티 목록 페이지 (정렬 속성은 getter 로 읽는다)
+     */
+    public <T> Page<T> readPage(Pageable pageable, Function<Pageable, Page<T>> loader) {
+        if (this.count == 1) {
+            return loader.apply(pageable);
+        }
+        return SortedPages.merge(readEach(shard -> loader.apply(SortedPages.leading(pageable))), pageable);
+    }
+
+    /**
+     * shard 마다 앞에서부터 (offset + size) 개를 정렬해 읽고, 합쳐서 요청한 페이지만 잘라낸다. (SortedPages)
+     */
+    public <T> Page<T> readPage(Pageable pageable, Function<Pageable, Page<T>> loader, BiFunction<T, String, Object> property) {
+        if (this.count == 1) {
+            return loader.apply(pageable);
+        }
+        return SortedPages.merge(readEach(shard -> loader.apply(SortedPages.leading(pageable))), pageable, property);
+    }
+
+    /**
+     * 요청 마감이 있으면 fan-out 스레드의 트랜잭션도 같은 마감을 쓴다.
+     */
+    private <T> List<T> fanOut(List<Integer> shards, IntFunction<T> work) {
+        RequestDeadline deadline = RequestDeadline.current();
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> RequestDeadline.call(deadline, () -> ShardContext.call(shard,
+                    () -> this.readOnlyTransaction.execute(status -> work.apply(shard)))), this.executor));
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+}
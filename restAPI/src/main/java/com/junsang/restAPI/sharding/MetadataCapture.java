@@ -0,0 +1,37 @@
+package com.junsang.restAPI.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hibernate 매핑 정보 (shard 1.. 에 같은 스키마를 만들 때 사용)
+ */
+public class MetadataCapture implements IntegratorProvider, Integrator {
+
+    private volatile Metadata metadata;
+
+    public Metadata getMetadata() {
+        return this.metadata;
+    }
+
+    @Override
+    public List<Integrator> getIntegrators() {
+        return Collections.singletonList(this);
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = metadata;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
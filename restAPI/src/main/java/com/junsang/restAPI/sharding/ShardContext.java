@@ -0,0 +1,49 @@
+package com.junsang.restAPI.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 쓸 shard 번호
+ *
+ * - ShardRoutingDataSource 가 커넥션을 얻을 때 읽으므로, 트랜잭션이 첫 쿼리를 날리기 전에 정해져 있어야 한다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return 정해진 shard 가 없으면 0
+     */
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * shard 를 정해 놓고 work 를 실행한 뒤, 이전 shard 로 되돌린다.
+     */
+    static <T> T call(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.junsang.restAPI.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * shard 별 커넥션 풀 (index = shard 번호)
+ *
+ * - 풀을 DataSource 타입 빈으로 등록하면 DataSource 초기화 후처리기와 순환 참조가 생기므로 묶어서 등록한다.
+ */
+public class ShardDataSources implements DisposableBean {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardDataSources(List<HikariDataSource> shards) {
+        this.shards = Collections.unmodifiableList(shards);
+    }
+
+    public int size() {
+        return this.shards.size();
+    }
+
+    public HikariDataSource get(int shard) {
+        return this.shards.get(shard);
+    }
+
+    public List<HikariDataSource> getAll() {
+        return this.shards;
+    }
+
+    @Override
+    public void destroy() {
+        this.shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,16 @@
+package com.junsang.restAPI.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * ShardContext 의 shard 로 보내는 DataSource
+ *
+ * - shard 는 커넥션을 얻는 시점에 결정되므로, 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,47 @@
+package com.junsang.restAPI.sharding;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * /api/events/{id} 요청의 shard 를 id 로 정한다.
+ *
+ * - 핸들러의 @Transactional 보다 먼저 실행되므로 조회 / 수정 트랜잭션이 모두 그 shard 로 간다.
+ */
+public class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private final EventShards eventShards;
+
+    public ShardRoutingInterceptor(EventShards eventShards) {
+        this.eventShards = eventShards;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables != null ? variables.get("id") : null;
+        if (id != null) {
+            try {
+                ShardContext.set(this.eventShards.shardOfEvent(Integer.valueOf(id)));
+            } catch (NumberFormatException e) {
+                // 숫자가 아니면 핸들러에서 400
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ShardContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+}
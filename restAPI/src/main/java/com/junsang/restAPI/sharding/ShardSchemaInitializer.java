@@ -0,0 +1,102 @@
+package com.junsang.restAPI.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.tool.hbm2ddl.SchemaExport;
+import org.hibernate.tool.schema.TargetType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.EnumSet;
+
+/**
+ * 샤딩 기동 준비 (EntityManagerFactory 가 만들어진 뒤, 요청 / 러너보다 먼저)
+ *
+ * 1. (create-schema) shard 1.. 에 shard 0 과 같은 스키마를 만든다.
+ * 2. shard 마다 hibernate_sequence 를 (shard + 1) 부터 shard 수 만큼 증가하도록 맞춘다. (이벤트 id 로 shard 를 알 수 있도록)
+ * 3. 계정을 모든 shard 에 복제하고, 이후 변경도 복제하도록 리스너를 등록한다.
+ *
+ * 샤딩 전에 만들어진 이벤트는 id 로 shard 를 찾을 수 없으므로 미리 shard 별로 옮겨 두어야 한다.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private final ShardDataSources shardDataSources;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MetadataCapture metadataCapture;
+    private final ShardingProperties properties;
+    private final AccountReplicator accountReplicator;
+
+    public ShardSchemaInitializer(ShardDataSources shardDataSources, EntityManagerFactory entityManagerFactory,
+                                  MetadataCapture metadataCapture, ShardingProperties properties,
+                                  AccountReplicator accountReplicator) {
+        this.shardDataSources = shardDataSources;
+        this.entityManagerFactory = entityManagerFactory;
+        this.metadataCapture = metadataCapture;
+        this.properties = properties;
+        this.accountReplicator = accountReplicator;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SessionFactoryImplementor sessionFactory = this.entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        if (this.properties.isCreateSchema()) {
+            String dialect = sessionFactory.getJdbcServices().getDialect().getClass().getName();
+            for (int shard = 1; shard < this.shardDataSources.size(); shard++) {
+                createSchema(this.shardDataSources.get(shard), dialect);
+            }
+        }
+
+        for (int shard = 0; shard < this.shardDataSources.size(); shard++) {
+            alignSequence(shard);
+        }
+
+        this.accountReplicator.replicateAll();
+        AccountReplicationListener listener = new AccountReplicationListener(this.accountReplicator);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    private void createSchema(DataSource dataSource, String dialect) {
+        StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource)
+                .applySetting(AvailableSettings.DIALECT, dialect)
+                .build();
+        try {
+            new SchemaExport().setHaltOnError(true)
+                    .execute(EnumSet.of(TargetType.DATABASE), SchemaExport.Action.BOTH,
+                            this.metadataCapture.getMetadata(), serviceRegistry);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(serviceRegistry);
+        }
+    }
+
+    /**
+     * 다음 id = 지금 가장 큰 id 보다 크고, (id - 1) % shard 수 == shard 인 가장 작은 값
+     */
+    private void alignSequence(int shard) {
+        int shards = this.shardDataSources.size();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this.shardDataSources.get(shard));
+        long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM event", Long.class);
+        if (shard == 0) {
+            // 계정 id 도 shard 0 시퀀스에서 받는다.
+            max = Math.max(max, jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM account", Long.class));
+        }
+        long next = max + 1 + Math.floorMod(shard - max, shards);
+        jdbcTemplate.execute("ALTER SEQUENCE hibernate_sequence RESTART WITH " + next + " INCREMENT BY " + shards);
+        log.info("Shard {} event ids start at {} (every {})", shard, next, shards);
+    }
+}
@@ -0,0 +1,126 @@
+package com.junsang.restAPI.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트 샤딩 (app.sharding.enabled=true 일 때만, 읽기/쓰기 DataSource 분리와는 함께 쓸 수 없다)
+ *
+ * - shard 0 : spring.datasource.* (+ spring.datasource.hikari.*)
+ * - shard n : app.sharding.shards[n - 1].* (+ app.sharding.shards[n - 1].hikari.*)
+ * - 커넥션은 ShardContext 의 shard 에서 얻는다. (정해지지 않았으면 shard 0)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration implements WebMvcConfigurer {
+
+    private final MetadataCapture metadataCapture = new MetadataCapture();
+    private final ObjectProvider<EventShards> eventShards;
+
+    public ShardingConfiguration(ObjectProvider<EventShards> eventShards) {
+        this.eventShards = eventShards;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(DataSourceProperties dataSourceProperties, Environment environment) throws Exception {
+        Binder binder = Binder.get(environment);
+        List<HikariDataSource> shards = new ArrayList<>();
+
+        HikariDataSource first = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        first.setPoolName("shard-0");
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(first));
+        shards.add(first);
+
+        // DataSourceProperties 빈을 더 만들면 자동 설정에서 충돌하므로 직접 바인딩
+        List<DataSourceProperties> others = binder.bind("app.sharding.shards", Bindable.listOf(DataSourceProperties.class))
+                .orElseGet(Collections::emptyList);
+        for (int i = 0; i < others.size(); i++) {
+            DataSourceProperties properties = others.get(i);
+            properties.setBeanClassLoader(getClass().getClassLoader());
+            properties.afterPropertiesSet();
+
+            HikariDataSource shard = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            shard.setPoolName("shard-" + (i + 1));
+            binder.bind("app.sharding.shards[" + i + "].hikari", Bindable.ofInstance(shard));
+            shards.add(shard);
+        }
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            targetDataSources.put(shard, shardDataSources.get(shard));
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(shardDataSources.get(0));
+        routingDataSource.afterPropertiesSet();
+
+        // 트랜잭션이 시작된 뒤라도, 첫 쿼리 시점의 shard 로 실제 커넥션을 얻도록 지연
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateCustomizer() {
+        return properties -> {
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, this.metadataCapture);
+            // 시퀀스 증가 폭은 shard 수 이지만 Hibernate 는 값을 하나씩 받아 그대로 쓴다.
+            properties.put(AvailableSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY, "none");
+        };
+    }
+
+    @Bean
+    public AccountReplicator accountReplicator(ShardDataSources shardDataSources) {
+        return new AccountReplicator(shardDataSources);
+    }
+
+    // 지연 초기화(fast-start 프로파일)를 쓰더라도 첫 저장 전에 시퀀스를 맞춰야 한다.
+    @Bean
+    public static LazyInitializationExcludeFilter shardSchemaInitializerEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ShardSchemaInitializer.class);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardDataSources shardDataSources,
+                                                         EntityManagerFactory entityManagerFactory,
+                                                         ShardingProperties properties,
+                                                         AccountReplicator accountReplicator) {
+        return new ShardSchemaInitializer(shardDataSources, entityManagerFactory, this.metadataCapture,
+                properties, accountReplicator);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ShardRoutingInterceptor(this.eventShards.getObject()))
+                .addPathPatterns("/api/events/*");
+    }
+}
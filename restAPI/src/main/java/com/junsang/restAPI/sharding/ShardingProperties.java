@@ -0,0 +1,25 @@
+package com.junsang.restAPI.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 이벤트 샤딩 설정 (app.sharding.*)
+ *
+ * - shard 0 은 spring.datasource.* 를, shard 1.. 은 app.sharding.shards[0].. (url, username, password, hikari.*) 를 사용한다.
+ */
+@Getter @Setter
+@ConfigurationProperties("app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    /**
+     * shard 1.. 에 엔티티 스키마를 만든다. (로컬 H2 용, 운영에서는 마이그레이션으로 만든다)
+     */
+    private boolean createSchema;
+
+    // 목록 조회를 shard 마다 나눠 읽는 스레드 수 (0 이면 shard 수)
+    private int fanOutThreads;
+}
@@ -0,0 +1,73 @@
+package com.junsang.restAPI.snapshot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * account 테이블 블록 (열 단위)
+ *
+ * - roles 는 account.roles 비트마스크 그대로 (비트 번호 = 파일 헤더의 AccountRole 사전 번호)
+ */
+class AccountColumns {
+
+    final List<Integer> id = new ArrayList<>();
+    final List<String> email = new ArrayList<>();
+    final List<String> password = new ArrayList<>();
+    final List<Long> roles = new ArrayList<>();
+
+    int size() {
+        return this.id.size();
+    }
+
+    void add(int id, String email, String password, long roles) {
+        this.id.add(id);
+        this.email.add(email);
+        this.password.add(password);
+        this.roles.add(roles);
+    }
+
+    void clear() {
+        this.id.clear();
+        this.email.clear();
+        this.password.clear();
+        this.roles.clear();
+    }
+
+    void writeTo(SnapshotOutput out) throws IOException {
+        out.putInt(size());
+        for (Integer value : this.id) {
+            out.putInt(value);
+        }
+        for (String value : this.email) {
+            out.putString(value);
+        }
+        for (String value : this.password) {
+            out.putString(value);
+        }
+        for (Long value : this.roles) {
+            out.putLong(value);
+        }
+    }
+
+    /**
+     * 블록 하나 읽기 (블록 크기가 0 이면 false - 섹션 끝)
+     */
+    boolean readFrom(SnapshotInput in) throws IOException {
+        clear();
+        int rows = in.getInt();
+        for (int row = 0; row < rows; row++) {
+            this.id.add(in.getInt());
+        }
+        for (int row = 0; row < rows; row++) {
+            this.email.add(in.getString());
+        }
+        for (int row = 0; row < rows; row++) {
+            this.password.add(in.getString());
+        }
+        for (int row = 0; row < rows; row++) {
+            this.roles.add(in.getLong());
+        }
+        return rows > 0;
+    }
+}
@@ -0,0 +1,293 @@
+package com.junsang.restAPI.snapshot;
+
+import com.junsang.restAPI.events.EventStatus;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * event 테이블 블록 (열 단위 배열)
+ *
+ * - 시간은 epoch milli (UTC 기준 LocalDateTime), null 은 Long.MIN_VALUE
+ * - location 은 블록별 사전 (dictionary) 번호, eventStatus 는 파일 헤더의 사전 번호 (null 은 -1)
+ * - offline / free 는 한 바이트 플래그, 좌표의 null 은 NaN, manager 의 null 은 Integer.MIN_VALUE
+ */
+class EventColumns {
+
+    static final String COLUMNS = "id, name, description, begin_enrollment_date_time, close_enrollment_date_time, " +
+            "begin_event_date_time, end_event_date_time, location, latitude, longitude, base_price, max_price, " +
+            "limit_of_enrollment, offline, free, event_status, manager_id";
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final int NULL_ID = Integer.MIN_VALUE;
+    private static final int OFFLINE = 1;
+    private static final int FREE = 2;
+
+    private final int capacity;
+    private final EventStatus[] statuses;
+    private int size;
+
+    private final int[] id;
+    private final String[] name;
+    private final String[] description;
+    private final long[][] times = new long[4][];
+    private final String[] location;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final int[] basePrice;
+    private final int[] maxPrice;
+    private final int[] limitOfEnrollment;
+    private final byte[] flags;
+    private final byte[] status;
+    private final int[] managerId;
+
+    EventColumns(int capacity, EventStatus[] statuses) {
+        this.capacity = capacity;
+        this.statuses = statuses;
+        this.id = new int[capacity];
+        this.name = new String[capacity];
+        this.description = new String[capacity];
+        for (int i = 0; i < this.times.length; i++) {
+            this.times[i] = new long[capacity];
+        }
+        this.location = new String[capacity];
+        this.latitude = new double[capacity];
+        this.longitude = new double[capacity];
+        this.basePrice = new int[capacity];
+        this.maxPrice = new int[capacity];
+        this.limitOfEnrollment = new int[capacity];
+        this.flags = new byte[capacity];
+        this.status = new byte[capacity];
+        this.managerId = new int[capacity];
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isFull() {
+        return this.size == this.capacity;
+    }
+
+    void clear() {
+        Arrays.fill(this.name, 0, this.size, null);
+        Arrays.fill(this.description, 0, this.size, null);
+        Arrays.fill(this.location, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * COLUMNS 순서로 조회한 행 추가
+     */
+    void add(ResultSet rs) throws SQLException {
+        int row = this.size++;
+        this.id[row] = rs.getInt(1);
+        this.name[row] = rs.getString(2);
+        this.description[row] = rs.getString(3);
+        for (int i = 0; i < this.times.length; i++) {
+            Timestamp timestamp = rs.getTimestamp(4 + i);
+            this.times[i][row] = timestamp == null ? NULL_TIME
+                    : timestamp.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        this.location[row] = rs.getString(8);
+        this.latitude[row] = doubleOrNaN(rs, 9);
+        this.longitude[row] = doubleOrNaN(rs, 10);
+        this.basePrice[row] = rs.getInt(11);
+        this.maxPrice[row] = rs.getInt(12);
+        this.limitOfEnrollment[row] = rs.getInt(13);
+        this.flags[row] = (byte) ((rs.getBoolean(14) ? OFFLINE : 0) | (rs.getBoolean(15) ? FREE : 0));
+        String statusName = rs.getString(16);
+        this.status[row] = (byte) (statusName == null ? -1 : EventStatus.valueOf(statusName).ordinal());
+        int manager = rs.getInt(17);
+        this.managerId[row] = rs.wasNull() ? NULL_ID : manager;
+    }
+
+    /**
+     * COLUMNS 순서의 insert 파라미터 바인딩
+     */
+    void bind(PreparedStatement ps, int row) throws SQLException {
+        ps.setInt(1, this.id[row]);
+        ps.setString(2, this.name[row]);
+        ps.setString(3, this.description[row]);
+        for (int i = 0; i < this.times.length; i++) {
+            long time = this.times[i][row];
+            if (time == NULL_TIME) {
+                ps.setNull(4 + i, Types.TIMESTAMP);
+            } else {
+                ps.setTimestamp(4 + i, Timestamp.valueOf(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(time), ZoneOffset.UTC)));
+            }
+        }
+        ps.setString(8, this.location[row]);
+        setDouble(ps, 9, this.latitude[row]);
+        setDouble(ps, 10, this.longitude[row]);
+        ps.setInt(11, this.basePrice[row]);
+        ps.setInt(12, this.maxPrice[row]);
+        ps.setInt(13, this.limitOfEnrollment[row]);
+        ps.setBoolean(14, (this.flags[row] & OFFLINE) != 0);
+        ps.setBoolean(15, (this.flags[row] & FREE) != 0);
+        byte statusCode = this.status[row];
+        ps.setString(16, statusCode < 0 ? null : this.statuses[statusCode].name());
+        if (this.managerId[row] == NULL_ID) {
+            ps.setNull(17, Types.INTEGER);
+        } else {
+            ps.setInt(17, this.managerId[row]);
+        }
+    }
+
+    void writeTo(SnapshotOutput out) throws IOException {
+        out.putInt(this.size);
+        for (int row = 0; row < this.size; row++) {
+            out.putInt(this.id[row]);
+        }
+        for (int row = 0; row < this.size; row++) {
+            out.putString(this.name[row]);
+        }
+        for (int row = 0; row < this.size; row++) {
+            out.putString(this.description[row]);
+        }
+        for (long[] time : this.times) {
+            for (int row = 0; row < this.size; row++) {
+                out.putLong(time[row]);
+            }
+        }
+
+        // location 사전 : 블록 안에서 처음 나온 순서로 번호를 붙인다.
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        int[] codes = new int[this.size];
+        for (int row = 0; row < this.size; row++) {
+            String value = this.location[row];
+            if (value == null) {
+                codes[row] = -1;
+                continue;
+            }
+            Integer code = dictionary.get(value);
+            if (code == null) {
+                code = words.size();
+                dictionary.put(value, code);
+                words.add(value);
+            }
+            codes[row] = code;
+        }
+        out.putInt(words.size());
+        for (String word : words) {
+            out.putString(word);
+        }
+        for (int row = 0; row < this.size; row++) {
+            out.putInt(codes[row]);
+        }
+
+        for (int row = 0; row < this.size; row++) {
+            out.putDouble(this.latitude[row]);
+        }
+        for (int row = 0; row < this.size; row++) {
+            out.putDouble(this.longitude[row]);
+        }
+        for (int[] column : new int[][]{this.basePrice, this.maxPrice, this.limitOfEnrollment}) {
+            for (int row = 0; row < this.size; row++) {
+                out.putInt(column[row]);
+            }
+        }
+        for (int row = 0; row < this.size; row++) {
+            out.putByte(this.flags[row]);
+        }
+        for (int row = 0; row < this.size; row++) {
+            out.putByte(this.status[row]);
+        }
+        for (int row = 0; row < this.size; row++) {
+            out.putInt(this.managerId[row]);
+        }
+    }
+
+    /**
+     * 블록 하나 읽기 (블록 크기가 0 이면 false - 섹션 끝)
+     */
+    boolean readFrom(SnapshotInput in) throws IOException {
+        clear();
+        int rows = in.getInt();
+        if (rows == 0) {
+            return false;
+        }
+        if (rows > this.capacity) {
+            throw new IOException("Event block of " + rows + " rows exceeds " + this.capacity);
+        }
+        this.size = rows;
+        for (int row = 0; row < rows; row++) {
+            this.id[row] = in.getInt();
+        }
+        for (int row = 0; row < rows; row++) {
+            this.name[row] = in.getString();
+        }
+        for (int row = 0; row < rows; row++) {
+            this.description[row] = in.getString();
+        }
+        for (long[] time : this.times) {
+            for (int row = 0; row < rows; row++) {
+                time[row] = in.getLong();
+            }
+        }
+        String[] words = new String[in.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.getString();
+        }
+        for (int row = 0; row < rows; row++) {
+            int code = in.getInt();
+            this.location[row] = code < 0 ? null : words[code];
+        }
+        for (int row = 0; row < rows; row++) {
+            this.latitude[row] = in.getDouble();
+        }
+        for (int row = 0; row < rows; row++) {
+            this.longitude[row] = in.getDouble();
+        }
+        for (int[] column : new int[][]{this.basePrice, this.maxPrice, this.limitOfEnrollment}) {
+            for (int row = 0; row < rows; row++) {
+                column[row] = in.getInt();
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            this.flags[row] = (byte) in.getByte();
+        }
+        for (int row = 0; row < rows; row++) {
+            this.status[row] = (byte) in.getByte();
+        }
+        for (int row = 0; row < rows; row++) {
+            this.managerId[row] = in.getInt();
+        }
+        return true;
+    }
+
+    int maxId() {
+        int max = 0;
+        for (int row = 0; row < this.size; row++) {
+            max = Math.max(max, this.id[row]);
+        }
+        return max;
+    }
+
+    private static double doubleOrNaN(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    private static void setDouble(PreparedStatement ps, int column, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            ps.setNull(column, Types.DOUBLE);
+        } else {
+            ps.setDouble(column, value);
+        }
+    }
+}
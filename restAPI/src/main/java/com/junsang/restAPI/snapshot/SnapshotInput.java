@@ -0,0 +1,85 @@
+package com.junsang.restAPI.snapshot;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 스냅샷 파일 읽기 (FileChannel + 버퍼, big-endian)
+ */
+class SnapshotInput implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+    private byte[] bytes = new byte[256];
+
+    SnapshotInput(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer.flip();     // 비어 있는 상태로 시작
+    }
+
+    int getByte() throws IOException {
+        require(1);
+        return this.buffer.get();
+    }
+
+    int getInt() throws IOException {
+        require(4);
+        return this.buffer.getInt();
+    }
+
+    long getLong() throws IOException {
+        require(8);
+        return this.buffer.getLong();
+    }
+
+    double getDouble() throws IOException {
+        require(8);
+        return this.buffer.getDouble();
+    }
+
+    void getBytes(byte[] target, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            require(1);
+            int chunk = Math.min(length - offset, this.buffer.remaining());
+            this.buffer.get(target, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    String getString() throws IOException {
+        int length = getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (this.bytes.length < length) {
+            this.bytes = new byte[Math.max(length, this.bytes.length * 2)];
+        }
+        getBytes(this.bytes, length);
+        return new String(this.bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void require(int bytes) throws IOException {
+        if (this.buffer.remaining() >= bytes) {
+            return;
+        }
+        this.buffer.compact();
+        while (this.buffer.position() < bytes) {
+            if (this.channel.read(this.buffer) < 0) {
+                throw new EOFException("Unexpected end of snapshot file");
+            }
+        }
+        this.buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
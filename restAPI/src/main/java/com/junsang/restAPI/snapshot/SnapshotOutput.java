@@ -0,0 +1,95 @@
+package com.junsang.restAPI.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 스냅샷 파일 쓰기 (FileChannel + 버퍼, big-endian)
+ */
+class SnapshotOutput implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+    private long written;
+
+    SnapshotOutput(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    void putByte(int value) throws IOException {
+        ensure(1);
+        this.buffer.put((byte) value);
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(4);
+        this.buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        ensure(8);
+        this.buffer.putLong(value);
+    }
+
+    void putDouble(double value) throws IOException {
+        ensure(8);
+        this.buffer.putDouble(value);
+    }
+
+    void putBytes(byte[] bytes, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            ensure(1);
+            int chunk = Math.min(length - offset, this.buffer.remaining());
+            this.buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    /**
+     * 길이 (int, null 이면 -1) + UTF-8 바이트
+     */
+    void putString(String value) throws IOException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        putBytes(bytes, bytes.length);
+    }
+
+    long size() {
+        return this.written + this.buffer.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.written += this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            this.channel.force(false);
+        } finally {
+            this.channel.close();
+        }
+    }
+}
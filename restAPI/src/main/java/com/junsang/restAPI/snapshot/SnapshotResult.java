@@ -0,0 +1,15 @@
+package com.junsang.restAPI.snapshot;
+
+import lombok.Value;
+
+/**
+ * 스냅샷 내보내기 / 복원 결과
+ */
+@Value
+public class SnapshotResult {
+
+    long accounts;
+    long events;
+    long bytes;
+    long elapsedMillis;
+}
@@ -0,0 +1,58 @@
+package com.junsang.restAPI.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+
+/**
+ * 명령행 스냅샷 내보내기 / 복원
+ *
+ * ex) java -jar restAPI.jar --app.snapshot.export=/backup/events.snap
+ *     java -jar restAPI.jar --app.snapshot.restore=/backup/events.snap
+ * - 끝나면 종료한다. (app.snapshot.exit-when-done=false 이면 서버를 계속 띄워 둔다)
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)       // 인덱스 / 통계 재구성이 끝난 뒤에
+@ConditionalOnExpression("'${app.snapshot.export:}' != '' or '${app.snapshot.restore:}' != ''")
+public class SnapshotRunner implements ApplicationRunner {
+
+    private final SnapshotService snapshotService;
+    private final ConfigurableApplicationContext context;
+    private final String exportFile;
+    private final String restoreFile;
+    private final boolean exitWhenDone;
+
+    public SnapshotRunner(SnapshotService snapshotService, ConfigurableApplicationContext context,
+                          @Value("${app.snapshot.export:}") String exportFile,
+                          @Value("${app.snapshot.restore:}") String restoreFile,
+                          @Value("${app.snapshot.exit-when-done:true}") boolean exitWhenDone) {
+        this.snapshotService = snapshotService;
+        this.context = context;
+        this.exportFile = exportFile;
+        this.restoreFile = restoreFile;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!this.restoreFile.isEmpty()) {
+            this.snapshotService.restore(Paths.get(this.restoreFile));
+        }
+        if (!this.exportFile.isEmpty()) {
+            this.snapshotService.export(Paths.get(this.exportFile));
+        }
+        if (this.exitWhenDone) {
+            System.exit(SpringApplication.exit(this.context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.junsang.restAPI.snapshot;
+
+import com.junsang.restAPI.accounts.AccountRole;
+import com.junsang.restAPI.archive.EventArchive;
+import com.junsang.restAPI.events.EventStatus;
+import com.junsang.restAPI.events.EventsReloaded;
+import com.junsang.restAPI.sharding.EventShards;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 계정 / 이벤트 전체 스냅샷 (열 단위 바이너리 파일)
+ *
+ * 파일 구성 (big-endian)
+ * - 헤더 : "EVSNAP01", 버전, 생성 시각, EventStatus 사전, AccountRole 사전
+ * - 'A' 섹션 : 계정 블록들 (행 수 0 인 블록으로 끝)
+ * - 'E' 섹션 : 이벤트 블록들 (최대 block-size 행, 행 수 0 인 블록으로 끝)
+ * - 트레일러 : 'Z', 계정 수, 이벤트 수
+ *
+ * 복원은 엔티티를 거치지 않고 JDBC 배치 INSERT 로 블록마다 커밋한다. (threads 개 스레드가 블록을 나눠 쓴다)
+ * 복원 중에는 쓰기 요청을 받지 않는 상태 (점검 / 기동 시 --app.snapshot.restore) 에서 실행한다.
+ * 샤딩 중에는 복원하지 않는다. (shard 마다 id 가 shard 수 간격인 시퀀스를 하나의 시퀀스로 되돌리게 된다)
+ */
+@Slf4j
+@Service
+public class SnapshotService {
+
+    private static final byte[] MAGIC = "EVSNAP01".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int ACCOUNT_SECTION = 'A';
+    private static final int EVENT_SECTION = 'E';
+    private static final int TRAILER = 'Z';
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO account (id, email, password, roles) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_EVENT = "INSERT INTO event (" + EventColumns.COLUMNS + ") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportTemplate;     // 내보내기 전용 (fetch size)
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventShards eventShards;
+    private final int blockSize;
+    private final int threads;
+
+    public SnapshotService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher,
+                           EventShards eventShards,
+                           @Value("${app.snapshot.block-size:65536}") int blockSize,
+                           @Value("${app.snapshot.threads:0}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.exportTemplate.setFetchSize(blockSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.eventShards = eventShards;
+        this.blockSize = blockSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 내보내기 - 한 트랜잭션 안에서 계정, 이벤트 순서로 읽는다. (Primary)
+     */
+    public SnapshotResult export(Path file) throws IOException {
+        long started = System.currentTimeMillis();
+        try (SnapshotOutput out = new SnapshotOutput(file)) {
+            long[] counts = this.transactionTemplate.execute(status -> {
+                try {
+                    writeHeader(out);
+                    long accounts = exportAccounts(out);
+                    long events = exportEvents(out);
+                    out.putByte(TRAILER);
+                    out.putLong(accounts);
+                    out.putLong(events);
+                    return new long[]{accounts, events};
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            SnapshotResult result = new SnapshotResult(counts[0], counts[1], out.size(),
+                    System.currentTimeMillis() - started);
+            log.info("Exported snapshot {} : {}", file, result);
+            return result;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 복원 - 기존 계정 / 이벤트를 지우고 파일 내용으로 바꾼다.
+     *
+     * - 블록 단위로 커밋하므로 중간에 실패하면 일부만 들어간 상태가 된다. (같은 파일로 다시 복원)
+     * - 끝나면 시퀀스를 최대 id (보관 테이블 포함) 뒤로 옮기고, 2차 캐시를 비우고, EventsReloaded 를 발행한다.
+     */
+    public SnapshotResult restore(Path file) throws IOException {
+        if (this.eventShards.count() > 1) {
+            throw new IllegalStateException("Snapshot restore is not supported with " + this.eventShards.count() + " event shards");
+        }
+        long started = System.currentTimeMillis();
+        long accounts = 0;
+        long events = 0;
+        int maxId = 0;
+
+        try (SnapshotInput in = new SnapshotInput(file)) {
+            byte[] magic = new byte[MAGIC.length];
+            in.getBytes(magic, magic.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not an event snapshot : " + file);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            in.getLong();   // 생성 시각
+            EventStatus[] statuses = readDictionary(in, EventStatus.class);
+            AccountRole[] roles = readDictionary(in, AccountRole.class);
+
+            this.transactionTemplate.execute(status -> {
+                // event 는 다른 테이블이 참조하지 않으므로 TRUNCATE (행 단위 DELETE 보다 훨씬 빠르다)
+                this.jdbcTemplate.execute("TRUNCATE TABLE event");
+                this.jdbcTemplate.update("DELETE FROM account");
+                return null;
+            });
+
+            expectSection(in, ACCOUNT_SECTION);
+            AccountColumns accountBlock = new AccountColumns();
+            while (accountBlock.readFrom(in)) {
+                insertAccounts(accountBlock, roles);
+                accounts += accountBlock.size();
+                for (Integer id : accountBlock.id) {
+                    maxId = Math.max(maxId, id);
+                }
+            }
+
+            expectSection(in, EVENT_SECTION);
+            long[] restored = restoreEvents(in, statuses);
+            events = restored[0];
+            maxId = Math.max(maxId, (int) restored[1]);
+
+            expectSection(in, TRAILER);
+            long expectedAccounts = in.getLong();
+            long expectedEvents = in.getLong();
+            if (expectedAccounts != accounts || expectedEvents != events) {
+                throw new IOException("Snapshot row count mismatch : accounts " + accounts + "/" + expectedAccounts +
+                        ", events " + events + "/" + expectedEvents);
+            }
+        }
+
+        // 보관 테이블 (event_archive) 은 복원하지 않으므로 그 id 와도 겹치지 않게 한다.
+        restartSequence(Math.max(maxId, archivedMaxId()) + 1);
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        this.eventPublisher.publishEvent(new EventsReloaded(events));
+
+        SnapshotResult result = new SnapshotResult(accounts, events, Files.size(file),
+                System.currentTimeMillis() - started);
+        log.info("Restored snapshot {} : {}", file, result);
+        return result;
+    }
+
+    private void writeHeader(SnapshotOutput out) throws IOException {
+        out.putBytes(MAGIC, MAGIC.length);
+        out.putInt(VERSION);
+        out.putLong(System.currentTimeMillis());
+        writeDictionary(out, EventStatus.values());
+        writeDictionary(out, AccountRole.values());
+    }
+
+    private long exportAccounts(SnapshotOutput out) throws IOException {
+        out.putByte(ACCOUNT_SECTION);
+        AccountColumns block = new AccountColumns();
+        long[] count = new long[1];
+        // account.roles 비트 번호 = AccountRole 순서 = 헤더 사전 번호
+        this.exportTemplate.query("SELECT id, email, password, roles FROM account ORDER BY id", rs -> {
+            if (block.size() >= this.blockSize) {
+                writeBlock(out, block::writeTo);
+                block.clear();
+            }
+            block.add(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getInt(4));
+            count[0]++;
+        });
+        if (block.size() > 0) {
+            block.writeTo(out);
+        }
+        out.putInt(0);
+        return count[0];
+    }
+
+    private long exportEvents(SnapshotOutput out) throws IOException {
+        out.putByte(EVENT_SECTION);
+        EventColumns block = new EventColumns(this.blockSize, EventStatus.values());
+        long[] count = new long[1];
+        this.exportTemplate.query("SELECT " + EventColumns.COLUMNS + " FROM event ORDER BY id", rs -> {
+            block.add(rs);
+            count[0]++;
+            if (block.isFull()) {
+                writeBlock(out, block::writeTo);
+                block.clear();
+            }
+        });
+        if (block.size() > 0) {
+            block.writeTo(out);
+        }
+        out.putInt(0);
+        return count[0];
+    }
+
+    /**
+     * 이벤트 섹션 복원 - 읽는 스레드가 다음 블록을 푸는 동안 쓰기 스레드들이 앞 블록을 INSERT / 커밋한다.
+     *
+     * @return {복원한 이벤트 수, 최대 id}
+     */
+    private long[] restoreEvents(SnapshotInput in, EventStatus[] statuses) throws IOException {
+        // 블록 버퍼는 쓰기 스레드 수 + 1 개만 돌려 쓴다. (읽기가 앞서 나가도 메모리는 고정)
+        BlockingQueue<EventColumns> free = new ArrayBlockingQueue<>(this.threads + 1);
+        for (int i = 0; i <= this.threads; i++) {
+            free.add(new EventColumns(this.blockSize, statuses));
+        }
+        ExecutorService writers = Executors.newFixedThreadPool(this.threads,
+                new CustomizableThreadFactory("snapshot-restore-"));
+        List<Future<?>> pending = new ArrayList<>();
+        long events = 0;
+        int maxId = 0;
+        try {
+            while (true) {
+                EventColumns block = free.take();
+                if (!block.readFrom(in)) {
+                    break;
+                }
+                events += block.size();
+                maxId = Math.max(maxId, block.maxId());
+                pending.add(writers.submit(() -> {
+                    try {
+                        insertEvents(block);
+                    } finally {
+                        free.add(block);
+                    }
+                }));
+                awaitCompleted(pending, false);
+            }
+            awaitCompleted(pending, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Restore interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Restore failed", e.getCause());
+        } finally {
+            writers.shutdownNow();
+        }
+        return new long[]{events, maxId};
+    }
+
+    /**
+     * 끝난 쓰기 작업의 예외를 바로 올린다. (all 이면 모두 끝날 때까지 기다린다)
+     */
+    private static void awaitCompleted(List<Future<?>> pending, boolean all)
+            throws InterruptedException, ExecutionException {
+        Iterator<Future<?>> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Future<?> future = iterator.next();
+            if (all || future.isDone()) {
+                future.get();
+                iterator.remove();
+            }
+        }
+    }
+
+    private void insertAccounts(AccountColumns block, AccountRole[] roles) {
+        this.transactionTemplate.execute(status -> {
+            this.jdbcTemplate.batchUpdate(INSERT_ACCOUNT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int row) throws SQLException {
+                    ps.setInt(1, block.id.get(row));
+                    ps.setString(2, block.email.get(row));
+                    ps.setString(3, block.password.get(row));
+                    ps.setInt(4, rolesBits(block.roles.get(row), roles));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return block.size();
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * 파일의 역할 비트 (헤더 사전 번호) -> 지금 AccountRole 순서의 비트
+     */
+    private static int rolesBits(long mask, AccountRole[] roles) {
+        int bits = 0;
+        for (int bit = 0; bit < roles.length; bit++) {
+            if ((mask & (1L << bit)) != 0) {
+                bits |= 1 << roles[bit].ordinal();
+            }
+        }
+        return bits;
+    }
+
+    private void insertEvents(EventColumns block) {
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.batchUpdate(INSERT_EVENT,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int row) throws SQLException {
+                        block.bind(ps, row);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return block.size();
+                    }
+                }));
+    }
+
+    private int archivedMaxId() {
+        try {
+            Integer maxId = this.jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + EventArchive.TABLE, Integer.class);
+            return maxId != null ? maxId : 0;
+        } catch (DataAccessException missing) {
+            return 0;       // 보관 테이블을 만들기 전
+        }
+    }
+
+    /**
+     * 엔티티 id 를 만드는 hibernate_sequence 를 복원한 최대 id 뒤로 옮긴다.
+     */
+    private void restartSequence(int next) {
+        String product = this.jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(product)) {
+            this.jdbcTemplate.queryForObject("SELECT setval('hibernate_sequence', ?, false)", Long.class, next);
+        } else {
+            this.jdbcTemplate.execute("ALTER SEQUENCE hibernate_sequence RESTART WITH " + next);
+        }
+    }
+
+    private static void writeDictionary(SnapshotOutput out, Enum<?>[] values) throws IOException {
+        out.putInt(values.length);
+        for (Enum<?> value : values) {
+            out.putString(value.name());
+        }
+    }
+
+    private static <E extends Enum<E>> E[] readDictionary(SnapshotInput in, Class<E> type) throws IOException {
+        int size = in.getInt();
+        @SuppressWarnings("unchecked")
+        E[] values = (E[]) Array.newInstance(type, size);
+        for (int i = 0; i < size; i++) {
+            String name = in.getString();
+            try {
+                values[i] = Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown " + type.getSimpleName() + " in snapshot : " + name);
+            }
+        }
+        return values;
+    }
+
+    private static void expectSection(SnapshotInput in, int section) throws IOException {
+        int actual = in.getByte();
+        if (actual != section) {
+            throw new IOException("Expected snapshot section '" + (char) section + "' but was " + actual);
+        }
+    }
+
+    private static void writeBlock(SnapshotOutput out, BlockWriter writer) {
+        try {
+            writer.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface BlockWriter {
+        void writeTo(SnapshotOutput out) throws IOException;
+    }
+}
@@ -0,0 +1,25 @@
+package com.junsang.restAPI.stats;
+
+import com.junsang.restAPI.events.EventStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트 통계 (GET /api/events/stats 응답 본문)
+ */
+@Value
+public class EventStats {
+
+    long total;
+    Map<EventStatus, Long> byStatus;
+    long free;
+    long paid;
+    long offline;
+    long online;
+    List<PriceBucket> basePrice;
+    List<PriceBucket> maxPrice;
+    LocalDateTime rebuiltAt;
+}
@@ -0,0 +1,34 @@
+package com.junsang.restAPI.stats;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@Controller
+public class EventStatsController {
+
+    private final EventStatsService eventStatsService;
+
+    public EventStatsController(EventStatsService eventStatsService) {
+        this.eventStatsService = eventStatsService;
+    }
+
+    /**
+     * 이벤트 통계 조회 API
+     * - 상태별, 무료/유료, 오프라인/온라인, 가격 구간별 이벤트 수
+     * - 미리 계산된 카운터를 읽으므로 이벤트 수와 관계없이 일정한 시간에 응답한다.
+     */
+    @GetMapping(value = "/api/events/stats", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<EntityModel<EventStats>> getEventStats() {
+        EntityModel<EventStats> statsResource = EntityModel.of(this.eventStatsService.stats());
+        statsResource.add(linkTo(methodOn(EventStatsController.class).getEventStats()).withSelfRel());
+        statsResource.add(Link.of("/docs/index.html#resources-events-stats").withRel("profile"));
+        return ResponseEntity.ok(statsResource);
+    }
+}
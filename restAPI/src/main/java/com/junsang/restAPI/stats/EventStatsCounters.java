@@ -0,0 +1,97 @@
+package com.junsang.restAPI.stats;
+
+import com.junsang.restAPI.events.EventSnapshot;
+import com.junsang.restAPI.events.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이벤트 통계 카운터
+ *
+ * - 변경마다 이전 값을 빼고 새 값을 더한다. (조회는 카운터 개수만큼만 읽으므로 테이블 크기와 무관)
+ * - 가격 구간은 priceBounds[i] <= price < priceBounds[i + 1] 이며 마지막 구간은 상한이 없다.
+ */
+class EventStatsCounters {
+
+    private final int[] priceBounds;
+    private final LocalDateTime rebuiltAt;
+
+    private final LongAdder total = new LongAdder();
+    private final Map<EventStatus, LongAdder> byStatus = new EnumMap<>(EventStatus.class);
+    private final LongAdder free = new LongAdder();
+    private final LongAdder offline = new LongAdder();
+    private final LongAdder[] basePrice;
+    private final LongAdder[] maxPrice;
+
+    EventStatsCounters(int[] priceBounds, LocalDateTime rebuiltAt) {
+        this.priceBounds = priceBounds;
+        this.rebuiltAt = rebuiltAt;
+        for (EventStatus status : EventStatus.values()) {
+            this.byStatus.put(status, new LongAdder());
+        }
+        this.basePrice = adders(priceBounds.length);
+        this.maxPrice = adders(priceBounds.length);
+    }
+
+    void add(EventSnapshot event, long delta) {
+        add(event.getEventStatus(), event.isFree(), event.isOffline(), event.getBasePrice(), event.getMaxPrice(), delta);
+    }
+
+    void add(EventStatus status, boolean isFree, boolean isOffline, int basePriceValue, int maxPriceValue, long delta) {
+        this.total.add(delta);
+        if (status != null) {
+            this.byStatus.get(status).add(delta);
+        }
+        if (isFree) {
+            this.free.add(delta);
+        }
+        if (isOffline) {
+            this.offline.add(delta);
+        }
+        this.basePrice[bucketOf(basePriceValue)].add(delta);
+        this.maxPrice[bucketOf(maxPriceValue)].add(delta);
+    }
+
+    EventStats snapshot() {
+        Map<EventStatus, Long> statusCounts = new EnumMap<>(EventStatus.class);
+        this.byStatus.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        long totalCount = this.total.sum();
+        long freeCount = this.free.sum();
+        long offlineCount = this.offline.sum();
+        return new EventStats(totalCount, statusCounts,
+                freeCount, totalCount - freeCount,
+                offlineCount, totalCount - offlineCount,
+                histogram(this.basePrice), histogram(this.maxPrice), this.rebuiltAt);
+    }
+
+    private int bucketOf(int price) {
+        int index = Arrays.binarySearch(this.priceBounds, price);
+        if (index < 0) {
+            index = -index - 2;     // price 보다 작은 가장 큰 하한
+        }
+        return Math.max(0, index);
+    }
+
+    private List<PriceBucket> histogram(LongAdder[] counts) {
+        List<PriceBucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            Integer to = i + 1 < this.priceBounds.length ? this.priceBounds[i + 1] : null;
+            buckets.add(new PriceBucket(this.priceBounds[i], to, counts[i].sum()));
+        }
+        return buckets;
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
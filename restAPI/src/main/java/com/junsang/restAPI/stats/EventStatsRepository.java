@@ -0,0 +1,28 @@
+package com.junsang.restAPI.stats;
+
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventStatus;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * 통계 재계산용 집계 쿼리 (이벤트 행을 가져오지 않고 DB 에서 묶어서 센다)
+ */
+public interface EventStatsRepository extends Repository<Event, Integer> {
+
+    @Query("select e.eventStatus as eventStatus, e.free as free, e.offline as offline, " +
+            "e.basePrice as basePrice, e.maxPrice as maxPrice, count(e) as count " +
+            "from Event e group by e.eventStatus, e.free, e.offline, e.basePrice, e.maxPrice")
+    List<Row> countGrouped();
+
+    interface Row {
+        EventStatus getEventStatus();
+        boolean isFree();
+        boolean isOffline();
+        int getBasePrice();
+        int getMaxPrice();
+        long getCount();
+    }
+}
@@ -0,0 +1,83 @@
+package com.junsang.restAPI.stats;
+
+import com.junsang.restAPI.events.EventChange;
+import com.junsang.restAPI.events.EventsReloaded;
+import com.junsang.restAPI.sharding.EventShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 이벤트 통계 관리
+ *
+ * - 기동 시 DB 집계 쿼리로 한 번 계산하고, 이후에는 커밋된 EventChange 로 카운터만 갱신한다.
+ * - 재계산 중에 커밋된 변경은 반영되지 않을 수 있으므로 재계산은 기동 시점처럼 쓰기가 적을 때 한다.
+ */
+@Slf4j
+@Service
+public class EventStatsService implements ApplicationRunner {
+
+    private final EventStatsRepository eventStatsRepository;
+    private final EventShards eventShards;
+    private final int[] priceBounds;
+    private volatile EventStatsCounters counters;
+
+    public EventStatsService(EventStatsRepository eventStatsRepository, EventShards eventShards,
+                             @Value("${app.events.stats.price-buckets:0,1,10000,50000,100000}") int[] priceBounds) {
+        this.eventStatsRepository = eventStatsRepository;
+        this.eventShards = eventShards;
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.counters = new EventStatsCounters(this.priceBounds, null);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    public EventStats stats() {
+        return this.counters.snapshot();
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        EventStatsCounters rebuilt = new EventStatsCounters(this.priceBounds, LocalDateTime.now());
+        for (List<EventStatsRepository.Row> rows : this.eventShards.readEach(shard -> this.eventStatsRepository.countGrouped())) {
+            for (EventStatsRepository.Row row : rows) {
+                rebuilt.add(row.getEventStatus(), row.isFree(), row.isOffline(),
+                        row.getBasePrice(), row.getMaxPrice(), row.getCount());
+            }
+        }
+        this.counters = rebuilt;
+        log.info("Event stats rebuilt in {} ms ({} events)", System.currentTimeMillis() - started,
+                rebuilt.snapshot().getTotal());
+    }
+
+    /**
+     * 스냅샷 복원 등으로 테이블이 통째로 바뀐 경우
+     */
+    @EventListener
+    public void onEventsReloaded(EventsReloaded reloaded) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        EventStatsCounters current = this.counters;
+        if (change.getBefore() != null) {
+            current.add(change.getBefore(), -1);
+        }
+        if (change.getAfter() != null) {
+            current.add(change.getAfter(), 1);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.junsang.restAPI.stats;
+
+import lombok.Value;
+
+/**
+ * 가격 구간 [from, to) 별 이벤트 수 (to 가 null 이면 상한 없음)
+ */
+@Value
+public class PriceBucket {
+
+    int from;
+    Integer to;
+    long count;
+}
@@ -0,0 +1,200 @@
+package com.junsang.restAPI.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.events.EventChange;
+import com.junsang.restAPI.events.EventsReloaded;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 변경 스트림 브로커
+ *
+ * - 커밋된 EventChange 를 SSE 메시지로 바꿔 모든 구독자에게 보낸다.
+ * - 최근 메시지는 링 버퍼에 남겨 두고, 다시 연결한 클라이언트에게 Last-Event-ID 이후 메시지를 먼저 보낸다.
+ * - 버퍼 범위를 벗어난 Last-Event-ID 에는 reset 메시지를 보낸다. (클라이언트는 GET /api/events 로 다시 조회)
+ * - 유휴 연결은 스레드를 잡지 않고 (Servlet async), heartbeat 로 끊긴 연결을 정리한다.
+ * - 쓰기가 send-timeout 을 넘긴 구독자는 끊고, 그 쓰기가 풀릴 때 까지 sender 스레드를 하나 더 둔다.
+ *   (느린 연결 몇 개가 sender 스레드를 모두 잡아 다른 구독자가 멈추지 않도록, 최대 max-stalled-senders 개)
+ */
+@Slf4j
+public class EventStreamBroker implements DisposableBean {
+
+    private final EventStreamProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final Object lock = new Object();
+    private final EventStreamMessage[] ring;
+    private long lastId;    // lock 으로 보호
+
+    private final Set<EventStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService heartbeat;
+    private int stalledSenders;     // sender 로 보호
+
+    public EventStreamBroker(EventStreamProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.ring = new EventStreamMessage[properties.getReplaySize()];
+        this.sender = new ThreadPoolExecutor(properties.getSenderThreads(), properties.getSenderThreads(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new CustomizableThreadFactory("event-stream-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("event-stream-heartbeat-"));
+
+        long interval = properties.getHeartbeatInterval().toMillis();
+        this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        long checkInterval = Math.max(1, properties.getSendTimeout().toMillis() / 2);
+        this.heartbeat.scheduleWithFixedDelay(this::checkStalledWrites, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 커밋된 변경만 보낸다. (트랜잭션 밖에서 저장된 경우에도 전달)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("type", change.getType());
+        data.put("event", change.getAfter() != null ? change.getAfter() : change.getBefore());
+        try {
+            publish(change.getType().name().toLowerCase(Locale.ROOT).replace('_', '-'),
+                    this.objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize event change for event {}", change.getEventId(), e);
+        }
+    }
+
+    /**
+     * 테이블이 통째로 바뀌면 구독자에게 처음부터 다시 조회하도록 알린다.
+     */
+    @EventListener
+    public void onEventsReloaded(EventsReloaded reloaded) {
+        publish(EventStreamMessage.RESET, "{}");
+    }
+
+    public EventStreamMessage publish(String name, String data) {
+        synchronized (this.lock) {
+            EventStreamMessage message = new EventStreamMessage(++this.lastId, name, data);
+            this.ring[(int) (message.getId() % this.ring.length)] = message;
+            for (EventStreamSubscriber subscriber : this.subscribers) {
+                subscriber.offer(message);
+            }
+            return message;
+        }
+    }
+
+    /**
+     * 구독 시작
+     *
+     * @param lastEventId 클라이언트가 마지막으로 받은 메시지 id (없으면 null)
+     * @return 최대 구독자 수를 넘으면 false
+     */
+    public boolean subscribe(SseEmitter emitter, Long lastEventId) {
+        if (this.subscribers.size() >= this.properties.getMaxSubscribers()) {
+            return false;
+        }
+
+        EventStreamSubscriber subscriber = new EventStreamSubscriber(emitter, this.properties.getSubscriberBuffer(),
+                this.sender, this.subscribers::remove, this::stallEnded);
+
+        // 다시 보낼 메시지와 새 메시지 사이에 빠지는 것이 없도록 발행과 같은 lock 안에서 등록
+        synchronized (this.lock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            this.subscribers.add(subscriber);
+        }
+        return true;
+    }
+
+    public int subscriberCount() {
+        return this.subscribers.size();
+    }
+
+    public long lastEventId() {
+        synchronized (this.lock) {
+            return this.lastId;
+        }
+    }
+
+    private void replay(EventStreamSubscriber subscriber, long lastEventId) {
+        long oldest = Math.max(1, this.lastId - this.ring.length + 1);
+        long missed = this.lastId - lastEventId;
+        if (lastEventId < oldest - 1 || missed < 0 || missed > this.properties.getSubscriberBuffer()) {
+            // 버퍼에 없는 범위 (또는 재시작 전 id) - 처음부터 다시 조회하도록 알린다.
+            subscriber.offer(new EventStreamMessage(this.lastId, EventStreamMessage.RESET, "{}"));
+            return;
+        }
+        for (long id = lastEventId + 1; id <= this.lastId; id++) {
+            subscriber.offer(this.ring[(int) (id % this.ring.length)]);
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (EventStreamSubscriber subscriber : this.subscribers) {
+            subscriber.offer(EventStreamMessage.HEARTBEAT);
+        }
+    }
+
+    private void checkStalledWrites() {
+        long now = System.nanoTime();
+        long timeout = this.properties.getSendTimeout().toNanos();
+        for (EventStreamSubscriber subscriber : this.subscribers) {
+            if (subscriber.checkStalled(now, timeout)) {
+                stallStarted();
+            }
+        }
+    }
+
+    /**
+     * 막힌 쓰기가 잡고 있는 sender 스레드 대신 쓸 스레드를 하나 늘린다.
+     */
+    private void stallStarted() {
+        synchronized (this.sender) {
+            if (this.stalledSenders >= this.properties.getMaxStalledSenders()) {
+                this.stalledSenders++;
+                return;
+            }
+            this.stalledSenders++;
+            int size = this.sender.getMaximumPoolSize() + 1;
+            this.sender.setMaximumPoolSize(size);
+            this.sender.setCorePoolSize(size);
+        }
+    }
+
+    private void stallEnded() {
+        synchronized (this.sender) {
+            this.stalledSenders--;
+            int size = this.properties.getSenderThreads() + Math.min(this.stalledSenders, this.properties.getMaxStalledSenders());
+            if (size < this.sender.getCorePoolSize()) {
+                this.sender.setCorePoolSize(size);
+                this.sender.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    int senderThreads() {
+        return this.sender.getCorePoolSize();
+    }
+
+    @Override
+    public void destroy() {
+        this.heartbeat.shutdownNow();
+        this.sender.shutdownNow();
+        this.subscribers.clear();
+    }
+}
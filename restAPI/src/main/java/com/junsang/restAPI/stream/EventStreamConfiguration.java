@@ -0,0 +1,18 @@
+package com.junsang.restAPI.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.event-stream.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(EventStreamProperties.class)
+public class EventStreamConfiguration {
+
+    @Bean
+    public EventStreamBroker eventStreamBroker(EventStreamProperties properties, ObjectMapper objectMapper) {
+        return new EventStreamBroker(properties, objectMapper);
+    }
+}
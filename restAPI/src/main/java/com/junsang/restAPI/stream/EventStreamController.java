@@ -0,0 +1,50 @@
+package com.junsang.restAPI.stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 이벤트 변경 스트림 API (Server-Sent Events)
+ *
+ * - GET /api/events 를 주기적으로 다시 조회하는 대신 생성 / 수정 / 상태 변경을 받는다.
+ *   event: created | updated | status-changed | deleted | reset
+ *   data : {"type": "...", "event": {...}}
+ * - 다시 연결할 때 Last-Event-ID 헤더를 보내면 그 이후 메시지부터 받는다.
+ */
+@Controller
+@ConditionalOnProperty(name = "app.event-stream.enabled", havingValue = "true", matchIfMissing = true)
+public class EventStreamController {
+
+    private final EventStreamBroker eventStreamBroker;
+    private final EventStreamProperties properties;
+
+    public EventStreamController(EventStreamBroker eventStreamBroker, EventStreamProperties properties) {
+        this.eventStreamBroker = eventStreamBroker;
+        this.properties = properties;
+    }
+
+    @GetMapping(value = "/api/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(this.properties.getTimeout().toMillis());
+        if (!this.eventStreamBroker.subscribe(emitter, lastEventId)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+
+        // 프록시 (nginx 등) 가 스트림을 모아서 보내지 않도록
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
@@ -0,0 +1,25 @@
+package com.junsang.restAPI.stream;
+
+import lombok.Value;
+
+/**
+ * 스트림으로 보내는 메시지 (id / event / data)
+ *
+ * - id 는 1 부터 증가하며 클라이언트가 Last-Event-ID 로 돌려준다.
+ * - heartbeat 는 id 없이 주석으로만 보낸다.
+ */
+@Value
+public class EventStreamMessage {
+
+    public static final String RESET = "reset";
+
+    static final EventStreamMessage HEARTBEAT = new EventStreamMessage(0, null, null);
+
+    long id;
+    String name;
+    String data;
+
+    boolean isHeartbeat() {
+        return this == HEARTBEAT;
+    }
+}
@@ -0,0 +1,41 @@
+package com.junsang.restAPI.stream;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 이벤트 변경 스트림 설정 (app.event-stream.*)
+ */
+@Getter @Setter
+@ConfigurationProperties("app.event-stream")
+public class EventStreamProperties {
+
+    private boolean enabled = true;
+
+    // Last-Event-ID 로 다시 받을 수 있는 최근 메시지 수 (링 버퍼 크기)
+    private int replaySize = 1024;
+
+    // 구독자별 대기 메시지 수 (넘으면 느린 구독자로 보고 연결을 끊는다)
+    private int subscriberBuffer = 256;
+
+    // 최대 동시 구독자 수 (넘으면 503)
+    private int maxSubscribers = 10_000;
+
+    // 구독자에게 메시지를 쓰는 스레드 수 (연결마다 스레드를 잡지 않는다)
+    private int senderThreads = 4;
+
+    // 메시지 하나를 쓰는 데 이보다 오래 걸리면 멈춘 구독자로 보고 끊는다.
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    // 멈춘 쓰기 대신 더 둘 수 있는 sender 스레드 수
+    private int maxStalledSenders = 16;
+
+    // 유휴 연결 확인용 주석 (: heartbeat) 전송 간격
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // 연결 유지 시간 (끝나면 클라이언트가 Last-Event-ID 로 다시 연결)
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,161 @@
+package com.junsang.restAPI.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 스트림 구독자 (SSE 연결 하나)
+ *
+ * - 발행하는 쪽은 큐에 넣기만 하고, 실제 쓰기는 공용 sender 스레드가 한다. (발행이 느린 연결에 막히지 않음)
+ * - 큐가 가득 차면 따라오지 못하는 구독자로 보고 연결을 끊는다. 클라이언트는 Last-Event-ID 로 다시 연결한다.
+ *   끊는 것은 발행하는 쪽에서 바로 하고, 쓰는 중이면 그 쓰기가 끝난 sender 가 emitter 를 완료한다. (sender 대기열을 거치지 않음)
+ * - 한 번의 쓰기가 send-timeout 을 넘으면 (checkStalled) 멈춘 구독자로 보고 끊는다.
+ *   막힌 쓰기는 소켓 쓰기 타임아웃 (server.tomcat.connection-timeout) 에 풀리고, 그동안 onStallEnded 를 부를 때 까지 sender 자리를 따로 센다.
+ */
+@Slf4j
+class EventStreamSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<EventStreamMessage> queue;
+    private final Executor sender;
+    private final Consumer<EventStreamSubscriber> onClose;
+    private final Runnable onStallEnded;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean stalled = new AtomicBoolean();
+    private volatile long writeStartedNanos;    // 쓰는 중이 아니면 0
+
+    EventStreamSubscriber(SseEmitter emitter, int bufferSize, Executor sender,
+                          Consumer<EventStreamSubscriber> onClose, Runnable onStallEnded) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.onClose = onClose;
+        this.onStallEnded = onStallEnded;
+
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(e -> close());
+    }
+
+    /**
+     * 메시지를 큐에 넣는다. (대기 없음)
+     *
+     * @return 큐가 가득 차서 구독자를 끊었으면 false
+     */
+    boolean offer(EventStreamMessage message) {
+        if (this.closed.get()) {
+            return false;
+        }
+        if (!this.queue.offer(message)) {
+            log.debug("Dropping slow event stream subscriber ({} pending messages)", this.queue.size());
+            close();
+            completeIfIdle();
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * 지금 쓰고 있는 메시지가 timeoutNanos 를 넘겼으면 구독자를 끊는다.
+     *
+     * @return 이번에 멈춘 것으로 판단했으면 true
+     */
+    boolean checkStalled(long nowNanos, long timeoutNanos) {
+        long started = this.writeStartedNanos;
+        if (started == 0 || nowNanos - started <= timeoutNanos || !this.stalled.compareAndSet(false, true)) {
+            return false;
+        }
+        log.debug("Dropping stalled event stream subscriber (write blocked for {} ms)",
+                TimeUnit.NANOSECONDS.toMillis(nowNanos - started));
+        close();
+        return true;
+    }
+
+    boolean isClosed() {
+        return this.closed.get();
+    }
+
+    int pending() {
+        return this.queue.size();
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            EventStreamMessage message;
+            while (!this.closed.get() && (message = this.queue.poll()) != null) {
+                send(message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊었거나 이미 완료된 emitter
+            close();
+        } finally {
+            if (this.closed.get()) {
+                complete();         // scheduled 는 그대로 두어 다시 완료하지 않는다.
+            } else {
+                this.scheduled.set(false);
+            }
+        }
+        if (!this.closed.get() && !this.queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void send(EventStreamMessage message) throws IOException {
+        this.writeStartedNanos = System.nanoTime() | 1;
+        try {
+            if (message.isHeartbeat()) {
+                this.emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            this.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(message.getId()))
+                    .name(message.getName())
+                    .data(message.getData()));
+        } finally {
+            this.writeStartedNanos = 0;
+            if (this.stalled.get()) {
+                this.onStallEnded.run();
+            }
+        }
+    }
+
+    /**
+     * 쓰는 중인 sender 가 없을 때만 바로 완료한다. (있으면 그 sender 가 쓰기를 마치고 완료)
+     */
+    private void completeIfIdle() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        try {
+            this.emitter.complete();
+        } catch (IllegalStateException e) {
+            // 이미 완료된 emitter
+        }
+    }
+
+    private void close() {
+        if (this.closed.compareAndSet(false, true)) {
+            this.queue.clear();
+            this.onClose.accept(this);
+        }
+    }
+}
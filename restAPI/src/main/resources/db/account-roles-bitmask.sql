@@ -0,0 +1,13 @@
+-- account_roles (계정당 역할 행) -> account.roles (int 비트마스크) 이전
+-- 비트 번호는 AccountRole 순서 : ADMIN = 1, USER = 2
+-- ddl-auto 로 스키마를 만들지 않는 DB 에서 배포 전에 한 번 실행한다.
+
+ALTER TABLE account ADD COLUMN roles INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE account a SET roles = (
+    SELECT COALESCE(SUM(CASE r.roles WHEN 'ADMIN' THEN 1 WHEN 'USER' THEN 2 ELSE 0 END), 0)
+    FROM account_roles r
+    WHERE r.account_id = a.id
+);
+
+DROP TABLE account_roles;
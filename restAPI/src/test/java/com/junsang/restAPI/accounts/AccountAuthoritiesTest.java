@@ -0,0 +1,58 @@
+package com.junsang.restAPI.accounts;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비트마스크로 저장한 역할도 이전 (account_roles) 과 같은 권한으로 변환되는지
+ */
+@SpringBootTest(properties = "app.warm-up.enabled=false")
+class AccountAuthoritiesTest {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Test
+    @TestDescription("역할 조합마다 ROLE_{이름} 권한을 그대로 돌려준다")
+    public void authoritiesOfEveryRoleCombination() {
+        AccountRole[] values = AccountRole.values();
+        for (int bits = 0; bits < 1 << values.length; bits++) {
+            // Given
+            Set<AccountRole> roles = EnumSet.noneOf(AccountRole.class);
+            for (AccountRole role : values) {
+                if ((bits & 1 << role.ordinal()) != 0) {
+                    roles.add(role);
+                }
+            }
+            String email = "authorities" + bits + "@email.com";
+            this.accountRepository.save(Account.builder()
+                    .email(email)
+                    .password("pass")
+                    .roles(roles)
+                    .build());
+
+            // When
+            UserDetails userDetails = this.accountService.loadUserByUsername(email);
+
+            // Then : 이전 구현 (역할마다 SimpleGrantedAuthority) 과 같은 권한
+            Set<GrantedAuthority> expected = roles.stream()
+                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                    .collect(Collectors.toSet());
+            assertThat(userDetails.getAuthorities()).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.junsang.restAPI.accounts;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountRolesTest {
+
+    @Test
+    @TestDescription("비트마스크 역할 집합은 EnumSet 과 같은 Set 으로 동작하고 컬럼 값과 오간다")
+    public void behavesLikeEnumSet() {
+        // Given
+        AccountRoles roles = AccountRoles.of(AccountRole.USER);
+        AccountRolesConverter converter = new AccountRolesConverter();
+
+        // When
+        roles.add(AccountRole.ADMIN);
+        Integer column = converter.convertToDatabaseColumn(roles);
+
+        // Then
+        assertThat(roles).isEqualTo(EnumSet.allOf(AccountRole.class)).hasSize(2);
+        assertThat(roles).containsExactly(AccountRole.ADMIN, AccountRole.USER);    // ordinal 순서
+        assertThat(column).isEqualTo(3);
+        assertThat(converter.convertToDatabaseColumn(new HashSet<>(Arrays.asList(AccountRole.USER)))).isEqualTo(2);
+        assertThat(converter.convertToDatabaseColumn(null)).isZero();
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(roles);
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+
+        roles.remove(AccountRole.ADMIN);
+        assertThat(roles.bits()).isEqualTo(2);
+        assertThat(roles.contains(AccountRole.ADMIN)).isFalse();
+    }
+
+    @Test
+    @TestDescription("account_roles 행을 account.roles 비트마스크로 옮기고 account_roles 를 지운다")
+    public void bitmaskMigration() {
+        // Given : 이전 스키마 (계정당 역할 행)
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.execute("CREATE TABLE account (id INTEGER PRIMARY KEY, email VARCHAR(255), password VARCHAR(255))");
+            jdbcTemplate.execute("CREATE TABLE account_roles (account_id INTEGER NOT NULL, roles VARCHAR(255))");
+            jdbcTemplate.update("INSERT INTO account (id, email, password) VALUES (1, 'admin@email.com', 'pass'), "
+                    + "(2, 'user@email.com', 'pass'), (3, 'none@email.com', 'pass')");
+            jdbcTemplate.update("INSERT INTO account_roles (account_id, roles) VALUES (1, 'ADMIN'), (1, 'USER'), (2, 'USER')");
+
+            // When
+            new ResourceDatabasePopulator(new ClassPathResource("db/account-roles-bitmask.sql")).execute(database);
+
+            // Then
+            AccountRolesConverter converter = new AccountRolesConverter();
+            assertThat(converter.convertToEntityAttribute(roles(jdbcTemplate, 1)))
+                    .isEqualTo(EnumSet.of(AccountRole.ADMIN, AccountRole.USER));
+            assertThat(converter.convertToEntityAttribute(roles(jdbcTemplate, 2)))
+                    .isEqualTo(Collections.singleton(AccountRole.USER));
+            assertThat(converter.convertToEntityAttribute(roles(jdbcTemplate, 3))).isEmpty();
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                    + "WHERE TABLE_NAME = 'ACCOUNT_ROLES'", Integer.class)).isZero();
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    private static Integer roles(JdbcTemplate jdbcTemplate, int accountId) {
+        return jdbcTemplate.queryForObject("SELECT roles FROM account WHERE id = ?", Integer.class, accountId);
+    }
+}
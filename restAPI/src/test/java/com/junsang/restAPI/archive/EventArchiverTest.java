@@ -0,0 +1,144 @@
+package com.junsang.restAPI.archive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventController;
+import com.junsang.restAPI.events.EventFields;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.events.archive.retention-days=30",
+        "app.events.archive.batch-size=2",
+        "app.events.archive.batch-pause-millis=0"
+})
+class EventArchiverTest {
+
+    @Autowired
+    EventArchiver eventArchiver;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EventController eventController;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PagedResourcesAssembler<Event> pagedResourcesAssembler;
+
+    @Autowired
+    PagedResourcesAssembler<EventFields> fieldsAssembler;
+
+    @BeforeEach
+    public void setUp() {
+        this.jdbcTemplate.update("DELETE FROM " + EventArchive.TABLE);
+        this.eventRepository.deleteAll();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/events")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @TestDescription("보관 기간이 지난 ENDED 이벤트만 보관 테이블로 옮기고, 조회는 보관 테이블까지 찾는다")
+    public void archivesEndedEventsPastRetention() throws Exception {
+        // Given
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(90);
+        Event[] archived = {
+                save("ended 1", EventStatus.ENDED, longAgo),
+                save("ended 2", EventStatus.ENDED, longAgo),
+                save("ended 3", EventStatus.ENDED, longAgo)
+        };
+        Event recentlyEnded = save("ended recently", EventStatus.ENDED, LocalDateTime.now().minusDays(1));
+        Event published = save("published", EventStatus.PUBLISHED, longAgo);
+
+        // When (배치 크기 2 - 두 번에 나눠 옮긴다)
+        long moved = this.eventArchiver.archive();
+
+        // Then
+        assertThat(moved).isEqualTo(3);
+        assertThat(this.eventRepository.findAll()).extracting(Event::getId)
+                .containsExactlyInAnyOrder(recentlyEnded.getId(), published.getId());
+        assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + EventArchive.TABLE, Integer.class))
+                .isEqualTo(3);
+
+        ResponseEntity<?> response = this.eventController.getEvent(archived[0].getId(), null);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(json(response).get("name").asText()).isEqualTo("ended 1");
+
+        response = this.eventController.getEvent(archived[1].getId(), Collections.singletonList("eventStatus"));
+        assertThat(json(response).get("eventStatus").asText()).isEqualTo("ENDED");
+    }
+
+    @Test
+    @TestDescription("목록 조회는 includeArchived 일 때만 보관된 이벤트를 함께 정렬해 돌려준다")
+    public void queryEventsIncludesArchiveOnlyWhenAsked() throws Exception {
+        // Given
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(90);
+        save("a", EventStatus.ENDED, longAgo);
+        save("b", EventStatus.PUBLISHED, longAgo);
+        save("c", EventStatus.ENDED, longAgo);
+        save("d", EventStatus.PUBLISHED, longAgo);
+        this.eventArchiver.archive();
+        PageRequest pageable = PageRequest.of(0, 3, Sort.by("name"));
+
+        // When & Then
+        JsonNode hot = json(this.eventController.queryEvents(pageable, null, false, null, this.pagedResourcesAssembler, this.fieldsAssembler));
+        assertThat(hot.at("/page/totalElements").asInt()).isEqualTo(2);
+
+        JsonNode all = json(this.eventController.queryEvents(pageable, null, true, null, this.pagedResourcesAssembler, this.fieldsAssembler));
+        assertThat(all.at("/page/totalElements").asInt()).isEqualTo(4);
+        assertThat(all.at("/_embedded/eventList/0/name").asText()).isEqualTo("a");
+        assertThat(all.at("/_embedded/eventList/1/name").asText()).isEqualTo("b");
+        assertThat(all.at("/_embedded/eventList/2/name").asText()).isEqualTo("c");
+
+        JsonNode fields = json(this.eventController.queryEvents(pageable, Collections.singletonList("eventStatus"), true, null,
+                this.pagedResourcesAssembler, this.fieldsAssembler));
+        assertThat(fields.at("/_embedded/eventList/2/eventStatus").asText()).isEqualTo("ENDED");
+    }
+
+    private Event save(String name, EventStatus status, LocalDateTime end) {
+        return this.eventRepository.save(Event.builder()
+                .name(name)
+                .beginEventDateTime(end.minusHours(2))
+                .endEventDateTime(end)
+                .eventStatus(status)
+                .build());
+    }
+
+    private JsonNode json(ResponseEntity<?> response) throws Exception {
+        Object body = response.getBody();
+        return body instanceof byte[]
+                ? this.objectMapper.readTree((byte[]) body)
+                : this.objectMapper.valueToTree(body);
+    }
+}
@@ -0,0 +1,112 @@
+package com.junsang.restAPI.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.audit.directory=${java.io.tmpdir}/restAPI-audit-test-${random.uuid}",
+        "app.audit.segment-size=1KB",
+        "app.audit.max-files=1000"
+})
+class AuditLogTest {
+
+    @Autowired
+    AuditLog auditLog;
+
+    @Autowired
+    AuditProperties auditProperties;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @TestDescription("접근 기록과 커밋된 이벤트 변경을 순서대로 세그먼트 파일에 쓰고, 조건으로 다시 읽는다")
+    public void writesAndReplaysRecords() throws Exception {
+        // Given
+        AccessLogInterceptor interceptor = new AccessLogInterceptor(this.auditLog);
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/" + i);
+            request.setRemoteUser("user@email.com");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            interceptor.preHandle(request, response, null);
+            response.setStatus(i % 2 == 0 ? 200 : 404);
+            interceptor.afterCompletion(request, response, null, null);
+        }
+        Event event = this.eventRepository.save(Event.builder()
+                .name("audited").eventStatus(EventStatus.DRAFT).build());
+        event.setEventStatus(EventStatus.PUBLISHED);
+        this.eventRepository.save(event);
+
+        // When
+        this.auditLog.flush(5000);
+        AuditLogReader reader = new AuditLogReader(Paths.get(this.auditProperties.getDirectory()), this.objectMapper);
+
+        // Then (1KB 세그먼트 - 여러 파일로 나뉘어도 쓴 순서대로 읽는다)
+        assertThat(RollingMappedFile.segments(Paths.get(this.auditProperties.getDirectory())).size()).isGreaterThan(1);
+
+        List<JsonNode> access = new ArrayList<>();
+        assertThat(reader.replay(AuditQuery.parse("kind=ACCESS,path=/api/events/"), access::add)).isEqualTo(20);
+        for (int i = 0; i < 20; i++) {
+            assertThat(access.get(i).get("path").asText()).isEqualTo("/api/events/" + i);
+            assertThat(access.get(i).get("status").asInt()).isEqualTo(i % 2 == 0 ? 200 : 404);
+            assertThat(access.get(i).get("user").asText()).isEqualTo("user@email.com");
+        }
+
+        List<JsonNode> changes = new ArrayList<>();
+        reader.replay(AuditQuery.parse("eventId=" + event.getId()), changes::add);
+        assertThat(changes).extracting(record -> record.get("kind").asText())
+                .containsExactly("EVENT_CREATED", "EVENT_STATUS_CHANGED");
+        assertThat(changes.get(1).get("eventStatus").asText()).isEqualTo("PUBLISHED");
+
+        assertThat(reader.replay(AuditQuery.parse("from=2000-01-01T00:00,to=2001-01-01T00:00"), record -> { }))
+                .isZero();
+
+        // 명령행 조회는 스프링 컨텍스트 없이 파일만 읽는다.
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(out, true));
+        try {
+            AuditQueryRunner.main(new String[]{"--app.audit.query=eventId=" + event.getId(),
+                    "--app.audit.directory=" + this.auditProperties.getDirectory()});
+        } finally {
+            System.setOut(stdout);
+        }
+        assertThat(out.toString().trim().split("\\R")).hasSize(2);
+    }
+
+    @Test
+    @TestDescription("링 버퍼가 다 차면 기다리지 않고 칸을 받지 못한다")
+    public void ringBufferRefusesWhenFull() {
+        AuditRingBuffer ring = new AuditRingBuffer(2);
+        long first = ring.tryClaim();
+        long second = ring.tryClaim();
+        assertThat(ring.tryClaim()).isEqualTo(-1);
+
+        ring.publish(first);
+        ring.publish(second);
+        List<AuditKind> drained = new ArrayList<>();
+        assertThat(ring.drain(record -> drained.add(record.kind))).isEqualTo(2);
+        assertThat(ring.tryClaim()).isGreaterThanOrEqualTo(0);
+    }
+}
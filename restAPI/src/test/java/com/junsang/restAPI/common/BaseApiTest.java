@@ -0,0 +1,31 @@
+package com.junsang.restAPI.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * JUnit5 API 테스트 (MockMvc + REST Docs)
+ *
+ * - 테스트용 보안 설정 (TestSecurityConfiguration) 으로 인증 없이 요청한다.
+ * - SQL 예산 (app.query-stats.budgets.*) 을 넘는 엔드포인트는 실패한다.
+ */
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.query-stats.enforce-budgets=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureRestDocs                                                  // REST Docs
+@Import({RestDocsConfiguration.class, TestSecurityConfiguration.class})  // REST Docs Pretty Type, 보안 설정
+public abstract class BaseApiTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+}
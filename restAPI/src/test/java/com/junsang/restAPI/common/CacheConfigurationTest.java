@@ -0,0 +1,80 @@
+package com.junsang.restAPI.common;
+
+import com.junsang.restAPI.accounts.Account;
+import com.junsang.restAPI.accounts.AccountRepository;
+import com.junsang.restAPI.accounts.AccountRole;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CacheConfigurationTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @TestDescription("두번째 조회 부터는 2차 캐시에서 이벤트를 가져온다")
+    public void eventSecondLevelCache() {
+        // Given
+        Event event = this.eventRepository.save(Event.builder().name("cached event").build());
+        Statistics statistics = statistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        // When (repository 호출마다 트랜잭션 / 영속성 컨텍스트가 새로 열린다)
+        this.eventRepository.findById(event.getId());
+        this.eventRepository.findById(event.getId());
+
+        // Then
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+        assertThat(this.meterRegistry.get("hibernate.cache.hit.ratio")
+                .tag("region", Event.class.getName())
+                .gauge().value()).isGreaterThan(0.0);
+    }
+
+    @Test
+    @TestDescription("같은 email 조회는 쿼리 캐시를 사용한다")
+    public void findByEmailQueryCache() {
+        // Given
+        String email = "cache@email.com";
+        this.accountRepository.save(Account.builder()
+                .email(email)
+                .password("pass")
+                .roles(Collections.singleton(AccountRole.USER))
+                .build());
+        Statistics statistics = statistics();
+        long hits = statistics.getQueryCacheHitCount();
+
+        // When
+        this.accountRepository.findByEmail(email);
+        Account account = this.accountRepository.findByEmail(email).get();
+
+        // Then
+        assertThat(account.getRoles()).containsExactly(AccountRole.USER);
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(hits);
+        assertThat(this.meterRegistry.get("hibernate.query.cache.hit.ratio").gauge().value()).isGreaterThan(0.0);
+    }
+
+    private Statistics statistics() {
+        return this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
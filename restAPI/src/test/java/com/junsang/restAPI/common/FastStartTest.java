@@ -0,0 +1,50 @@
+package com.junsang.restAPI.common;
+
+import com.junsang.restAPI.RestApiApplication;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * fast-start 프로파일 (지연 초기화) 기동 확인
+ *
+ * - 빈을 만드는 순서가 달라져 기동 중에 서로 기다릴 수 있다. (데드락)
+ *   멈추면 실패하도록 별도 스레드에서 띄우고 시간을 제한한다.
+ */
+class FastStartTest {
+
+    @Test
+    @TestDescription("fast-start 프로파일로 기동하고, 이벤트 보관 스케줄러도 함께 시작된다")
+    public void startsWithFastStartProfile() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fast-start-test");
+            thread.setDaemon(true);         // 멈춘 채로 남더라도 JVM 종료를 막지 않는다.
+            return thread;
+        });
+        Future<ConfigurableApplicationContext> startup = executor.submit(() ->
+                new SpringApplicationBuilder(RestApiApplication.class)
+                        .profiles("fast-start")
+                        .properties("server.port=0", "app.warm-up.enabled=false")
+                        .run());
+
+        try (ConfigurableApplicationContext context = startup.get(60, TimeUnit.SECONDS)) {
+            Event event = context.getBean(EventRepository.class).save(Event.builder().name("fast start").build());
+
+            assertThat(event.getId()).isNotNull();
+            assertThat(context.getBean(MeterRegistry.class).find("hibernate.query.cache.hit.ratio").gauge()).isNotNull();
+            assertThat(context.getBeanFactory().containsSingleton("eventArchiver")).isTrue();      // 쓰는 빈이 없어도 기동 시점에 만든다.
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
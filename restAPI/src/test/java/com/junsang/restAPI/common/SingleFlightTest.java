@@ -0,0 +1,108 @@
+package com.junsang.restAPI.common;
+
+import com.junsang.restAPI.deadline.DeadlineExceededException;
+import com.junsang.restAPI.deadline.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    @TestDescription("기다리는 호출은 자기 마감까지만 기다린다")
+    public void joinerStopsAtItsDeadline() throws Exception {
+        // Given : 마감 없이 오래 걸리는 호출
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = this.executor.submit(() -> flights.execute("key", () -> {
+            started.countDown();
+            await(release);
+            return "leader";
+        }, null));
+        started.await(5, TimeUnit.SECONDS);
+
+        // When & Then
+        RequestDeadline deadline = RequestDeadline.begin("getEvent", Duration.ofMillis(200));
+        try {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> flights.execute("key", () -> "joiner", null))
+                    .isInstanceOf(DeadlineExceededException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        } finally {
+            deadline.end();
+            release.countDown();
+        }
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+    }
+
+    @Test
+    @TestDescription("실행한 호출이 마감이 지나 실패하면, 시간이 남은 호출은 다시 실행한다")
+    public void joinerRetriesAfterLeaderDeadline() throws Exception {
+        // Given : 마감이 짧은 호출이 실행 중
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        Future<String> leader = this.executor.submit(() -> {
+            RequestDeadline deadline = RequestDeadline.begin("getEvent", Duration.ofMillis(100));
+            try {
+                return flights.execute("key", () -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    await(joined);
+                    while (!deadline.isExpired()) {
+                        Thread.yield();
+                    }
+                    deadline.check();
+                    return "leader";
+                }, null);
+            } finally {
+                deadline.end();
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        // When : 마감이 긴 호출이 합류
+        RequestDeadline deadline = RequestDeadline.begin("getEvent", Duration.ofSeconds(10));
+        String value;
+        try {
+            value = flights.execute("key", () -> {
+                loads.incrementAndGet();
+                return "joiner";
+            }, joined::countDown);
+        } finally {
+            deadline.end();
+        }
+
+        // Then
+        assertThat(value).isEqualTo("joiner");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
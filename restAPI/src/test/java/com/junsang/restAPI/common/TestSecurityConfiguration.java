@@ -0,0 +1,20 @@
+package com.junsang.restAPI.common;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+
+/**
+ * API 테스트용 보안 설정 (인증 / CSRF 없이 요청)
+ *
+ * - Spring Boot 기본 보안 설정 (모든 요청 인증) 대신 사용된다.
+ */
+@TestConfiguration
+public class TestSecurityConfiguration extends WebSecurityConfigurerAdapter {
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        http.csrf().disable()
+                .authorizeRequests().anyRequest().permitAll();
+    }
+}
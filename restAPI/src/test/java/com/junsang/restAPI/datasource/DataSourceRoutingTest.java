@@ -0,0 +1,84 @@
+package com.junsang.restAPI.datasource;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 개의 H2 메모리 DB 를 Primary / Replica 로 사용
+ */
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.routing.replica-lag-query=SELECT seconds FROM replica_lag",
+        "app.datasource.routing.max-replica-lag=5s",
+        "app.datasource.routing.lag-check-interval=1h"
+})
+class DataSourceRoutingTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ReplicationDataSources replicationDataSources;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        // 복제 지연 0초
+        JdbcTemplate replica = new JdbcTemplate(this.replicationDataSources.getReplica());
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        this.replicaLagMonitor.check();
+    }
+
+    @Test
+    @TestDescription("읽기 전용 트랜잭션은 Replica 로 간다")
+    public void readOnlyTransactionUsesReplica() {
+        assertThat(connectionUrl(true)).contains("replica");
+    }
+
+    @Test
+    @TestDescription("쓰기 트랜잭션은 Primary 로 간다")
+    public void readWriteTransactionUsesPrimary() {
+        assertThat(connectionUrl(false)).contains("primary");
+    }
+
+    @Test
+    @TestDescription("Replica 가 지연되면 읽기 전용 트랜잭션도 Primary 로 간다")
+    public void laggingReplicaFallsBackToPrimary() {
+        // Given
+        new JdbcTemplate(this.replicationDataSources.getReplica()).update("UPDATE replica_lag SET seconds = 60");
+
+        // When
+        this.replicaLagMonitor.check();
+
+        // Then
+        assertThat(this.replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(connectionUrl(true)).contains("primary");
+    }
+
+    private String connectionUrl(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(this.dataSource)
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL()));
+    }
+}
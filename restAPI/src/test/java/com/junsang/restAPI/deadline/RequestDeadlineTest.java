@@ -0,0 +1,162 @@
+package com.junsang.restAPI.deadline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.common.ApiExceptionHandler;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventController;
+import com.junsang.restAPI.events.EventDto;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.deadline.max=10s",
+        "app.deadline.defaults.queryEvents=3s"
+})
+class RequestDeadlineTest {
+
+    // H2 가 행마다 취소 여부를 확인하는 오래 걸리는 쿼리
+    private static final String SLOW_QUERY = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b";
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EventController eventController;
+
+    @Autowired
+    ApiExceptionHandler apiExceptionHandler;
+
+    @Autowired
+    DeadlineProperties deadlineProperties;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline current = RequestDeadline.current();
+        if (current != null) {
+            current.end();
+        }
+    }
+
+    @Test
+    @TestDescription("마감의 남은 시간이 JDBC / JPA 쿼리 타임아웃이 되어 느린 쿼리를 취소하고, 504 로 응답한다")
+    public void cancelsSlowQueriesAtDeadline() throws Exception {
+        // Given
+        RequestDeadline.begin("queryEvents", Duration.ofSeconds(1));
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        transaction.setReadOnly(true);
+
+        // When & Then
+        long started = System.nanoTime();
+        RuntimeException jdbc = catchRuntime(() -> transaction.execute(status ->
+                this.jdbcTemplate.queryForObject(SLOW_QUERY, Long.class)));
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        assertDeadlineExceeded(jdbc);
+
+        RequestDeadline.begin("queryEvents", Duration.ofSeconds(1));
+        started = System.nanoTime();
+        RuntimeException jpa = catchRuntime(() -> transaction.execute(status ->
+                this.entityManager.createNativeQuery(SLOW_QUERY).getSingleResult()));
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        assertDeadlineExceeded(jpa);
+
+        // 마감이 없는 요청의 실패는 그대로 둔다.
+        RequestDeadline.current().end();
+        JpaSystemException other = new JpaSystemException(new PersistenceException("other"));
+        assertThatThrownBy(() -> this.apiExceptionHandler.timedOut(other)).isSameAs(other);
+
+        // 마감이 임박해도 타임아웃이 아닌 실패 (제약 조건 위반 등) 는 그대로 둔다.
+        RequestDeadline.begin("queryEvents", Duration.ofMillis(100));
+        assertThatThrownBy(() -> this.apiExceptionHandler.timedOut(other)).isSameAs(other);
+    }
+
+    @Test
+    @TestDescription("이미 마감이 지난 요청은 트랜잭션 (커넥션) 을 시작하지 않고 끝난다")
+    public void doesNotBeginTransactionPastDeadline() {
+        // Given
+        Event event = this.eventRepository.save(Event.builder()
+                .name("deadline").eventStatus(EventStatus.DRAFT).build());
+        EventDto eventDto = EventDto.builder()
+                .name("updated")
+                .description("updated")
+                .beginEnrollmentDateTime(LocalDateTime.of(2026, 11, 1, 10, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2026, 11, 2, 10, 0))
+                .beginEventDateTime(LocalDateTime.of(2026, 11, 3, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2026, 11, 3, 12, 0))
+                .build();
+        RequestDeadline.begin("updateEvent", Duration.ZERO);
+
+        // When & Then
+        assertThatThrownBy(() -> this.eventController.updateEvent(event.getId(), eventDto,
+                new BeanPropertyBindingResult(eventDto, "eventDto")))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessageContaining("updateEvent did not complete within its deadline of 0 ms");
+        RequestDeadline.current().end();
+        assertThat(this.eventRepository.findById(event.getId()).get().getName()).isEqualTo("deadline");
+    }
+
+    @Test
+    @TestDescription("마감은 요청 헤더 (기본값, 없으면 max 이하) 가 있으면 헤더, 없으면 엔드포인트 기본값")
+    public void resolvesTimeoutFromHeaderOrDefault() {
+        DeadlineInterceptor interceptor = new DeadlineInterceptor(this.deadlineProperties, new SimpleMeterRegistry());
+
+        assertThat(interceptor.timeout("1500", "queryEvents")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(interceptor.timeout("2s", "updateEvent")).isEqualTo(Duration.ofSeconds(2));
+        assertThat(interceptor.timeout("1h", "queryEvents")).isEqualTo(Duration.ofSeconds(3));     // 기본값보다 늘릴 수 없다.
+        assertThat(interceptor.timeout("1h", "getEvent")).isEqualTo(Duration.ofSeconds(10));
+        assertThat(interceptor.timeout("soon", "queryEvents")).isEqualTo(Duration.ofSeconds(3));
+        assertThat(interceptor.timeout(null, "queryEvents")).isEqualTo(Duration.ofSeconds(3));
+        assertThat(interceptor.timeout(null, "getEvent")).isNull();
+    }
+
+    private void assertDeadlineExceeded(RuntimeException e) throws Exception {
+        ResponseEntity<?> response = e instanceof DeadlineExceededException
+                ? this.apiExceptionHandler.deadlineExceeded((DeadlineExceededException) e)
+                : this.apiExceptionHandler.timedOut(e);
+        assertThat(response.getStatusCodeValue()).isEqualTo(504);
+        JsonNode body = this.objectMapper.readTree(this.objectMapper.writeValueAsString(response.getBody()));
+        assertThat(body.toString()).contains("deadlineExceeded");
+    }
+
+    private static RuntimeException catchRuntime(Runnable work) {
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            return e;
+        }
+        throw new AssertionError("Expected the query to time out");
+    }
+}
@@ -0,0 +1,492 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.BaseApiTest;
+import com.junsang.restAPI.common.TestDescription;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedRequestFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.relaxedResponseFields;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 이벤트 API (부분 수정, 필드 선택, id 목록, 상태 필터, 변경 스트림, 통계, 좌표 / 주변 / 기간 검색)
+ */
+class EventApiTests extends BaseApiTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @BeforeEach
+    public void setUp() {
+        this.eventRepository.deleteAll();
+    }
+
+
+    /**
+     *
+     ***************************************** 이벤트 목록 조회 API *****************************************
+     *
+     */
+
+    @Test
+    @TestDescription("필요한 필드만 골라 이벤트 목록 조회하기")
+    public void queryEventsWithFields() throws Exception {
+        // Given
+        IntStream.range(0, 3).forEach(i -> {
+            this.generateEvent(i);
+        });
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                        .param("fields", "name,beginEventDateTime,eventStatus")
+                        .param("size", "2")
+                        .param("sort", "name,DESC")
+                    )
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                    .andExpect(jsonPath("_embedded.eventList[0].name").exists())
+                    .andExpect(jsonPath("_embedded.eventList[0].beginEventDateTime").value("2018-11-25T14:21:00"))
+                    .andExpect(jsonPath("_embedded.eventList[0].eventStatus").value("DRAFT"))
+                    .andExpect(jsonPath("_embedded.eventList[0].description").doesNotExist())
+                    .andExpect(jsonPath("_embedded.eventList[0].location").doesNotExist())
+                    .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                    .andExpect(jsonPath("page.size").value(2))
+                    .andDo(document("query-events-with-fields"))
+        ;
+    }
+
+    @Test
+    @TestDescription("상태로 걸러 이벤트 목록 조회하기")
+    public void queryEventsByStatus() throws Exception {
+        // Given
+        IntStream.range(0, 5).forEach(i -> {
+            Event event = this.generateEvent(i);
+            if (i % 2 == 0) {
+                event.setEventStatus(EventStatus.PUBLISHED);
+                this.eventRepository.save(event);
+            }
+        });
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events")
+                        .param("eventStatus", "PUBLISHED,STARTED")
+                        .param("sort", "name")
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("page.totalElements").value(3))
+                    .andExpect(jsonPath("_embedded.eventList[0].name").value("event 0"))
+                    .andExpect(jsonPath("_embedded.eventList[1].name").value("event 2"))
+                    .andExpect(jsonPath("_embedded.eventList[2].eventStatus").value("PUBLISHED"))
+        ;
+    }
+
+    @Test
+    @TestDescription("모르는 필드를 고르면 이벤트 조회 실패")
+    public void queryEvents400_WrongFields() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("fields", "name,manager"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongFields"));
+    }
+
+
+    /**
+     *
+     ***************************************** 이벤트 상세 조회 API *****************************************
+     *
+     */
+
+    @Test
+    @TestDescription("필요한 필드만 골라 이벤트 하나 조회하기")
+    public void getEventWithFields() throws Exception {
+        // Given
+        Event event = this.generateEvent(101);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()).param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("id").value(event.getId()))
+                .andExpect(jsonPath("name").value("event 101"))
+                .andExpect(jsonPath("description").doesNotExist())
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+
+        this.mockMvc.perform(get("/api/events/11883").param("fields", "name"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("여러 이벤트를 id 목록으로 한 번에 조회하기")
+    public void getEventsById() throws Exception {
+        // Given
+        Event first = this.generateEvent(110);
+        Event second = this.generateEvent(111);
+
+        // When & Then (요청 순서대로, 없는 id 는 missing 으로)
+        this.mockMvc.perform(get("/api/events")
+                    .param("ids", second.getId() + ",11884," + first.getId() + "," + second.getId())
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(2))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(second.getId()))
+                .andExpect(jsonPath("_embedded.eventList[1].id").value(first.getId()))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("missing[0]").value(11884))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("get-events-by-ids"));
+    }
+
+    @Test
+    @TestDescription("한 번에 너무 많은 id 를 조회하면 실패")
+    public void getEventsById400_TooManyIds() throws Exception {
+        StringBuilder ids = new StringBuilder("1");
+        for (int id = 2; id <= 101; id++) {
+            ids.append(',').append(id);
+        }
+
+        this.mockMvc.perform(get("/api/events").param("ids", ids.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("tooManyIds"));
+    }
+
+
+    /**
+     *
+     ***************************************** 이벤트 부분 수정 API *****************************************
+     *
+     */
+
+    @Test
+    @TestDescription("이벤트 이름만 부분 수정하기")
+    public void patchEvent() throws Exception {
+        // Given
+        Event event = this.generateEvent(300);
+        String eventName = "Patched Event";
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"name\":\"" + eventName + "\"}")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value(eventName))
+                .andExpect(jsonPath("description").value(event.getDescription()))
+                .andExpect(jsonPath("basePrice").value(event.getBasePrice()))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("patch-event"))
+        ;
+    }
+
+    @Test
+    @TestDescription("가격과 장소를 비우면 free / offline 이 다시 계산된다")
+    public void patchEvent_Derived_Fields() throws Exception {
+        // Given
+        Event event = this.generateEvent(301);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"basePrice\":0,\"maxPrice\":0,\"location\":null}")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("offline").value(false))
+        ;
+    }
+
+    @Test
+    @TestDescription("부분 수정 결과가 잘못된 경우에 이벤트 수정 실패")
+    public void patchEvent400_Wrong() throws Exception {
+        // Given
+        Event event = this.generateEvent(302);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"basePrice\":20000}")          // Base > Max (에러)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").exists());
+    }
+
+    @Test
+    @TestDescription("받을 수 없는 필드로 부분 수정 실패")
+    public void patchEvent400_Unknown_Field() throws Exception {
+        // Given
+        Event event = this.generateEvent(303);
+
+        // When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"free\":true}")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @TestDescription("존재하지 않는 이벤트 부분 수정 실패")
+    public void patchEvent404() throws Exception {
+        this.mockMvc.perform(patch("/api/events/123123")
+                    .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                    .content("{\"name\":\"Patched Event\"}")
+                )
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("전체 수정으로 가격과 장소를 비워도 free / offline 이 다시 계산된다")
+    public void updateEvent_Derived_Fields() throws Exception {
+        // Given
+        Event event = this.generateEvent(304);
+
+        EventDto eventDto = EventDto.builder()
+                .name(event.getName())
+                .description(event.getDescription())
+                .beginEnrollmentDateTime(event.getBeginEnrollmentDateTime())
+                .closeEnrollmentDateTime(event.getCloseEnrollmentDateTime())
+                .beginEventDateTime(event.getBeginEventDateTime())
+                .endEventDateTime(event.getEndEventDateTime())
+                .basePrice(0)
+                .maxPrice(0)
+                .limitOfEnrollment(event.getLimitOfEnrollment())
+                .build();
+
+        // When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDto))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("offline").value(false))
+        ;
+    }
+
+
+    /**
+     *
+     ***************************************** 이벤트 변경 스트림 API *****************************************
+     *
+     */
+
+    @Test
+    @TestDescription("변경 스트림을 구독하면 이벤트 생성 알림을 받는다")
+    public void streamEvents() throws Exception {
+        // Given
+        MvcResult result = this.mockMvc.perform(get("/api/events/stream")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When
+        Event event = this.generateEvent(401);
+
+        // Then (전송은 별도 스레드에서 하므로 잠시 기다린다)
+        String body = "";
+        for (int i = 0; i < 50 && !body.contains("event:created"); i++) {
+            Thread.sleep(100);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body).contains("event:created")
+                .contains("\"type\":\"CREATED\"")
+                .contains("\"id\":" + event.getId());
+    }
+
+
+    /**
+     *
+     ***************************************** 이벤트 통계 / 검색 API *****************************************
+     *
+     */
+
+    @Test
+    @TestDescription("이벤트 통계 조회하기")
+    public void getEventStats() throws Exception {
+        // Given
+        this.generateEvent(501);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("total").isNumber())
+                .andExpect(jsonPath("byStatus.DRAFT").isNumber())
+                .andExpect(jsonPath("basePrice[0].from").value(0))
+                .andExpect(jsonPath("_links.self").exists())
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("get-event-stats",
+                        links(
+                                linkWithRel("self").description("link to self"),
+                                linkWithRel("profile").description("link to profile")
+                        )
+                ));
+    }
+
+    @Test
+    @TestDescription("좌표가 있는 이벤트 생성하기")
+    public void createEventWithCoordinates() throws Exception {
+        // Given
+        EventDto eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .latitude(37.4980)
+                .longitude(127.0277)
+                .build();
+
+        // When & Then
+        this.mockMvc.perform(post("/api/events")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaTypes.HAL_JSON)
+                    .content(this.objectMapper.writeValueAsString(eventDto))
+                )
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("latitude").value(37.4980))
+                .andExpect(jsonPath("longitude").value(127.0277))
+                .andDo(document("create-event-with-coordinates",
+                        relaxedRequestFields(       // 좌표 필드만 문서화 (나머지는 create-event)
+                                fieldWithPath("latitude").type(JsonFieldType.NUMBER).description("latitude of new event (with longitude)").optional(),
+                                fieldWithPath("longitude").type(JsonFieldType.NUMBER).description("longitude of new event (with latitude)").optional()
+                        ),
+                        relaxedResponseFields(
+                                fieldWithPath("latitude").type(JsonFieldType.NUMBER).description("latitude of new event").optional(),
+                                fieldWithPath("longitude").type(JsonFieldType.NUMBER).description("longitude of new event").optional()
+                        )
+                ));
+    }
+
+    @Test
+    @TestDescription("주변 이벤트를 가까운 순서로 조회하기")
+    public void queryNearbyEvents() throws Exception {
+        // Given
+        Event near = this.generateEvent(601);
+        near.setLatitude(37.5045);                  // 선릉역
+        near.setLongitude(127.0490);
+        this.eventRepository.save(near);
+        Event nearest = this.generateEvent(602);
+        nearest.setLatitude(37.4980);               // 강남역
+        nearest.setLongitude(127.0277);
+        this.eventRepository.save(nearest);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/nearby")
+                    .param("lat", "37.4979")
+                    .param("lng", "127.0276")
+                    .param("radius", "5000")
+                    .param("size", "10")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(nearest.getId()))
+                .andExpect(jsonPath("_embedded.eventList[0].distance").isNumber())
+                .andExpect(jsonPath("_embedded.eventList[1].id").value(near.getId()))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-nearby-events"));
+    }
+
+    @Test
+    @TestDescription("반경이 너무 크면 주변 이벤트 조회 실패")
+    public void queryNearbyEvents400_Radius() throws Exception {
+        this.mockMvc.perform(get("/api/events/nearby")
+                    .param("lat", "37.4979")
+                    .param("lng", "127.0276")
+                    .param("radius", "1000000")
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongRadius"));
+    }
+
+    @Test
+    @TestDescription("기간이 겹치는 이벤트 조회하기")
+    public void queryOverlappingEvents() throws Exception {
+        // Given (generateEvent : 진행 2018-11-25 14:21 ~ 2018-11-26 14:21)
+        Event event = this.generateEvent(701);
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/overlapping")
+                    .param("from", "2018-11-26T00:00:00")
+                    .param("to", "2018-11-26T12:00:00")
+                    .param("window", "EVENT")
+                    .param("size", "100")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].id", Matchers.hasItem(event.getId())))
+                .andExpect(jsonPath("_links.profile").exists())
+                .andDo(document("query-overlapping-events"));
+
+        this.mockMvc.perform(get("/api/events/overlapping")
+                    .param("from", "2018-11-27T00:00:00")
+                    .param("to", "2018-11-28T00:00:00")
+                    .param("window", "ENROLLMENT")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+    }
+
+
+
+    /**
+     *
+     ***************************************** 사용자 정의 함수 *****************************************
+     *
+     */
+
+    private Event generateEvent(int index) {
+        Event event = Event.builder()
+                .name("event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DRAFT)
+                .build();
+
+        return this.eventRepository.save(event);
+    }
+}
@@ -0,0 +1,145 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.deadline.DeadlineExceededException;
+import com.junsang.restAPI.deadline.RequestDeadline;
+import com.junsang.restAPI.sharding.EventShards;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.events.group-commit.enabled=true",
+        "app.events.group-commit.max-delay-millis=50"
+})
+class EventBatchWriterTest {
+
+    @Autowired
+    EventBatchWriter eventBatchWriter;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EventShards eventShards;
+
+    @Test
+    @TestDescription("동시에 들어온 생성 요청을 적은 수의 트랜잭션으로 모아 커밋한다")
+    public void groupCommit() throws Exception {
+        // Given
+        int requests = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        DistributionSummary batchSize = this.meterRegistry.get("events.group-commit.batch.size").summary();
+        long batches = batchSize.count();
+
+        // When
+        List<Future<Event>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            Event event = Event.builder().name("group commit " + i).eventStatus(EventStatus.DRAFT).build();
+            futures.add(executor.submit(() -> {
+                start.await();
+                return this.eventBatchWriter.save(event);
+            }));
+        }
+        start.countDown();
+
+        // Then (응답을 받은 이벤트는 이미 커밋되어 있다)
+        for (Future<Event> future : futures) {
+            Event saved = future.get();
+            assertThat(saved.getId()).isNotNull();
+            assertThat(this.eventRepository.findById(saved.getId())).isPresent();
+        }
+        assertThat(batchSize.count() - batches).isLessThan(requests);
+        executor.shutdown();
+    }
+
+    @Test
+    @TestDescription("writer 스레드에서 Error 가 나도 기다리던 요청은 실패로 끝나고, 다음 요청은 계속 저장된다")
+    public void failsBatchOnError() throws Exception {
+        // Given (첫 트랜잭션 시작에서 Error)
+        AtomicBoolean failed = new AtomicBoolean();
+        PlatformTransactionManager failingOnce = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                if (failed.compareAndSet(false, true)) {
+                    throw new OutOfMemoryError("boom");
+                }
+                return transactionManager.getTransaction(definition);
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+                transactionManager.commit(status);
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+                transactionManager.rollback(status);
+            }
+        };
+        EventBatchWriter writer = new EventBatchWriter(this.entityManager, failingOnce, this.eventShards,
+                new SimpleMeterRegistry(), 64, 5, 100, 5000);
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> writer.save(Event.builder().name("fails").eventStatus(EventStatus.DRAFT).build()))
+                    .isInstanceOf(OutOfMemoryError.class)
+                    .hasMessage("boom");
+
+            Event saved = writer.save(Event.builder().name("after error").eventStatus(EventStatus.DRAFT).build());
+            assertThat(this.eventRepository.findById(saved.getId())).isPresent();
+        } finally {
+            writer.destroy();
+        }
+    }
+
+    @Test
+    @TestDescription("요청 마감까지 커밋되지 않으면 기다리지 않고 실패한다")
+    public void stopsWaitingAtDeadline() throws Exception {
+        // Given (배치를 오래 모으는 writer)
+        EventBatchWriter writer = new EventBatchWriter(this.entityManager, this.transactionManager, this.eventShards,
+                new SimpleMeterRegistry(), 64, 2000, 100, 5000);
+        RequestDeadline deadline = RequestDeadline.begin("createEvent", Duration.ofMillis(200));
+
+        try {
+            // When & Then
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> writer.save(Event.builder().name("late").eventStatus(EventStatus.DRAFT).build()))
+                    .isInstanceOf(DeadlineExceededException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        } finally {
+            deadline.end();
+            writer.destroy();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.warm-up.enabled=false")
+class EventChangeListenerTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    CommittedChanges committedChanges;
+
+    @BeforeEach
+    void setUp() {
+        this.committedChanges.changes.clear();
+    }
+
+    @Test
+    @TestDescription("커밋된 생성 / 수정 / 상태 변경을 EventChange 로 발행한다")
+    public void publishCommittedChanges() {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        Event event = this.eventRepository.save(Event.builder().name("change").eventStatus(EventStatus.DRAFT).build());
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            Event loaded = this.eventRepository.findById(event.getId()).get();
+            loaded.setName("changed");
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            Event loaded = this.eventRepository.findById(event.getId()).get();
+            loaded.setEventStatus(EventStatus.PUBLISHED);
+        });
+
+        // Then
+        List<EventChange> changes = this.committedChanges.changes;
+        assertThat(changes).extracting(EventChange::getType).containsExactly(
+                EventChangeType.CREATED, EventChangeType.UPDATED, EventChangeType.STATUS_CHANGED);
+        assertThat(changes.get(1).getBefore().getName()).isEqualTo("change");
+        assertThat(changes.get(1).getAfter().getName()).isEqualTo("changed");
+        assertThat(changes.get(2).getBefore().getEventStatus()).isEqualTo(EventStatus.DRAFT);
+        assertThat(changes.get(2).getAfter().getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    @Test
+    @TestDescription("롤백된 변경은 발행하지 않는다")
+    public void skipRolledBackChanges() {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            this.eventRepository.saveAndFlush(Event.builder().name("rollback").build());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(this.committedChanges.changes).isEmpty();
+    }
+
+    @TestConfiguration
+    static class CommittedChanges {
+
+        final List<EventChange> changes = new CopyOnWriteArrayList<>();
+
+        @TransactionalEventListener(fallbackExecution = true)
+        public void onEventChange(EventChange change) {
+            this.changes.add(change);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.TestDescription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "app.warm-up.enabled=false")
+class EventReadCoalescerTest {
+
+    private static final int REQUESTS = 50;
+
+    @Autowired
+    EventController eventController;
+
+    @Autowired
+    EventRepository eventRepository;        // 조회 횟수를 세는 mock (실제 저장소에 위임)
+
+    @Autowired
+    @Qualifier("eventRepository")
+    EventRepository realEventRepository;
+
+    @Autowired
+    PagedResourcesAssembler<Event> pagedResourcesAssembler;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+        reset(this.eventRepository);
+    }
+
+    @TestConfiguration
+    static class CountingRepositoryConfiguration {
+
+        /**
+         * 저장소는 JDK 프록시라 @SpyBean 을 쓸 수 없으므로 위임 mock 을 대신 주입한다.
+         */
+        @Bean
+        @Primary
+        EventRepository countingEventRepository(@Qualifier("eventRepository") EventRepository eventRepository) {
+            return mock(EventRepository.class, delegatesTo(eventRepository));
+        }
+    }
+
+    @Test
+    @TestDescription("같은 이벤트를 동시에 조회하면 DB 조회와 직렬화를 한 번만 한다")
+    public void getEventBurst() throws Exception {
+        // Given
+        Integer id = this.eventRepository.save(event("coalesced")).getId();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);    // 나머지 요청이 모두 합류할 때까지 첫 조회를 붙잡아 둔다
+            return this.realEventRepository.findById(id);
+        }).when(this.eventRepository).findById(eq(id));
+        Counter joined = this.meterRegistry.get("events.read.joined").tag("read", "event").counter();
+        double joinedBefore = joined.count();
+
+        // When
+        List<Future<ResponseEntity<?>>> responses = burst(() -> this.eventController.getEvent(id, null), "/api/events/" + id);
+        awaitJoined(joined, joinedBefore + REQUESTS - 1);
+        release.countDown();
+
+        // Then
+        byte[] body = (byte[]) responses.get(0).get().getBody();
+        for (Future<ResponseEntity<?>> response : responses) {
+            assertThat(response.get().getStatusCodeValue()).isEqualTo(200);
+            assertThat(response.get().getBody()).isSameAs(body);
+        }
+        assertThat(new String(body, "UTF-8")).contains("\"name\":\"coalesced\"", "\"_links\"");
+        verify(this.eventRepository, times(1)).findById(eq(id));
+
+        // 끝난 조회는 캐시하지 않는다.
+        request(() -> this.eventController.getEvent(id, null), "/api/events/" + id);
+        verify(this.eventRepository, times(2)).findById(eq(id));
+    }
+
+    @Test
+    @TestDescription("같은 첫 페이지를 동시에 조회하면 DB 조회를 한 번만 한다")
+    public void queryEventsBurst() throws Exception {
+        // Given
+        this.eventRepository.save(event("coalesced page"));
+        Pageable pageable = PageRequest.of(0, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return this.realEventRepository.findAll(invocation.getArgument(0, Pageable.class));
+        }).when(this.eventRepository).findAll(any(Pageable.class));
+        Counter joined = this.meterRegistry.get("events.read.joined").tag("read", "page").counter();
+        double joinedBefore = joined.count();
+
+        // When
+        List<Future<ResponseEntity<?>>> responses = burst(
+                () -> this.eventController.queryEvents(pageable, null, false, null, this.pagedResourcesAssembler, null), "/api/events");
+        awaitJoined(joined, joinedBefore + REQUESTS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<ResponseEntity<?>> response : responses) {
+            assertThat(response.get().getStatusCodeValue()).isEqualTo(200);
+        }
+        verify(this.eventRepository, times(1)).findAll(any(Pageable.class));
+    }
+
+    private List<Future<ResponseEntity<?>>> burst(Callable<ResponseEntity<?>> call, String uri) {
+        List<Future<ResponseEntity<?>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(this.executor.submit(() -> request(call, uri)));
+        }
+        return responses;
+    }
+
+    private static ResponseEntity<?> request(Callable<ResponseEntity<?>> call, String uri) throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", uri)));
+        try {
+            return call.call();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static void awaitJoined(Counter joined, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (joined.count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(joined.count()).isEqualTo(expected);
+    }
+
+    private static Event event(String name) {
+        return Event.builder()
+                .name(name)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .eventStatus(EventStatus.DRAFT)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.junsang.restAPI.events;
+
+import com.junsang.restAPI.common.HalJsonWriter;
+import com.junsang.restAPI.common.TestDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.events.response-cache.gzip-min-size=256"
+})
+class EventResponseCacheTest {
+
+    @Autowired
+    EventController eventController;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    EventResponseCache eventResponseCache;
+
+    @Autowired
+    HalJsonWriter halJsonWriter;
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @TestDescription("조회한 이벤트 응답 바이트를 캐시해 바로 쓰고 (gzip 포함), 수정되면 다시 읽는다")
+    public void servesCachedBytesUntilEventChanges() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(Event.builder()
+                .name("cached event")
+                .description("response bytes")
+                .beginEventDateTime(LocalDateTime.of(2026, 5, 1, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2026, 5, 1, 12, 0))
+                .location("강남역")
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+        EventResponseCacheInterceptor interceptor = new EventResponseCacheInterceptor(this.eventResponseCache);
+        HandlerMethod handler = new HandlerMethod(this.eventController,
+                EventController.class.getMethod("getEvent", Integer.class, List.class));
+
+        // 처음 조회 - 컨트롤러가 읽고 캐시에 넣는다.
+        MockHttpServletRequest first = request(event.getId(), null);
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), handler)).isTrue();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(first));
+        ResponseEntity<?> loaded = this.eventController.getEvent(event.getId(), null);
+        byte[] json = (byte[]) loaded.getBody();
+        assertThat(new String(json, "UTF-8")).contains("\"name\":\"cached event\"").contains("_links");
+
+        // When & Then - 캐시 적중 (압축하지 않은 것)
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(event.getId(), null), plain, handler)).isFalse();
+        assertThat(plain.getContentType()).isEqualTo(MediaTypes.HAL_JSON_VALUE);
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+        assertThat(plain.getContentAsByteArray()).isEqualTo(json);
+
+        // 캐시 적중 (gzip)
+        MockHttpServletResponse gzip = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(event.getId(), "deflate, gzip;q=0.8"), gzip, handler)).isFalse();
+        assertThat(gzip.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))))
+                .isEqualTo(json);
+        assertThat(EventResponseCacheInterceptor.acceptsGzip(request(event.getId(), "gzip;q=0"))).isFalse();
+        assertThat(EventResponseCacheInterceptor.acceptsGzip(request(event.getId(), "gzip;q=high"))).isTrue();
+
+        // 수정되면 캐시에서 빠진다.
+        event.setName("changed event");
+        this.eventRepository.save(event);
+        assertThat(interceptor.preHandle(request(event.getId(), "gzip"), new MockHttpServletResponse(), handler)).isTrue();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request(event.getId(), null)));
+        assertThat(new String((byte[]) this.eventController.getEvent(event.getId(), null).getBody(), "UTF-8"))
+                .contains("\"name\":\"changed event\"");
+    }
+
+    @Test
+    @TestDescription("조회 도중에 수정이 커밋되면 옛 응답을 캐시하지 않는다")
+    public void doesNotStoreResponseReadBeforeChange() throws Exception {
+        // Given
+        Event event = this.eventRepository.save(Event.builder().name("racing").eventStatus(EventStatus.DRAFT).build());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request(event.getId(), null)));
+        long version = this.eventResponseCache.version(event.getId());
+
+        // When (조회를 시작한 뒤 수정이 커밋된다)
+        event.setName("racing changed");
+        this.eventRepository.save(event);
+        this.eventResponseCache.store(event.getId(), version, new EventResource(event));
+
+        // Then
+        assertThat(this.eventResponseCache.get(event.getId(), EventResponseCache.baseUrl())).isNull();
+        assertThat(this.eventResponseCache.version(event.getId())).isGreaterThan(version);
+    }
+
+    @Test
+    @TestDescription("가장 오래 읽지 않은 응답부터 버리고, 버전 기록도 max-entries 개만 둔다")
+    public void boundsResponsesAndVersions() throws Exception {
+        // Given (최대 2개)
+        EventResponseCache cache = new EventResponseCache(this.halJsonWriter, new SimpleMeterRegistry(), 2, 256);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request(1, null)));
+        Event event = Event.builder().id(1).name("lru").eventStatus(EventStatus.DRAFT).build();
+        String baseUrl = EventResponseCache.baseUrl();
+
+        // When & Then - 1 을 다시 읽었으므로 3 을 넣으면 2 가 빠진다.
+        cache.store(1, cache.version(1), new EventResource(event));
+        cache.store(2, cache.version(2), new EventResource(event));
+        assertThat(cache.get(1, baseUrl)).isNotNull();
+        cache.store(3, cache.version(3), new EventResource(event));
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1, baseUrl)).isNotNull();
+        assertThat(cache.get(2, baseUrl)).isNull();
+
+        // 밀려난 버전보다 먼저 시작한 조회는 저장하지 않는다.
+        long before = cache.version(10);
+        for (int id = 10; id < 20; id++) {
+            EventSnapshot snapshot = EventSnapshot.of(Event.builder().id(id).name("changed").eventStatus(EventStatus.DRAFT).build());
+            cache.onEventChange(new EventChange(EventChangeType.UPDATED, snapshot, snapshot));
+        }
+        assertThat(cache.trackedVersions()).isEqualTo(2);
+        cache.store(10, before, new EventResource(event));
+        assertThat(cache.get(10, baseUrl)).isNull();
+    }
+
+    private static MockHttpServletRequest request(Integer id, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/" + id);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Collections.singletonMap("id", id.toString()));
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        return request;
+    }
+}
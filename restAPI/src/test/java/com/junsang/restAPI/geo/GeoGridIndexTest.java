@@ -0,0 +1,90 @@
+package com.junsang.restAPI.geo;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridIndexTest {
+
+    @Test
+    @TestDescription("반경 안의 이벤트만 가까운 순서로 찾는다")
+    public void withinOrderedByDistance() {
+        // Given (강남역 기준)
+        GeoGridIndex index = new GeoGridIndex(0.05);
+        index.put(1, 37.4979, 127.0276);    // 강남역
+        index.put(2, 37.5045, 127.0490);    // 선릉역 (약 2km)
+        index.put(3, 37.3948, 127.1112);    // 판교역 (약 13km)
+        index.put(4, 35.1152, 129.0422);    // 부산역
+
+        // When
+        List<GeoHit> hits = index.within(37.4979, 127.0276, 15_000);
+
+        // Then
+        assertThat(hits).extracting(GeoHit::getId).containsExactly(1, 2, 3);
+        assertThat(hits.get(1).getDistance()).isBetween(1_500.0, 2_500.0);
+    }
+
+    @Test
+    @TestDescription("수정 / 삭제된 좌표는 이전 위치에서 찾지 않는다")
+    public void moveAndRemove() {
+        // Given
+        GeoGridIndex index = new GeoGridIndex(0.05);
+        index.put(1, 37.4979, 127.0276);
+        index.put(2, 37.4979, 127.0276);
+
+        // When
+        index.put(1, 35.1152, 129.0422);
+        index.remove(2);
+
+        // Then
+        assertThat(index.within(37.4979, 127.0276, 1_000)).isEmpty();
+        assertThat(index.within(35.1152, 129.0422, 1_000)).extracting(GeoHit::getId).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("날짜 변경선을 넘는 반경도 찾는다")
+    public void acrossAntimeridian() {
+        // Given
+        GeoGridIndex index = new GeoGridIndex(0.05);
+        index.put(1, 0, 179.99);
+        index.put(2, 0, -179.99);
+
+        // When
+        List<GeoHit> hits = index.within(0, 179.995, 5_000);
+
+        // Then
+        assertThat(hits).extracting(GeoHit::getId).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    @TestDescription("격자 검색 결과가 전체를 훑은 결과와 같다")
+    public void matchesBruteForce() {
+        // Given
+        GeoGridIndex index = new GeoGridIndex(0.05);
+        Random random = new Random(36);
+        double[][] points = new double[5_000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{37 + random.nextDouble(), 126.5 + random.nextDouble()};
+            index.put(i, points[i][0], points[i][1]);
+        }
+
+        // When
+        List<Integer> hits = index.within(37.5, 127.0, 7_000).stream()
+                .map(GeoHit::getId).collect(Collectors.toList());
+
+        // Then
+        long expected = 0;
+        for (double[] point : points) {
+            if (GeoGridIndex.distanceMeters(37.5, 127.0, point[0], point[1]) <= 7_000) {
+                expected++;
+            }
+        }
+        assertThat(hits).hasSize((int) expected).doesNotHaveDuplicates();
+    }
+}
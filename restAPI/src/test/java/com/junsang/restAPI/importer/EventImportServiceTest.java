@@ -0,0 +1,139 @@
+package com.junsang.restAPI.importer;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.events.import.chunk-size=2KB",
+        "app.events.import.batch-size=7",
+        "app.events.import.threads=4"
+})
+class EventImportServiceTest {
+
+    static volatile boolean failOnBoom;
+
+    @Autowired
+    EventImportService eventImportService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        this.jdbcTemplate.execute("drop trigger if exists fail_on_boom");
+        failOnBoom = false;
+    }
+
+    @Test
+    @TestDescription("CSV 를 병렬 청크로 가져오고 잘못된 줄은 리포트에 남긴다")
+    public void importCsv() throws Exception {
+        // Given
+        List<String> lines = new ArrayList<>();
+        lines.add("name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,beginEventDateTime,endEventDateTime,location,basePrice,maxPrice,limitOfEnrollment");
+        for (int i = 0; i < 200; i++) {
+            lines.add(i % 20 == 0
+                    ? "csv " + i + ",wrong dates,2018-11-23T14:21,2018-11-24T14:21,2018-11-25T14:21,2018-11-01T14:21,,0,0,10"
+                    : "csv " + i + ",\"imported, from csv\",2018-11-23T14:21,2018-11-24T14:21,2018-11-25T14:21,2018-11-26T14:21,강남역,100,200,10");
+        }
+        lines.add("csv broken,missing columns");
+        Path file = write("events.csv", lines);
+
+        // When
+        EventImportResult result = this.eventImportService.importFile(file);
+
+        // Then
+        assertThat(result.getChunks()).isGreaterThan(1);
+        assertThat(result.getImported()).isEqualTo(190);
+        assertThat(result.getRejected()).isEqualTo(11);
+        assertThat(count("csv %")).isEqualTo(190);
+        assertThat(this.jdbcTemplate.queryForObject(
+                "select count(*) from event where name like 'csv %' and offline = true and description = 'imported, from csv'",
+                Long.class)).isEqualTo(190);
+        assertThat(Files.readAllLines(result.getRejectedReport())).hasSize(11)
+                .anyMatch(line -> line.contains("endEventDateTime is wrong"))
+                .anyMatch(line -> line.contains("csv broken"));
+    }
+
+    @Test
+    @TestDescription("실패 후 다시 실행하면 체크포인트부터 이어서 중복 없이 가져온다")
+    public void resumeNdjson() throws Exception {
+        // Given (name 이 boom 인 줄을 저장할 때 DB 에러)
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            String name = i == 120 ? "boom" : "ndjson " + i;
+            lines.add("{\"name\":\"" + name + "\",\"description\":\"ndjson\","
+                    + "\"beginEnrollmentDateTime\":\"2018-11-23T14:21:00\",\"closeEnrollmentDateTime\":\"2018-11-24T14:21:00\","
+                    + "\"beginEventDateTime\":\"2018-11-25T14:21:00\",\"endEventDateTime\":\"2018-11-26T14:21:00\","
+                    + "\"basePrice\":0,\"maxPrice\":0,\"limitOfEnrollment\":5}");
+        }
+        Path file = write("events.ndjson", lines);
+        this.jdbcTemplate.execute("create trigger fail_on_boom before insert on event for each row call \""
+                + FailOnBoom.class.getName() + "\"");
+        failOnBoom = true;
+
+        // When
+        assertThatThrownBy(() -> this.eventImportService.importFile(file)).isInstanceOf(RuntimeException.class);
+        long importedBeforeFailure = count("ndjson %");
+        failOnBoom = false;
+        EventImportResult result = this.eventImportService.importFile(file);
+
+        // Then (실패 전에 커밋된 줄은 다시 저장하지 않는다)
+        assertThat(importedBeforeFailure).isBetween(1L, 148L);
+        assertThat(result.getImported()).isEqualTo(150);
+        assertThat(count("ndjson %") + count("boom")).isEqualTo(150);
+    }
+
+    private Path write(String name, List<String> lines) throws Exception {
+        return Files.write(this.directory.resolve(name), lines, StandardCharsets.UTF_8);
+    }
+
+    private long count(String namePattern) {
+        return this.jdbcTemplate.queryForObject("select count(*) from event where name like ?", Long.class, namePattern);
+    }
+
+    public static class FailOnBoom implements Trigger {
+
+        @Override
+        public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                         boolean before, int type) {
+        }
+
+        @Override
+        public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+            for (Object value : newRow) {
+                if (failOnBoom && "boom".equals(value)) {
+                    throw new SQLException("boom");
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void remove() {
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.junsang.restAPI.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.EventDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이벤트 API 부하 테스트 (mvn -Pload-test test)
+ *
+ * - 실제 서버(랜덤 포트, H2)에 생성 / 목록 / 조회 / 수정 요청을 섞어서 보낸다.
+ * - 동시 사용자 수 만큼의 스레드가 쉬지 않고 요청을 보내는 closed 모델이다.
+ * - 결과(p50 / p99 / p99.9, 초당 요청 수)를 target/loadtest/report.txt 에 남기고,
+ *   src/test/resources/loadtest/baseline.properties 보다 나쁘면 실패한다.
+ * - -Dloadtest.users=16 -Dloadtest.warmup=10s -Dloadtest.duration=60s 로 조정 가능
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.autoconfigure.exclude="
+                + "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration",
+        "app.rate-limit.enabled=false"     // 모든 가상 사용자가 같은 IP 이므로 요청 제한은 끈다.
+})
+class EventLoadTest {
+
+    enum Operation {
+        CREATE(10), LIST(40), GET(40), UPDATE(10);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int random100) {
+            int sum = 0;
+            for (Operation operation : values()) {
+                sum += operation.weight;
+                if (random100 < sum) {
+                    return operation;
+                }
+            }
+            return GET;
+        }
+    }
+
+    private static final int SEED_EVENTS = 100;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @TestDescription("생성/목록/조회/수정 혼합 부하에서 기준치 이상의 처리량과 지연을 유지한다")
+    public void mixedTraffic() throws Exception {
+        int users = Integer.getInteger("loadtest.users", 8);
+        Duration warmUp = Duration.parse("PT" + System.getProperty("loadtest.warmup", "5s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "20s"));
+
+        // Given : 조회/수정 대상 이벤트
+        AtomicIntegerArray ids = new AtomicIntegerArray(SEED_EVENTS);
+        for (int i = 0; i < SEED_EVENTS; i++) {
+            ids.set(i, createEvent(i));
+        }
+
+        // 워밍업 (기록하지 않음)
+        run(users, warmUp, ids);
+
+        // When
+        long started = System.nanoTime();
+        Map<Operation, LatencyRecorder> results = run(users, duration, ids);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        // Then
+        LatencyRecorder total = new LatencyRecorder();
+        results.values().forEach(total::merge);
+        double throughput = total.count() / seconds;
+        report(results, total, throughput, users, seconds);
+
+        Properties baseline = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/loadtest/baseline.properties")) {
+            baseline.load(in);
+        }
+        assertThat(total.errors()).isLessThanOrEqualTo(Integer.parseInt(baseline.getProperty("max-errors")));
+        assertThat(throughput).isGreaterThanOrEqualTo(Double.parseDouble(baseline.getProperty("min-requests-per-second")));
+        assertThat(total.percentileMillis(50)).isLessThanOrEqualTo(Double.parseDouble(baseline.getProperty("max-p50-ms")));
+        assertThat(total.percentileMillis(99)).isLessThanOrEqualTo(Double.parseDouble(baseline.getProperty("max-p99-ms")));
+        assertThat(total.percentileMillis(99.9)).isLessThanOrEqualTo(Double.parseDouble(baseline.getProperty("max-p999-ms")));
+    }
+
+    private Map<Operation, LatencyRecorder> run(int users, Duration duration, AtomicIntegerArray ids) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        List<Future<Map<Operation, LatencyRecorder>>> futures = new ArrayList<>();
+
+        for (int u = 0; u < users; u++) {
+            futures.add(executor.submit(() -> {
+                Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+                for (Operation operation : Operation.values()) {
+                    recorders.put(operation, new LatencyRecorder());
+                }
+
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = Operation.pick(random.nextInt(100));
+                    int slot = random.nextInt(SEED_EVENTS);
+                    long started = System.nanoTime();
+                    try {
+                        switch (operation) {
+                            case CREATE:
+                                createEvent(random.nextInt(10000));
+                                break;
+                            case LIST:
+                                send("GET", "/api/events?page=" + random.nextInt(5) + "&size=10&sort=name,DESC", null, 200);
+                                break;
+                            case GET:
+                                send("GET", "/api/events/" + ids.get(slot), null, 200);
+                                break;
+                            case UPDATE:
+                                send("PUT", "/api/events/" + ids.get(slot), eventJson(random.nextInt(10000)), 200);
+                                break;
+                        }
+                        recorders.get(operation).record(System.nanoTime() - started);
+                    } catch (IOException | IllegalStateException e) {
+                        recorders.get(operation).error();
+                    }
+                }
+                return recorders;
+            }));
+        }
+
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            merged.put(operation, new LatencyRecorder());
+        }
+        for (Future<Map<Operation, LatencyRecorder>> future : futures) {
+            future.get().forEach((operation, recorder) -> merged.get(operation).merge(recorder));
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    private int createEvent(int index) throws IOException {
+        JsonNode created = this.objectMapper.readTree(send("POST", "/api/events", eventJson(index), 201));
+        return created.get("id").asInt();
+    }
+
+    private byte[] eventJson(int index) throws IOException {
+        EventDto eventDto = EventDto.builder()
+                .name("load test " + index)
+                .description("load test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location(index % 2 == 0 ? "강남역" : null)
+                .build();
+        return this.objectMapper.writeValueAsBytes(eventDto);
+    }
+
+    private byte[] send(String method, String path, byte[] body, int expectedStatus) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + this.port + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", "application/hal+json");
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+        }
+
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream input = in) {
+                byte[] buffer = new byte[8192];
+                for (int read; (read = input.read(buffer)) != -1; ) {
+                    response.write(buffer, 0, read);
+                }
+            }
+        }
+        if (status != expectedStatus) {
+            throw new IllegalStateException(method + " " + path + " returned " + status);
+        }
+        return response.toByteArray();
+    }
+
+    private void report(Map<Operation, LatencyRecorder> results, LatencyRecorder total, double throughput,
+                        int users, double seconds) throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("users=%d duration=%.1fs requests=%d errors=%d throughput=%.1f req/s%n",
+                users, seconds, total.count(), total.errors(), throughput));
+        report.append(String.format("%-8s %8s %8s %10s %10s %10s%n", "op", "count", "errors", "p50(ms)", "p99(ms)", "p99.9(ms)"));
+        results.forEach((operation, recorder) -> report.append(row(operation.name(), recorder)));
+        report.append(row("TOTAL", total));
+        System.out.print(report);
+
+        Path reportFile = Paths.get("target", "loadtest", "report.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.write(reportFile, report.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String row(String name, LatencyRecorder recorder) {
+        return String.format("%-8s %8d %8d %10.2f %10.2f %10.2f%n", name, recorder.count(), recorder.errors(),
+                recorder.percentileMillis(50), recorder.percentileMillis(99), recorder.percentileMillis(99.9));
+    }
+}
@@ -0,0 +1,53 @@
+package com.junsang.restAPI.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 요청 지연 기록 (스레드 마다 하나씩 사용, 마지막에 merge)
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[4096];
+    private int count;
+    private int errors;
+
+    public void record(long nanos) {
+        if (this.count == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+        }
+        this.latencies[this.count++] = nanos;
+    }
+
+    public void error() {
+        this.errors++;
+    }
+
+    public void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.latencies[i]);
+        }
+        this.errors += other.errors;
+    }
+
+    public int count() {
+        return this.count;
+    }
+
+    public int errors() {
+        return this.errors;
+    }
+
+    /**
+     * @param percentile 0 ~ 100 (ex. 99.9)
+     * @return 지연 (ms)
+     */
+    public double percentileMillis(double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(this.latencies, this.count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
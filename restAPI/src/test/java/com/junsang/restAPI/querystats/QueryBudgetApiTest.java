@@ -0,0 +1,117 @@
+package com.junsang.restAPI.querystats;
+
+import com.junsang.restAPI.common.BaseApiTest;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventController;
+import com.junsang.restAPI.events.EventDto;
+import com.junsang.restAPI.events.EventRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트별 SQL 예산 (app.query-stats.budgets.*) - BaseApiTest 가 예산 강제 모드로 실행한다.
+ */
+class QueryBudgetApiTest extends BaseApiTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    QueryStatsProperties queryStatsProperties;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Integer queryEventsBudget;
+
+    @BeforeEach
+    public void setUp() {
+        this.eventRepository.deleteAll();
+        this.queryEventsBudget = this.queryStatsProperties.getBudgets().get("queryEvents");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.queryStatsProperties.getBudgets().put("queryEvents", this.queryEventsBudget);
+    }
+
+    @Test
+    @TestDescription("이벤트 생성 / 조회 / 목록 / 수정 / 부분 수정은 설정된 SQL 예산 안에서 처리된다")
+    public void endpointsStayWithinBudget() throws Exception {
+        // 생성
+        String location = this.mockMvc.perform(post("/api/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(this.objectMapper.writeValueAsString(eventDto("budget event"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+        Integer id = Integer.valueOf(location.substring(location.lastIndexOf('/') + 1));
+
+        // 2차 캐시가 아닌 DB 에서 읽도록
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        this.mockMvc.perform(get("/api/events/{id}", id))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/events").param("ids", id.toString()))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/events").param("size", "10").param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1));
+        this.mockMvc.perform(put("/api/events/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(eventDto("updated event"))))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(patch("/api/events/{id}", id)
+                        .contentType(EventController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"name\":\"patched event\"}"))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/events/overlapping")
+                        .param("from", "2026-11-03T00:00:00").param("to", "2026-11-04T00:00:00"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @TestDescription("SQL 예산을 넘는 엔드포인트는 실패한다")
+    public void overBudgetEndpointFails() {
+        // Given (목록 조회는 count + select 2번)
+        this.eventRepository.save(Event.builder().name("over budget").build());
+        this.queryStatsProperties.getBudgets().put("queryEvents", 1);
+
+        // When & Then
+        assertThatThrownBy(() -> this.mockMvc.perform(get("/api/events").param("page", "1").param("size", "1")))
+                .hasRootCauseInstanceOf(QueryBudgetExceededException.class)
+                .hasStackTraceContaining("queryEvents exceeded its query budget of 1");
+    }
+
+    private static EventDto eventDto(String name) {
+        return EventDto.builder()
+                .name(name)
+                .description("query budget")
+                .beginEnrollmentDateTime(LocalDateTime.of(2026, 11, 1, 10, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2026, 11, 2, 10, 0))
+                .beginEventDateTime(LocalDateTime.of(2026, 11, 3, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2026, 11, 3, 12, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역")
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.junsang.restAPI.querystats;
+
+import com.junsang.restAPI.accounts.Account;
+import com.junsang.restAPI.accounts.AccountRepository;
+import com.junsang.restAPI.accounts.AccountRole;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.warm-up.enabled=false")
+class RequestQueryStatsTest {
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStats current = RequestQueryStats.current();
+        if (current != null) {
+            current.end();
+        }
+    }
+
+    @Test
+    @TestDescription("요청 동안 실행된 SQL, 엔티티 로드, 컬렉션 초기화를 센다")
+    public void recordsStatistics() {
+        // Given
+        Account manager = this.accountRepository.save(Account.builder()
+                .email("stats@email.com").password("pass")
+                .roles(new HashSet<>(Arrays.asList(AccountRole.ADMIN, AccountRole.USER)))
+                .build());
+        Integer id = this.eventRepository.save(Event.builder()
+                .name("query stats").eventStatus(EventStatus.DRAFT).manager(manager).build()).getId();
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();    // 2차 캐시가 아닌 DB 에서 읽도록
+
+        // When
+        RequestQueryStats stats = RequestQueryStats.begin("getEvent", -1, false, 50);
+        this.eventRepository.findById(id);
+        stats.end();
+
+        // Then (event + manager 를 조인한 SQL 1번)
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getSql()).hasSize(1).allMatch(sql -> sql.startsWith("select"));
+        assertThat(stats.getEntityLoads()).isEqualTo(2);
+        assertThat(stats.getCollectionFetches()).isZero();
+        assertThat(stats.getJdbcNanos()).isPositive();
+        assertThat(stats.isOverBudget()).isFalse();
+
+        // roles 는 account 의 비트마스크 컬럼이므로 JPQL 조회도 SQL 1번, 컬렉션 fetch 없음
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        RequestQueryStats jpql = RequestQueryStats.begin("getAccount", -1, false, 50);
+        this.accountRepository.findByEmail("stats@email.com");
+        jpql.end();
+        assertThat(jpql.getStatements()).isEqualTo(1);
+        assertThat(jpql.getCollectionFetches()).isZero();
+
+        // 요청 밖에서 실행된 SQL 은 세지 않는다.
+        this.eventRepository.count();
+        assertThat(stats.getStatements()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("예산 강제 모드에서는 예산을 넘는 SQL 을 실행하지 않고 실패한다")
+    public void enforcesBudget() {
+        // Given
+        RequestQueryStats.begin("queryEvents", 1, true, 50);
+        this.eventRepository.count();
+
+        // When & Then
+        assertThatThrownBy(() -> this.eventRepository.count())
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("queryEvents exceeded its query budget of 1");
+    }
+}
@@ -0,0 +1,83 @@
+package com.junsang.restAPI.ratelimit;
+
+import com.junsang.restAPI.common.BaseApiTest;
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 요청 제한 (429) 및 과부하 차단 (503)
+ *
+ * - MockMvc 요청은 127.0.0.1 (신뢰하는 프록시) 에서 오므로 X-Forwarded-For 의 주소로 구분된다.
+ */
+@TestPropertySource(properties = {
+        "app.rate-limit.endpoints.getEvent.default.permits-per-second=0.01",
+        "app.rate-limit.endpoints.getEvent.default.burst=1",
+        "app.rate-limit.max-in-flight=1"
+})
+class RateLimitApiTest extends BaseApiTest {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    @Autowired
+    LoadShedder loadShedder;
+
+    @Test
+    @TestDescription("버킷을 다 쓴 클라이언트는 429 와 Retry-After 를 받고, 같은 LB 뒤의 다른 클라이언트는 영향을 받지 않는다")
+    public void tooManyRequests() throws Exception {
+        // Given
+        this.mockMvc.perform(get("/api/events/{id}", 12345).header(FORWARDED_FOR, "203.0.113.1, 10.0.0.5"))
+                    .andExpect(status().isNotFound());
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/{id}", 12345).header(FORWARDED_FOR, "203.0.113.1, 10.0.0.5"))
+                    .andDo(print())
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                    .andExpect(jsonPath("errors[0].code").value("tooManyRequests"));
+
+        this.mockMvc.perform(get("/api/events/{id}", 12345).header(FORWARDED_FOR, "203.0.113.2, 10.0.0.5"))
+                    .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @TestDescription("클라이언트가 넣은 X-Forwarded-For 앞부분을 바꿔도 같은 버킷을 쓴다")
+    public void spoofedForwardedFor() throws Exception {
+        // Given
+        this.mockMvc.perform(get("/api/events/{id}", 12345).header(FORWARDED_FOR, "1.1.1.1, 203.0.113.3"))
+                    .andExpect(status().isNotFound());
+
+        // When & Then
+        this.mockMvc.perform(get("/api/events/{id}", 12345).header(FORWARDED_FOR, "2.2.2.2, 203.0.113.3"))
+                    .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @TestDescription("동시 처리 중인 요청이 max-in-flight 에 닿으면 바로 503 과 Retry-After 를 받는다")
+    public void serverOverloaded() throws Exception {
+        // Given (처리 중인 요청 하나)
+        if (!this.loadShedder.tryAcquire()) {
+            throw new IllegalStateException("in-flight slot is already taken");
+        }
+
+        try {
+            // When & Then
+            this.mockMvc.perform(get("/api/events/{id}", 12345).header(FORWARDED_FOR, "203.0.113.4"))
+                        .andDo(print())
+                        .andExpect(status().isServiceUnavailable())
+                        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                        .andExpect(jsonPath("errors[0].code").value("serverOverloaded"));
+        } finally {
+            this.loadShedder.release(0);
+        }
+
+        this.mockMvc.perform(get("/api/events/{id}", 12345).header(FORWARDED_FOR, "203.0.113.5"))
+                    .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,176 @@
+package com.junsang.restAPI.ratelimit;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @TestDescription("burst 만큼 쓰고 나면 거절하고, 시간이 지나면 다시 충전된다")
+    public void burstAndRefill() {
+        // Given : 초당 10개, 버킷 크기 5
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(10, 5, now);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(now)).isTrue();
+        }
+        assertThat(bucket.tryAcquire(now)).isFalse();
+
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isTrue();      // 0.1초 후 1개 충전
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isFalse();
+        assertThat(bucket.isFull(now + SECOND)).isTrue();                // 1초 후 가득 참
+    }
+
+    @Test
+    @TestDescription("여러 스레드가 동시에 꺼내도 버킷 크기 이상 허용하지 않는다")
+    public void concurrentAcquire() throws Exception {
+        // Given : 충전이 거의 없는 버킷
+        TokenBucket bucket = new TokenBucket(0.001, 1000);
+        int threads = 8;
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(acquired.get()).isEqualTo(1000);
+    }
+
+    @Test
+    @TestDescription("사용자 권한 중 가장 넉넉한 엔드포인트 제한을 사용한다")
+    public void limitOfRoles() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("queryEvents", new HashMap<>());
+        properties.getEndpoints().get("queryEvents").put("default", limit(10));
+        properties.getEndpoints().get("queryEvents").put("USER", limit(20));
+        properties.getEndpoints().get("queryEvents").put("ADMIN", limit(100));
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        // When & Then
+        assertThat(rateLimiter.limitOf("queryEvents", Arrays.asList("USER", "ADMIN")).getPermitsPerSecond()).isEqualTo(100);
+        assertThat(rateLimiter.limitOf("queryEvents", Collections.singletonList("USER")).getPermitsPerSecond()).isEqualTo(20);
+        assertThat(rateLimiter.limitOf("queryEvents", Collections.emptyList()).getPermitsPerSecond()).isEqualTo(10);
+        assertThat(rateLimiter.limitOf("getEvent", Collections.emptyList())).isNull();      // 제한 없음
+    }
+
+    @Test
+    @TestDescription("권한이 바뀌면 새 제한의 버킷을 쓰고, 버킷 수는 maxBuckets 를 넘지 않는다")
+    public void bucketsByTierAndBounded() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("queryEvents", new HashMap<>());
+        properties.getEndpoints().get("queryEvents").put("USER", limit(20));
+        properties.getEndpoints().get("queryEvents").put("ADMIN", limit(100));
+        properties.setMaxBuckets(64);
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        // When & Then
+        TokenBucket user = rateLimiter.bucket("queryEvents", "junsang", Collections.singletonList("USER"));
+        assertThat(rateLimiter.bucket("queryEvents", "junsang", Collections.singletonList("USER"))).isSameAs(user);
+        assertThat(rateLimiter.bucket("queryEvents", "junsang", Arrays.asList("USER", "ADMIN"))).isNotSameAs(user);
+
+        for (int i = 0; i < 10_000; i++) {
+            rateLimiter.bucket("queryEvents", "user" + i, Collections.singletonList("USER"));
+        }
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    @TestDescription("버킷이 많아지면 한동안 쓰지 않은 버킷을 먼저 버린다")
+    public void evictsIdleBucketsFirst() {
+        // Given : 충전이 거의 없어서, 한번 쓰면 오래 가득 차지 않는 버킷
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaults(limit(0.001));
+        properties.setMaxBuckets(64);
+        RateLimiter rateLimiter = new RateLimiter(properties);
+
+        TokenBucket[] active = new TokenBucket[16];
+        for (int i = 0; i < active.length; i++) {
+            active[i] = rateLimiter.bucket("getEvent", "active" + i, Collections.emptyList());
+            assertThat(active[i].tryAcquire()).isTrue();
+        }
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            rateLimiter.bucket("getEvent", "idle" + i, Collections.emptyList());
+        }
+
+        // Then
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(64);
+        for (int i = 0; i < active.length; i++) {
+            assertThat(rateLimiter.bucket("getEvent", "active" + i, Collections.emptyList())).isSameAs(active[i]);
+        }
+    }
+
+    @Test
+    @TestDescription("응답이 느려지면 동시 요청 한계를 줄이고, 빨라지면 다시 늘린다")
+    public void adaptiveLoadShedding() throws Exception {
+        // Given
+        LoadShedder loadShedder = new LoadShedder(2, 20, Duration.ofMillis(1));
+        long slow = TimeUnit.MILLISECONDS.toNanos(100);
+
+        // When : 느린 응답
+        for (int i = 0; i < 20; i++) {
+            assertThat(loadShedder.tryAcquire()).isTrue();
+            Thread.sleep(2);        // 한계는 targetLatency 마다 한번만 줄인다.
+            loadShedder.release(slow);
+        }
+
+        // Then
+        assertThat(loadShedder.limit()).isLessThan(20).isGreaterThanOrEqualTo(2);
+        int reduced = loadShedder.limit();
+        for (int i = 0; i < reduced; i++) {
+            assertThat(loadShedder.tryAcquire()).isTrue();
+        }
+        assertThat(loadShedder.tryAcquire()).isFalse();
+
+        // When : 빠른 응답 (늘어난 한계 까지 계속 채움)
+        for (int i = 0; i < 100; i++) {
+            loadShedder.release(0);
+            while (loadShedder.tryAcquire()) {
+            }
+        }
+
+        // Then
+        assertThat(loadShedder.limit()).isEqualTo(20);
+    }
+
+    private static RateLimitProperties.Limit limit(double permitsPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setPermitsPerSecond(permitsPerSecond);
+        limit.setBurst(10);
+        return limit;
+    }
+}
@@ -0,0 +1,121 @@
+package com.junsang.restAPI.readmodel;
+
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventFields;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.events.read-model.enabled=true",
+        "app.events.read-model.rebuild-page-size=3"
+})
+class EventReadModelTest {
+
+    @Autowired
+    EventReadModel eventReadModel;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this.eventRepository.deleteAll();
+        this.eventReadModel.rebuild();
+        assertThat(this.eventReadModel.awaitApplied(5000)).isTrue();
+    }
+
+    @Test
+    @TestDescription("커밋된 변경을 반영해 DB 와 같은 페이지 / 정렬 / 상태 조건 결과를 돌려준다")
+    public void answersPagesLikeTheDatabase() throws Exception {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            save("event " + (i * 3) % 10, i % 3 == 0 ? EventStatus.PUBLISHED : EventStatus.DRAFT, i * 1000,
+                    i % 4 == 0 ? null : "location " + i % 2);
+        }
+        Event changed = this.eventRepository.findAll(Sort.by("id")).get(1);
+        changed.setEventStatus(EventStatus.PUBLISHED);
+        this.eventRepository.save(changed);
+        this.eventRepository.deleteById(this.eventRepository.findAll(Sort.by("id")).get(0).getId());
+
+        // When
+        assertThat(this.eventReadModel.awaitApplied(5000)).isTrue();
+
+        // Then
+        assertSamePage(null, PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "name")));
+        assertSamePage(null, PageRequest.of(1, 4, Sort.by("location").and(Sort.by(Sort.Direction.DESC, "basePrice"))));
+        assertSamePage(EnumSet.of(EventStatus.PUBLISHED), PageRequest.of(0, 10, Sort.by("eventStatus", "name")));
+        assertSamePage(EnumSet.of(EventStatus.DRAFT, EventStatus.ENDED), PageRequest.of(1, 2));
+        assertSamePage(null, PageRequest.of(2, 4, Sort.by("basePrice")));          // 마지막 페이지 (일부만)
+        assertSamePage(null, PageRequest.of(5, 4));                                 // 범위를 벗어난 페이지
+
+        Page<EventFields> fields = this.eventReadModel.findAllFields(Arrays.asList("id", "name", "beginEventDateTime"),
+                null, PageRequest.of(0, 2, Sort.by("name")));
+        assertThat(fields.getContent().get(0).getValues())
+                .containsOnlyKeys("id", "name", "beginEventDateTime")
+                .containsEntry("beginEventDateTime", LocalDateTime.of(2026, 3, 1, 10, 0));
+
+        EventReadModelStatus status = this.eventReadModel.status();
+        assertThat(status.isReady()).isTrue();
+        assertThat(status.getRows()).isEqualTo(9);
+        assertThat(status.getPendingChanges()).isZero();
+    }
+
+    @Test
+    @TestDescription("다시 만들면 DB 에서 전부 읽고, 정렬할 수 없는 속성은 DB 로 넘긴다")
+    public void rebuildsAndDeclinesUnknownSort() throws Exception {
+        // Given
+        for (int i = 0; i < 7; i++) {
+            save("event " + i, EventStatus.DRAFT, 0, null);
+        }
+
+        // When
+        this.eventReadModel.rebuild();
+        assertThat(this.eventReadModel.awaitApplied(5000)).isTrue();
+
+        // Then
+        assertThat(this.eventReadModel.status().getRows()).isEqualTo(7);
+        assertSamePage(null, PageRequest.of(2, 3, Sort.by("name")));
+        assertThat(this.eventReadModel.findAll(null, PageRequest.of(0, 3, Sort.by("manager.id")))).isNull();
+    }
+
+    private void assertSamePage(EnumSet<EventStatus> statuses, PageRequest pageable) {
+        Page<Event> expected = statuses == null
+                ? this.eventRepository.findAll(pageable)
+                : this.eventRepository.findAllByEventStatusIn(statuses, pageable);
+        Page<Event> actual = this.eventReadModel.findAll(statuses, pageable);
+
+        assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+        assertThat(actual.getContent())
+                .usingElementComparatorIgnoringFields("manager", "loadedSnapshot")
+                .isEqualTo(expected.getContent());
+    }
+
+    private void save(String name, EventStatus status, int price, String location) {
+        Event event = Event.builder()
+                .name(name)
+                .beginEventDateTime(LocalDateTime.of(2026, 3, 1, 10, 0))
+                .endEventDateTime(LocalDateTime.of(2026, 3, 1, 12, 0))
+                .basePrice(price)
+                .maxPrice(price * 2)
+                .location(location)
+                .eventStatus(status)
+                .build();
+        event.update();
+        this.eventRepository.save(event);
+    }
+}
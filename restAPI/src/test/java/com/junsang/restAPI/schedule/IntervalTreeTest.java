@@ -0,0 +1,70 @@
+package com.junsang.restAPI.schedule;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    @Test
+    @TestDescription("겹치는 구간을 시작 순서로 찾는다 (경계 포함)")
+    public void overlapping() {
+        // Given
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, 10, 20);
+        tree.put(2, 15, 25);
+        tree.put(3, 30, 40);
+        tree.put(4, 0, 5);
+
+        // When & Then
+        assertThat(tree.overlapping(20, 30)).containsExactly(1, 2, 3);
+        assertThat(tree.overlapping(6, 9)).isEmpty();
+        assertThat(tree.overlapping(0, 100)).containsExactly(4, 1, 2, 3);
+    }
+
+    @Test
+    @TestDescription("추가 / 수정 / 삭제를 섞어도 전체를 훑은 결과와 같다")
+    public void matchesBruteForce() {
+        // Given
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, long[]> intervals = new HashMap<>();
+        Random random = new Random(37);
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                tree.remove(id);
+                intervals.remove(id);
+            } else {
+                long start = random.nextInt(100_000);
+                long end = start + random.nextInt(5_000);
+                tree.put(id, start, end);
+                intervals.put(id, new long[]{start, end});
+            }
+        }
+
+        // Then
+        assertThat(tree.size()).isEqualTo(intervals.size());
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(100_000);
+            long to = from + random.nextInt(3_000);
+            List<Integer> expected = new ArrayList<>();
+            intervals.entrySet().stream()
+                    .filter(e -> e.getValue()[0] <= to && e.getValue()[1] >= from)
+                    .sorted(Comparator.<Map.Entry<Integer, long[]>>comparingLong(e -> e.getValue()[0])
+                            .thenComparing(Map.Entry::getKey))
+                    .forEach(e -> expected.add(e.getKey()));
+            assertThat(tree.overlapping(from, to)).isEqualTo(expected);
+        }
+    }
+}
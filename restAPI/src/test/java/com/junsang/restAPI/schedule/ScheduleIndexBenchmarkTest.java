@@ -0,0 +1,157 @@
+package com.junsang.restAPI.schedule;
+
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 구간 트리 vs DB (B-tree 인덱스) 겹침 검색 벤치마크 (mvn -Pbenchmark test)
+ *
+ * - 이벤트 100만개 (3년 범위, 1시간 ~ 30일 기간) 를 H2 와 ScheduleIndex 에 넣고
+ *   하루 구간 겹침 검색 (전체 개수 + 첫 페이지 20개) 의 지연 시간을 비교한다.
+ * - 결과는 target/benchmark/schedule-index.txt 에 남는다.
+ * - -Dbenchmark.events=1000000 -Dbenchmark.queries=200 으로 조정 가능
+ */
+@Tag("benchmark")
+class ScheduleIndexBenchmarkTest {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int SPAN_HOURS = 3 * 365 * 24;
+
+    private final int events = Integer.getInteger("benchmark.events", 1_000_000);
+    private final int queries = Integer.getInteger("benchmark.queries", 200);
+
+    @Test
+    @TestDescription("100만 이벤트에서 구간 트리가 DB 와 같은 결과를 더 빨리 찾는다")
+    public void overlapQueries() throws Exception {
+        // Given
+        Random random = new Random(37);
+        ScheduleIndex index = new ScheduleIndex();
+        LocalDateTime[][] windows = new LocalDateTime[this.events][];
+        for (int id = 0; id < this.events; id++) {
+            LocalDateTime begin = ORIGIN.plusHours(random.nextInt(SPAN_HOURS));
+            windows[id] = new LocalDateTime[]{begin, begin.plusHours(1 + random.nextInt(30 * 24))};
+        }
+
+        long buildStarted = System.nanoTime();
+        for (int id = 0; id < this.events; id++) {
+            index.put(ScheduleWindow.EVENT, id, windows[id][0], windows[id][1]);
+        }
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStarted);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:schedule-benchmark", "sa", "")) {
+            long loadMillis = load(connection, windows);
+
+            // When
+            long[] indexNanos = new long[this.queries];
+            long[] dbNanos = new long[this.queries];
+            try (PreparedStatement count = connection.prepareStatement(
+                    "select count(*) from event where begin_event_date_time <= ? and end_event_date_time >= ?");
+                 PreparedStatement page = connection.prepareStatement(
+                         "select id from event where begin_event_date_time <= ? and end_event_date_time >= ? " +
+                                 "order by begin_event_date_time, id limit 20")) {
+                for (int i = 0; i < this.queries; i++) {
+                    LocalDateTime from = ORIGIN.plusHours(random.nextInt(SPAN_HOURS));
+                    LocalDateTime to = from.plusDays(1);
+
+                    long started = System.nanoTime();
+                    int indexTotal = index.overlapping(ScheduleWindow.EVENT, from, to).size();
+                    indexNanos[i] = System.nanoTime() - started;
+
+                    started = System.nanoTime();
+                    int dbTotal = query(count, from, to, true);
+                    query(page, from, to, false);
+                    dbNanos[i] = System.nanoTime() - started;
+
+                    // Then (같은 결과)
+                    assertThat(indexTotal).isEqualTo(dbTotal);
+                }
+            }
+
+            report(buildMillis, loadMillis, indexNanos, dbNanos);
+        }
+    }
+
+    private long load(Connection connection, LocalDateTime[][] windows) throws SQLException {
+        long started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table event (id int primary key, " +
+                    "begin_event_date_time timestamp, end_event_date_time timestamp)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("insert into event values (?, ?, ?)")) {
+            for (int id = 0; id < windows.length; id++) {
+                insert.setInt(1, id);
+                insert.setTimestamp(2, Timestamp.valueOf(windows[id][0]));
+                insert.setTimestamp(3, Timestamp.valueOf(windows[id][1]));
+                insert.addBatch();
+                if (id % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create index event_begin_end on event (begin_event_date_time, end_event_date_time)");
+            statement.execute("create index event_end on event (end_event_date_time)");
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    private static int query(PreparedStatement statement, LocalDateTime from, LocalDateTime to, boolean count)
+            throws SQLException {
+        statement.setTimestamp(1, Timestamp.valueOf(to));
+        statement.setTimestamp(2, Timestamp.valueOf(from));
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows = count ? resultSet.getInt(1) : rows + 1;
+            }
+        }
+        return rows;
+    }
+
+    private void report(long buildMillis, long loadMillis, long[] indexNanos, long[] dbNanos) throws IOException {
+        Arrays.sort(indexNanos);
+        Arrays.sort(dbNanos);
+        String report = String.format(
+                "events=%d queries=%d (1 day windows)%n" +
+                        "interval tree build : %d ms%n" +
+                        "h2 load + index     : %d ms%n" +
+                        "interval tree       : p50=%.3f ms p99=%.3f ms%n" +
+                        "h2 (count + page)   : p50=%.3f ms p99=%.3f ms%n",
+                this.events, this.queries, buildMillis, loadMillis,
+                millis(indexNanos, 0.50), millis(indexNanos, 0.99),
+                millis(dbNanos, 0.50), millis(dbNanos, 0.99));
+
+        Path path = Paths.get("target", "benchmark", "schedule-index.txt");
+        Files.createDirectories(path.getParent());
+        Files.write(path, report.getBytes(StandardCharsets.UTF_8));
+        System.out.print(report);
+    }
+
+    private static double millis(long[] sortedNanos, double percentile) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.junsang.restAPI.sharding;
+
+import com.junsang.restAPI.accounts.Account;
+import com.junsang.restAPI.accounts.AccountRepository;
+import com.junsang.restAPI.accounts.AccountRole;
+import com.junsang.restAPI.accounts.AccountRoles;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventController;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import com.junsang.restAPI.importer.EventImportService;
+import com.junsang.restAPI.snapshot.SnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 세 개의 H2 메모리 DB 를 shard 0, 1, 2 로 사용
+ */
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.sharding.enabled=true",
+        "app.sharding.create-schema=true",
+        "spring.datasource.url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+class EventShardingTest {
+
+    @Autowired
+    EventShards eventShards;
+
+    @Autowired
+    ShardDataSources shardDataSources;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EventController eventController;
+
+    @Autowired
+    SnapshotService snapshotService;
+
+    @Autowired
+    EventImportService eventImportService;
+
+    List<Event> events;
+
+    @BeforeEach
+    public void setUp() {
+        for (int shard = 0; shard < this.shardDataSources.size(); shard++) {
+            new JdbcTemplate(this.shardDataSources.get(shard)).update("DELETE FROM event");
+        }
+        this.accountRepository.deleteAll();
+
+        this.events = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Account manager = this.accountRepository.save(Account.builder()
+                    .email("manager" + i + "@email.com")
+                    .password("pass")
+                    .roles(new HashSet<>(Collections.singletonList(AccountRole.USER)))
+                    .build());
+            Event event = Event.builder()
+                    .name(String.format("event %02d", (i * 7) % 12))
+                    .beginEventDateTime(LocalDateTime.of(2026, 1, 1, 10, 0))
+                    .endEventDateTime(LocalDateTime.of(2026, 1, 1, 12, 0))
+                    .eventStatus(EventStatus.DRAFT)
+                    .manager(manager)
+                    .build();
+            this.events.add(this.eventShards.route(this.eventShards.shardOfManager(manager),
+                    () -> this.eventRepository.save(event)));
+        }
+    }
+
+    @Test
+    @TestDescription("이벤트는 manager 의 shard 에만 저장되고, id 로 shard 를 알 수 있다")
+    public void eventsAreStoredInManagersShard() {
+        Set<Integer> usedShards = new HashSet<>();
+        for (Event event : this.events) {
+            int shard = this.eventShards.shardOfManager(event.getManager());
+            usedShards.add(shard);
+            assertThat(this.eventShards.shardOfEvent(event.getId())).isEqualTo(shard);
+
+            for (int other = 0; other < this.shardDataSources.size(); other++) {
+                Integer rows = new JdbcTemplate(this.shardDataSources.get(other))
+                        .queryForObject("SELECT COUNT(*) FROM event WHERE id = ?", Integer.class, event.getId());
+                assertThat(rows).isEqualTo(other == shard ? 1 : 0);
+            }
+        }
+        assertThat(usedShards).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    @TestDescription("계정은 모든 shard 에 복제된다")
+    public void accountsAreReplicatedToEveryShard() {
+        for (int shard = 0; shard < this.shardDataSources.size(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(this.shardDataSources.get(shard));
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account", Integer.class)).isEqualTo(12);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account WHERE roles = ?", Integer.class,
+                    AccountRoles.of(AccountRole.USER).bits())).isEqualTo(12);
+        }
+    }
+
+    @Test
+    @TestDescription("목록 조회는 모든 shard 를 읽어 정렬 순서대로 합친다")
+    public void pagesAreMergedAcrossShards() {
+        // When
+        Page<Event> page = this.eventShards.readPage(PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "name")),
+                this.eventRepository::findAll);
+
+        // Then
+        List<String> expected = this.events.stream()
+                .map(Event::getName)
+                .sorted(Comparator.reverseOrder())
+                .skip(5).limit(5)
+                .collect(Collectors.toList());
+        assertThat(page.getContent()).extracting(Event::getName).containsExactlyElementsOf(expected);
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    @TestDescription("id 목록 조회와 단건 조회 API 가 각 이벤트의 shard 를 읽는다")
+    public void readsAreRoutedById() throws Exception {
+        // id 목록
+        List<Integer> ids = this.events.stream().map(Event::getId).collect(Collectors.toList());
+        assertThat(this.eventShards.readByIds(ids, this.eventRepository::findAllById))
+                .extracting(Event::getId).containsExactlyInAnyOrderElementsOf(ids);
+
+        // /api/events/{id}
+        ShardRoutingInterceptor interceptor = new ShardRoutingInterceptor(this.eventShards);
+        for (Event event : this.events) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/" + event.getId());
+            request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                    Collections.singletonMap("id", event.getId().toString()));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            interceptor.preHandle(request, response, null);
+            try {
+                assertThat(this.eventController.getEvent(event.getId(), null).getStatusCodeValue()).isEqualTo(200);
+                assertThat(this.eventController.getEvent(event.getId(), Arrays.asList("name")).getStatusCodeValue())
+                        .isEqualTo(200);
+            } finally {
+                interceptor.afterCompletion(request, response, null, null);
+            }
+        }
+    }
+
+    @Test
+    @TestDescription("샤딩 중에는 스냅샷 복원 / 대량 가져오기를 하지 않는다 (시퀀스와 shard 배치가 어긋나지 않도록)")
+    public void refusesRestoreAndImport() {
+        assertThatThrownBy(() -> this.snapshotService.restore(Paths.get("events.snap")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("3 event shards");
+        assertThatThrownBy(() -> this.eventImportService.importFile(Paths.get("events.csv")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("3 event shards");
+    }
+}
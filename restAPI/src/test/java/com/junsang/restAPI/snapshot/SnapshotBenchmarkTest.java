@@ -0,0 +1,104 @@
+package com.junsang.restAPI.snapshot;
+
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.EventStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스냅샷 내보내기 / 복원 벤치마크 (mvn -Pbenchmark test)
+ *
+ * - 이벤트 100만개를 넣고 내보낸 뒤 복원한다.
+ * - 결과는 target/benchmark/snapshot.txt 에 남는다. (-Dbenchmark.events=1000000 으로 조정 가능)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.events.schedule-index.enabled=false"
+})
+class SnapshotBenchmarkTest {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private final int events = Integer.getInteger("benchmark.events", 1_000_000);
+
+    @Autowired
+    SnapshotService snapshotService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @TestDescription("100만 이벤트 스냅샷을 내보내고 복원한다")
+    public void exportAndRestore() throws Exception {
+        // Given
+        load();
+        Path file = this.directory.resolve("events.snap");
+
+        // When
+        SnapshotResult exported = this.snapshotService.export(file);
+        SnapshotResult restored = this.snapshotService.restore(file);
+
+        // Then
+        assertThat(restored.getEvents()).isEqualTo(this.events);
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from event", Long.class)).isEqualTo(this.events);
+
+        String report = String.format(
+                "events=%d%n" +
+                        "snapshot size : %.1f MB%n" +
+                        "export        : %d ms%n" +
+                        "restore       : %d ms (%.0f events/s)%n",
+                this.events, exported.getBytes() / 1024.0 / 1024.0, exported.getElapsedMillis(),
+                restored.getElapsedMillis(), this.events * 1000.0 / Math.max(1, restored.getElapsedMillis()));
+        Path path = Paths.get("target", "benchmark", "snapshot.txt");
+        Files.createDirectories(path.getParent());
+        Files.write(path, report.getBytes(StandardCharsets.UTF_8));
+        System.out.print(report);
+    }
+
+    private void load() {
+        Random random = new Random(39);
+        String[] locations = {"강남역 D2 스타텁 팩토리", "판교 테크노밸리", "서울역", null};
+        List<Object[]> batch = new ArrayList<>();
+        for (int id = 1; id <= this.events; id++) {
+            LocalDateTime begin = ORIGIN.plusHours(random.nextInt(3 * 365 * 24));
+            String location = locations[random.nextInt(locations.length)];
+            batch.add(new Object[]{id, "event " + id, "REST API Development with Spring",
+                    Timestamp.valueOf(begin.minusDays(7)), Timestamp.valueOf(begin.minusDays(1)),
+                    Timestamp.valueOf(begin), Timestamp.valueOf(begin.plusHours(3)),
+                    location, 100, 200, 100, location != null, false,
+                    EventStatus.values()[random.nextInt(EventStatus.values().length)].name()});
+            if (batch.size() == 10_000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        this.jdbcTemplate.batchUpdate("insert into event (id, name, description, begin_enrollment_date_time, " +
+                "close_enrollment_date_time, begin_event_date_time, end_event_date_time, location, base_price, " +
+                "max_price, limit_of_enrollment, offline, free, event_status) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+}
@@ -0,0 +1,134 @@
+package com.junsang.restAPI.snapshot;
+
+import com.junsang.restAPI.accounts.Account;
+import com.junsang.restAPI.accounts.AccountRepository;
+import com.junsang.restAPI.accounts.AccountRole;
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import com.junsang.restAPI.stats.EventStatsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=false",
+        "app.snapshot.block-size=7",    // 여러 블록으로 나뉘도록
+        "app.snapshot.threads=2"
+})
+class SnapshotServiceTest {
+
+    @Autowired
+    SnapshotService snapshotService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EventStatsService eventStatsService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @TestDescription("내보낸 스냅샷을 복원하면 계정 / 이벤트 행과 통계가 내보낸 시점으로 돌아간다")
+    public void exportAndRestore() throws Exception {
+        // Given
+        Account manager = this.accountRepository.save(Account.builder()
+                .email("snapshot@email.com").password("pass")
+                .roles(new HashSet<>(Arrays.asList(AccountRole.ADMIN, AccountRole.USER)))
+                .build());
+        for (int i = 0; i < 30; i++) {
+            this.eventRepository.save(event(i, manager));
+        }
+        List<Map<String, Object>> events = rows("select * from event order by id");
+        List<Map<String, Object>> accounts = rows("select * from account order by id");
+        Path file = this.directory.resolve("events.snap");
+
+        SnapshotResult exported = this.snapshotService.export(file);
+
+        this.eventRepository.deleteAll(this.eventRepository.findAll().subList(0, 10));
+        Event archived = this.eventRepository.save(event(99, manager));
+        this.jdbcTemplate.update("insert into event_archive select * from event where id = ?", archived.getId());
+        this.eventRepository.deleteById(archived.getId());
+
+        // When
+        SnapshotResult restored = this.snapshotService.restore(file);
+
+        // Then
+        assertThat(exported.getEvents()).isEqualTo(events.size());
+        assertThat(exported.getBytes()).isEqualTo(Files.size(file));
+        assertThat(restored.getEvents()).isEqualTo(events.size());
+        assertThat(restored.getAccounts()).isEqualTo(exported.getAccounts());
+        assertThat(rows("select * from event order by id")).isEqualTo(events);
+        assertThat(rows("select * from account order by id")).isEqualTo(accounts);
+        assertThat(this.eventStatsService.stats().getTotal()).isEqualTo(events.size());
+
+        // 새로 저장하는 엔티티는 복원된 id, 보관된 id 와 겹치지 않는다.
+        Integer maxId = this.jdbcTemplate.queryForObject("select max(id) from event", Integer.class);
+        assertThat(this.eventRepository.save(event(100, manager)).getId())
+                .isGreaterThan(maxId)
+                .isGreaterThan(archived.getId());
+        assertThat(this.eventRepository.findById((Integer) events.get(0).get("ID"))).isPresent();
+        this.jdbcTemplate.update("delete from event_archive");
+    }
+
+    @Test
+    @TestDescription("스냅샷 파일이 아니면 복원하지 않는다")
+    public void restoreRejectsOtherFiles() throws Exception {
+        // Given
+        Path file = Files.write(this.directory.resolve("events.csv"), "name,description\n".getBytes());
+        long before = this.jdbcTemplate.queryForObject("select count(*) from event", Long.class);
+
+        // When & Then
+        assertThatThrownBy(() -> this.snapshotService.restore(file))
+                .isInstanceOf(IOException.class);
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from event", Long.class)).isEqualTo(before);
+    }
+
+    private List<Map<String, Object>> rows(String sql) {
+        return this.jdbcTemplate.queryForList(sql);
+    }
+
+    private Event event(int index, Account manager) {
+        Event event = Event.builder()
+                .name("snapshot " + index)
+                .description(index % 5 == 0 ? null : "REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21).plusDays(index))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21).plusDays(index))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21).plusDays(index))
+                .endEventDateTime(index % 7 == 0 ? null : LocalDateTime.of(2018, 11, 26, 14, 21, 30, 123_000_000))
+                .location(index % 3 == 0 ? null : "강남역 D2 스타텁 팩토리 " + (index % 2))
+                .latitude(index % 3 == 0 ? null : 37.4979)
+                .longitude(index % 3 == 0 ? null : 127.0276)
+                .basePrice(index * 100)
+                .maxPrice(index * 200)
+                .limitOfEnrollment(100)
+                .eventStatus(EventStatus.values()[index % EventStatus.values().length])
+                .manager(index % 4 == 0 ? null : manager)
+                .build();
+        event.update();
+        return event;
+    }
+}
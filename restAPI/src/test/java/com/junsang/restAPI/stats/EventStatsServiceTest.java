@@ -0,0 +1,68 @@
+package com.junsang.restAPI.stats;
+
+import com.junsang.restAPI.common.TestDescription;
+import com.junsang.restAPI.events.Event;
+import com.junsang.restAPI.events.EventRepository;
+import com.junsang.restAPI.events.EventStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.warm-up.enabled=false")
+class EventStatsServiceTest {
+
+    @Autowired
+    EventStatsService eventStatsService;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @TestDescription("생성 / 수정 / 삭제로 갱신한 통계가 DB 에서 다시 계산한 통계와 같다")
+    public void incrementalMatchesRebuild() {
+        // Given
+        EventStats before = this.eventStatsService.stats();
+        Event free = this.eventRepository.save(event(0, 0, null, EventStatus.DRAFT));
+        Event paid = this.eventRepository.save(event(20000, 60000, "강남역", EventStatus.DRAFT));
+        this.eventRepository.save(event(100, 200, "판교역", EventStatus.PUBLISHED));
+
+        // When
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            Event loaded = this.eventRepository.findById(paid.getId()).get();
+            loaded.setEventStatus(EventStatus.PUBLISHED);
+        });
+        this.eventRepository.deleteById(free.getId());
+
+        // Then
+        EventStats incremental = this.eventStatsService.stats();
+        assertThat(incremental.getTotal()).isEqualTo(before.getTotal() + 2);
+        assertThat(incremental.getByStatus().get(EventStatus.PUBLISHED))
+                .isEqualTo(before.getByStatus().get(EventStatus.PUBLISHED) + 2);
+        assertThat(incremental.getOffline()).isEqualTo(before.getOffline() + 2);
+        assertThat(incremental.getBasePrice().get(2).getCount())        // [10000, 50000)
+                .isEqualTo(before.getBasePrice().get(2).getCount() + 1);
+
+        this.eventStatsService.rebuild();
+        EventStats rebuilt = this.eventStatsService.stats();
+        assertThat(rebuilt).usingRecursiveComparison().ignoringFields("rebuiltAt").isEqualTo(incremental);
+    }
+
+    private Event event(int basePrice, int maxPrice, String location, EventStatus status) {
+        Event event = Event.builder()
+                .name("stats")
+                .basePrice(basePrice)
+                .maxPrice(maxPrice)
+                .location(location)
+                .eventStatus(status)
+                .build();
+        event.update();
+        return event;
+    }
+}
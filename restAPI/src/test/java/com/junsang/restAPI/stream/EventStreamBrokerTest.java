@@ -0,0 +1,186 @@
+package com.junsang.restAPI.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junsang.restAPI.common.TestDescription;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventStreamBrokerTest {
+
+    EventStreamBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        EventStreamProperties properties = new EventStreamProperties();
+        properties.setReplaySize(8);
+        properties.setSubscriberBuffer(4);
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        this.broker = new EventStreamBroker(properties, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.broker.destroy();
+    }
+
+    @Test
+    @TestDescription("구독 이후 발행된 메시지를 받는다")
+    public void liveMessages() throws Exception {
+        // Given
+        RecordingEmitter emitter = new RecordingEmitter();
+        this.broker.subscribe(emitter, null);
+
+        // When
+        this.broker.publish("created", "{\"id\":1}");
+
+        // Then
+        assertThat(emitter.next()).contains("id:1").contains("event:created").contains("data:{\"id\":1}");
+    }
+
+    @Test
+    @TestDescription("Last-Event-ID 이후 메시지를 링 버퍼에서 다시 보낸다")
+    public void resumeFromLastEventId() throws Exception {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            this.broker.publish("updated", "{\"n\":" + i + "}");
+        }
+
+        // When
+        RecordingEmitter emitter = new RecordingEmitter();
+        this.broker.subscribe(emitter, 3L);
+
+        // Then
+        assertThat(emitter.next()).contains("id:4");
+        assertThat(emitter.next()).contains("id:5");
+    }
+
+    @Test
+    @TestDescription("링 버퍼 범위를 벗어난 Last-Event-ID 에는 reset 을 보낸다")
+    public void resetWhenOutOfWindow() throws Exception {
+        // Given
+        for (int i = 1; i <= 20; i++) {
+            this.broker.publish("updated", "{}");
+        }
+
+        // When
+        RecordingEmitter emitter = new RecordingEmitter();
+        this.broker.subscribe(emitter, 2L);
+
+        // Then
+        assertThat(emitter.next()).contains("id:20").contains("event:reset");
+    }
+
+    @Test
+    @TestDescription("버퍼를 넘기는 느린 구독자는 끊고 다른 구독자는 계속 받는다")
+    public void dropSlowSubscriber() throws Exception {
+        // Given
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(blocked);
+        RecordingEmitter fast = new RecordingEmitter();
+        this.broker.subscribe(slow, null);
+        this.broker.subscribe(fast, null);
+
+        // When (첫 메시지 쓰기가 막힌 동안 버퍼 4개를 넘긴다)
+        for (int i = 1; i <= 10; i++) {
+            this.broker.publish("updated", "{}");
+            assertThat(fast.next()).contains("id:" + i);
+        }
+
+        // Then
+        assertThat(this.broker.subscriberCount()).isEqualTo(1);
+        blocked.countDown();
+    }
+
+    @Test
+    @TestDescription("쓰기가 막힌 구독자가 sender 스레드를 모두 잡아도 다른 구독자는 계속 받는다")
+    public void stalledWriteDoesNotBlockOthers() throws Exception {
+        // Given (sender 스레드 1개)
+        EventStreamProperties properties = new EventStreamProperties();
+        properties.setSenderThreads(1);
+        properties.setSendTimeout(Duration.ofMillis(200));
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        EventStreamBroker broker = new EventStreamBroker(properties, new ObjectMapper());
+        CountDownLatch blocked = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(blocked);
+        RecordingEmitter fast = new RecordingEmitter();
+
+        try {
+            broker.subscribe(stalled, null);
+            broker.subscribe(fast, null);
+
+            // When (유일한 sender 스레드가 막힌 쓰기에 잡힌 뒤에 발행)
+            broker.publish("updated", "{}");
+            assertThat(fast.next()).contains("id:1");
+            awaitUntil(() -> broker.subscriberCount() == 1);
+            broker.publish("updated", "{}");
+
+            // Then
+            assertThat(fast.next()).contains("id:2");
+            assertThat(broker.senderThreads()).isEqualTo(2);
+
+            blocked.countDown();    // 막힌 쓰기가 풀리면 늘린 스레드를 되돌린다.
+            awaitUntil(() -> broker.senderThreads() == 1);
+        } finally {
+            blocked.countDown();
+            broker.destroy();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 5 seconds").isLessThan(until);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 보낸 SSE 프레임을 기록하는 emitter (서블릿 컨테이너 없이)
+     */
+    static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            StringBuilder frame = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                frame.append(data.getData());
+            }
+            this.frames.add(frame.toString());
+        }
+
+        String next() throws InterruptedException {
+            String frame = this.frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).as("SSE frame").isNotNull();
+            return frame;
+        }
+    }
+}